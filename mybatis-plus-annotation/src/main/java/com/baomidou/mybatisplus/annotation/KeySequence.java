@@ -45,4 +45,14 @@ public @interface KeySequence {
      * 数据库类型，未配置默认使用注入 IKeyGenerator 实现，多个实现必须指定
      */
     DbType dbType() default DbType.OTHER;
+
+    /**
+     * 每次从序列获取的主键数量, 大于 1 时开启池化分配
+     * <p>
+     * 取到序列值 v 后在本地依次分配 [v, v + allocationSize), 数据库序列的步长(INCREMENT BY)必须与该值一致
+     * </p>
+     *
+     * @since 3.5.9
+     */
+    int allocationSize() default 1;
 }
@@ -67,6 +67,15 @@ public @interface TableName {
      */
     boolean autoResultMap() default false;
 
+    /**
+     * 是否使用快速结果集映射,
+     * 只生效于返回类型为该实体且 resultMap 无嵌套映射的查询,
+     * 按结果集列结构缓存映射关系, 逐行映射时不再使用 MetaObject
+     *
+     * @since 3.5.9
+     */
+    boolean fastResultMapping() default false;
+
     /**
      * 只需要的属性名
      * <p>
@@ -16,13 +16,18 @@
 package com.baomidou.mybatisplus.core;
 
 import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
 import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.ArrayUtils;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.core.toolkit.reflect.PropertyAccessor;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -33,13 +38,17 @@ import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.SimpleTypeRegistry;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 自定义 ParameterHandler 重装构造函数，填充插入方法主键 ID
@@ -58,6 +67,19 @@ public class MybatisParameterHandler extends DefaultParameterHandler {
     @Deprecated
     public static final String[] COLLECTION_KEYS = new String[]{"collection", "coll", "list", "array"};
 
+    /**
+     * 当前线程批量处理中已预处理的实体
+     *
+     * @see #processBatch(Collection, Runnable)
+     * @since 3.5.9
+     */
+    private static final ThreadLocal<Set<Object>> BATCH_ENTITIES = new ThreadLocal<>();
+
+    /**
+     * 子类是否重写了逐个处理实体的方法
+     */
+    private static final Map<Class<?>, Boolean> ENTITY_PROCESS_OVERRIDDEN = new ConcurrentHashMap<>();
+
     private final Configuration configuration;
     private final SqlCommandType sqlCommandType;
     private final MappedStatement mappedStatement;
@@ -76,32 +98,25 @@ public class MybatisParameterHandler extends DefaultParameterHandler {
         /* 只处理插入或更新操作 */
         if (parameter != null && !SimpleTypeRegistry.isSimpleType(parameter.getClass())) {
             if (SqlCommandType.INSERT == this.sqlCommandType || SqlCommandType.UPDATE == this.sqlCommandType) {
-                extractParameters(parameter).forEach(this::process);
+                Collection<Object> parameters = extractParameters(parameter);
+                // 子类重写了逐个处理实体的方法时保持逐个分配主键
+                if (SqlCommandType.INSERT == this.sqlCommandType && parameters.size() > 1 && !isEntityProcessOverridden()) {
+                    populateKeys(parameters);
+                }
+                parameters.forEach(this::process);
             }
         }
     }
 
     private void process(Object parameter) {
-        if (parameter != null) {
-            TableInfo tableInfo = null;
-            Object entity = parameter;
-            if (parameter instanceof Map) {
-                // 处理单参数使用注解标记的时候，尝试提取et来获取实体参数
-                Map<?, ?> map = (Map<?, ?>) parameter;
-                Object et = null;
-                if(map.containsKey(Constants.ENTITY)){
-                    et = map.get(Constants.ENTITY);
-
-                } else if(map.containsKey(Constants.MP_FILL_ET)){
-                    et = map.get(Constants.MP_FILL_ET);
-                }
-                if (et != null) {
-                    entity = et;
-                    tableInfo = TableInfoHelper.getTableInfo(entity.getClass());
-                }
-            } else {
-                tableInfo = TableInfoHelper.getTableInfo(parameter.getClass());
+        Object entity = getEntity(parameter);
+        if (entity != null) {
+            Set<Object> batchEntities = BATCH_ENTITIES.get();
+            if (batchEntities != null && batchEntities.contains(entity)) {
+                // 已经通过 processBatch 批量处理
+                return;
             }
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(entity.getClass());
             if (tableInfo != null) {
                 //到这里就应该转换到实体参数对象了,因为填充和ID处理都是针对实体对象处理的,不用传递原参数对象下去.
                 MetaObject metaObject = this.configuration.newMetaObject(entity);
@@ -115,19 +130,243 @@ public class MybatisParameterHandler extends DefaultParameterHandler {
         }
     }
 
+    /**
+     * 提取实体参数
+     *
+     * @param parameter 参数
+     * @return 实体, 单参数使用注解标记时尝试提取 et
+     */
+    private static Object getEntity(Object parameter) {
+        if (parameter instanceof Map) {
+            // 处理单参数使用注解标记的时候，尝试提取et来获取实体参数
+            Map<?, ?> map = (Map<?, ?>) parameter;
+            if (map.containsKey(Constants.ENTITY)) {
+                return map.get(Constants.ENTITY);
+            } else if (map.containsKey(Constants.MP_FILL_ET)) {
+                return map.get(Constants.MP_FILL_ET);
+            }
+            return null;
+        }
+        return parameter;
+    }
+
+    /**
+     * 批量插入时按表批量分配 {@link IdType#ASSIGN_ID} 主键
+     *
+     * @param parameters 参数
+     * @since 3.5.9
+     */
+    protected void populateKeys(Collection<Object> parameters) {
+        Map<TableInfo, List<Object>> entitiesMap = new IdentityHashMap<>();
+        for (Object parameter : parameters) {
+            Object entity = getEntity(parameter);
+            if (entity == null) {
+                continue;
+            }
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(entity.getClass());
+            if (tableInfo != null && IdType.ASSIGN_ID == tableInfo.getIdType()) {
+                entitiesMap.computeIfAbsent(tableInfo, k -> new ArrayList<>()).add(entity);
+            }
+        }
+        entitiesMap.forEach((tableInfo, entities) -> {
+            if (entities.size() > 1) {
+                populateKeys(tableInfo, entities);
+            }
+        });
+    }
+
+    /**
+     * 按表批量分配主键
+     *
+     * @param tableInfo 表信息
+     * @param entities  同一张表的实体
+     * @since 3.5.9
+     */
+    protected void populateKeys(TableInfo tableInfo, List<Object> entities) {
+        final IdType idType = tableInfo.getIdType();
+        final String keyProperty = tableInfo.getKeyProperty();
+        if (StringUtils.isBlank(keyProperty) || null == idType || idType.getKey() < 3) {
+            return;
+        }
+        final IdentifierGenerator identifierGenerator = GlobalConfigUtils.getGlobalConfig(this.configuration).getIdentifierGenerator();
+        PropertyAccessor keyAccessor = tableInfo.getPropertyAccessor(keyProperty);
+        List<Object> assignEntities = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            if (identifierGenerator.assignId(keyAccessor.get(entity))) {
+                assignEntities.add(entity);
+            }
+        }
+        if (assignEntities.isEmpty()) {
+            return;
+        }
+        if (idType.getKey() == IdType.ASSIGN_ID.getKey()) {
+            Number[] ids = assignEntities.size() == 1 ? new Number[]{identifierGenerator.nextId(assignEntities.get(0))}
+                : identifierGenerator.nextIds(assignEntities);
+            Class<?> keyType = tableInfo.getKeyType();
+            for (int i = 0; i < ids.length; i++) {
+                keyAccessor.set(assignEntities.get(i), OgnlOps.convertValue(ids[i], keyType));
+            }
+        } else if (idType.getKey() == IdType.ASSIGN_UUID.getKey()) {
+            if (String.class.equals(tableInfo.getKeyType())) {
+                assignEntities.forEach(entity -> keyAccessor.set(entity, identifierGenerator.nextUUID(entity)));
+            } else {
+                log.warn("The current ID generation strategy does not support: " + tableInfo.getKeyType());
+            }
+        }
+    }
+
+    /**
+     * 批量预处理插入或更新参数
+     * <p>
+     * 通过语句的 {@link org.apache.ibatis.scripting.LanguageDriver} 创建参数处理器, 是 {@link MybatisParameterHandler} (包括子类) 时交给
+     * {@link #processBatch(Collection, Runnable)} 处理, 否则直接执行 action
+     * </p>
+     *
+     * @param mappedStatement MappedStatement
+     * @param parameters      参数 (实体或包含 et 的 Map)
+     * @param action          执行语句
+     * @since 3.5.9
+     */
+    public static void processBatch(MappedStatement mappedStatement, Collection<?> parameters, Runnable action) {
+        final SqlCommandType sqlCommandType = mappedStatement.getSqlCommandType();
+        if (SqlCommandType.INSERT != sqlCommandType && SqlCommandType.UPDATE != sqlCommandType) {
+            action.run();
+            return;
+        }
+        // 参数为 null 时构造函数不处理参数
+        ParameterHandler parameterHandler = mappedStatement.getLang().createParameterHandler(mappedStatement, null,
+            new BoundSql(mappedStatement.getConfiguration(), StringPool.EMPTY, Collections.emptyList(), null));
+        if (parameterHandler instanceof MybatisParameterHandler) {
+            ((MybatisParameterHandler) parameterHandler).processBatch(parameters, action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 批量预处理插入或更新参数
+     * <p>
+     * 按表调用 {@link #populateKeys(TableInfo, List)}, {@link #insertFill(TableInfo, List)} 与 {@link #updateFill(TableInfo, List)},
+     * 执行 action 期间当前线程不再逐个处理这些实体.
+     * 子类重写了逐个处理的方法 (processParameter, populateKeys, insertFill, updateFill) 时保持逐个处理
+     * </p>
+     *
+     * @param parameters 参数 (实体或包含 et 的 Map)
+     * @param action     执行语句
+     * @since 3.5.9
+     */
+    protected void processBatch(Collection<?> parameters, Runnable action) {
+        if (isEntityProcessOverridden()) {
+            action.run();
+            return;
+        }
+        Map<TableInfo, List<Object>> entitiesMap = new IdentityHashMap<>();
+        Set<Object> entities = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object parameter : parameters) {
+            Object entity = getEntity(parameter);
+            if (entity != null && !entities.contains(entity)) {
+                TableInfo tableInfo = TableInfoHelper.getTableInfo(entity.getClass());
+                if (tableInfo != null) {
+                    entities.add(entity);
+                    entitiesMap.computeIfAbsent(tableInfo, k -> new ArrayList<>()).add(entity);
+                }
+            }
+        }
+        entitiesMap.forEach((tableInfo, list) -> {
+            if (SqlCommandType.INSERT == this.sqlCommandType) {
+                populateKeys(tableInfo, list);
+                insertFill(tableInfo, list);
+            } else {
+                updateFill(tableInfo, list);
+            }
+        });
+        Set<Object> previous = BATCH_ENTITIES.get();
+        if (previous != null) {
+            entities.addAll(previous);
+        }
+        BATCH_ENTITIES.set(entities);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                BATCH_ENTITIES.remove();
+            } else {
+                BATCH_ENTITIES.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 批量插入填充
+     *
+     * @param tableInfo 表信息
+     * @param entities  同一张表的实体
+     * @see MetaObjectHandler#insertFill(TableInfo, List)
+     * @since 3.5.9
+     */
+    protected void insertFill(TableInfo tableInfo, List<Object> entities) {
+        GlobalConfigUtils.getMetaObjectHandler(this.configuration).ifPresent(metaObjectHandler -> {
+            if (metaObjectHandler.openInsertFill() && metaObjectHandler.openInsertFill(mappedStatement) && tableInfo.isWithInsertFill()) {
+                metaObjectHandler.insertFill(tableInfo, entities);
+            }
+        });
+    }
+
+    /**
+     * 批量更新填充
+     *
+     * @param tableInfo 表信息
+     * @param entities  同一张表的实体
+     * @see MetaObjectHandler#updateFill(TableInfo, List)
+     * @since 3.5.9
+     */
+    protected void updateFill(TableInfo tableInfo, List<Object> entities) {
+        GlobalConfigUtils.getMetaObjectHandler(this.configuration).ifPresent(metaObjectHandler -> {
+            if (metaObjectHandler.openUpdateFill() && metaObjectHandler.openUpdateFill(mappedStatement) && tableInfo.isWithUpdateFill()) {
+                metaObjectHandler.updateFill(tableInfo, entities);
+            }
+        });
+    }
+
+    /**
+     * 当前类是否重写了逐个处理实体的方法
+     */
+    private boolean isEntityProcessOverridden() {
+        return CollectionUtils.computeIfAbsent(ENTITY_PROCESS_OVERRIDDEN, getClass(), MybatisParameterHandler::isEntityProcessOverridden);
+    }
+
+    /**
+     * 子类是否重写了逐个处理实体的方法
+     */
+    private static boolean isEntityProcessOverridden(Class<?> type) {
+        for (Class<?> clazz = type; clazz != MybatisParameterHandler.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                String name = method.getName();
+                Class<?>[] types = method.getParameterTypes();
+                if (("processParameter".equals(name) && types.length == 1)
+                    || ("populateKeys".equals(name) && types.length == 3)
+                    || (("insertFill".equals(name) || "updateFill".equals(name)) && types.length == 2 && types[0] == MetaObject.class)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     protected void populateKeys(TableInfo tableInfo, MetaObject metaObject, Object entity) {
         final IdType idType = tableInfo.getIdType();
         final String keyProperty = tableInfo.getKeyProperty();
         if (StringUtils.isNotBlank(keyProperty) && null != idType && idType.getKey() >= 3) {
             final IdentifierGenerator identifierGenerator = GlobalConfigUtils.getGlobalConfig(this.configuration).getIdentifierGenerator();
-            Object idValue = metaObject.getValue(keyProperty);
+            PropertyAccessor keyAccessor = tableInfo.getPropertyAccessor(keyProperty);
+            Object idValue = keyAccessor.get(entity);
             if (identifierGenerator.assignId(idValue)) {
                 if (idType.getKey() == IdType.ASSIGN_ID.getKey()) {
                     Number id = identifierGenerator.nextId(entity);
-                    metaObject.setValue(keyProperty, OgnlOps.convertValue(id, tableInfo.getKeyType()));
+                    keyAccessor.set(entity, OgnlOps.convertValue(id, tableInfo.getKeyType()));
                 } else if (idType.getKey() == IdType.ASSIGN_UUID.getKey()) {
                     if(String.class.equals(tableInfo.getKeyType())) {
-                        metaObject.setValue(keyProperty, identifierGenerator.nextUUID(entity));
+                        keyAccessor.set(entity, identifierGenerator.nextUUID(entity));
                     } else {
                         log.warn("The current ID generation strategy does not support: " + tableInfo.getKeyType());
                     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core;
+
+import com.baomidou.mybatisplus.core.metadata.EntityRowMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.result.DefaultResultHandler;
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
+import org.apache.ibatis.executor.resultset.ResultSetWrapper;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 自定义 ResultSetHandler, 开启快速结果集映射的实体查询使用 {@link EntityRowMapper} 映射, 其余与 MyBatis 一致
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class MybatisResultSetHandler extends DefaultResultSetHandler {
+
+    private final Configuration configuration;
+    private final MappedStatement mappedStatement;
+    private final RowBounds rowBounds;
+    private final EntityRowMapper rowMapper;
+
+    public MybatisResultSetHandler(Executor executor, MappedStatement mappedStatement, ParameterHandler parameterHandler,
+                                   ResultHandler<?> resultHandler, BoundSql boundSql, RowBounds rowBounds) {
+        super(executor, mappedStatement, parameterHandler, resultHandler, boundSql, rowBounds);
+        this.configuration = mappedStatement.getConfiguration();
+        this.mappedStatement = mappedStatement;
+        this.rowBounds = rowBounds;
+        this.rowMapper = resultHandler == null ? getRowMapper(mappedStatement) : null;
+    }
+
+    private static EntityRowMapper getRowMapper(MappedStatement mappedStatement) {
+        List<ResultMap> resultMaps = mappedStatement.getResultMaps();
+        if (mappedStatement.getResultSets() != null || resultMaps.size() != 1) {
+            return null;
+        }
+        ResultMap resultMap = resultMaps.get(0);
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(resultMap.getType());
+        if (tableInfo == null || tableInfo.getConfiguration() != mappedStatement.getConfiguration()) {
+            return null;
+        }
+        return tableInfo.getRowMapper(resultMap);
+    }
+
+    @Override
+    public List<Object> handleResultSets(Statement stmt) throws SQLException {
+        if (rowMapper == null) {
+            return super.handleResultSets(stmt);
+        }
+        ErrorContext.instance().activity("handling results").object(mappedStatement.getId());
+        ResultSet rs = getFirstResultSet(stmt);
+        if (rs == null) {
+            return new ArrayList<>();
+        }
+        try {
+            List<Object> list = rowMapper.handleResultSet(mappedStatement, rs, rowBounds);
+            if (list == null) {
+                DefaultResultHandler resultHandler = new DefaultResultHandler(configuration.getObjectFactory());
+                handleRowValues(new ResultSetWrapper(rs, configuration), mappedStatement.getResultMaps().get(0), resultHandler, rowBounds, null);
+                list = resultHandler.getResultList();
+            }
+            return list;
+        } finally {
+            try {
+                rs.close();
+            } catch (SQLException e) {
+                // ignore
+            }
+        }
+    }
+
+    private ResultSet getFirstResultSet(Statement stmt) throws SQLException {
+        ResultSet rs = stmt.getResultSet();
+        while (rs == null) {
+            // move forward to get the first resultset in case the driver
+            // doesn't return the resultset as the first result (HSQLDB)
+            if (stmt.getMoreResults()) {
+                rs = stmt.getResultSet();
+            } else if (stmt.getUpdateCount() == -1) {
+                // no more results. Must be no resultset
+                break;
+            }
+        }
+        return rs;
+    }
+}
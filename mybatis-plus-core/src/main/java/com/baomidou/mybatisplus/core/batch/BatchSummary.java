@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.batch;
+
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
+
+import java.io.Serializable;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批处理汇总结果
+ * <p>
+ * 只保留每个 statement 的影响行数汇总, 可选记录失败行下标, 不持有 {@link BatchResult#getParameterObjects()} 参数引用,
+ * 大数据量导入时每次 flush 后的参数对象即可被回收
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class BatchSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 是否记录失败行下标
+     */
+    private final boolean recordFailures;
+    /**
+     * statementId -> 影响行数
+     */
+    private final Map<String, Long> updateCounts = new LinkedHashMap<>();
+    /**
+     * 失败行下标 (对应数据源中的顺序, 驱动返回 {@link Statement#EXECUTE_FAILED} 的行, 以及批处理异常中失败或未执行的行)
+     */
+    private final List<Long> failedIndexes = new ArrayList<>();
+    /**
+     * 执行行数
+     */
+    private long rows;
+    /**
+     * 未成功的行数 (影响行数为 0 或执行失败)
+     */
+    private long unsuccessfulRows;
+
+    public BatchSummary() {
+        this(false);
+    }
+
+    public BatchSummary(boolean recordFailures) {
+        this.recordFailures = recordFailures;
+    }
+
+    /**
+     * 汇总一次 flushStatements 的结果
+     *
+     * @param batchResults 批处理结果
+     */
+    public void add(List<BatchResult> batchResults) {
+        for (BatchResult batchResult : batchResults) {
+            add(batchResult.getMappedStatement().getId(), batchResult.getUpdateCounts());
+        }
+    }
+
+    /**
+     * 汇总一次执行失败的 flushStatements
+     * <p>
+     * 成功的 statement 取 {@link BatchExecutorException#getSuccessfulBatchResults()},
+     * 失败的 statement 取 {@link java.sql.BatchUpdateException#getUpdateCounts()},
+     * 驱动没有返回结果的行 (失败行以及之后未执行的行) 均记为失败
+     * </p>
+     *
+     * @param exception 批处理异常
+     * @param rows      本次 flushStatements 的总行数
+     */
+    public void add(BatchExecutorException exception, int rows) {
+        final long start = this.rows;
+        add(exception.getSuccessfulBatchResults());
+        int[] counts = exception.getBatchUpdateException().getUpdateCounts();
+        add(exception.getFailingStatementId(), counts == null ? new int[0] : counts);
+        for (long end = start + rows; this.rows < end; this.rows++) {
+            unsuccessfulRows++;
+            if (recordFailures) {
+                failedIndexes.add(this.rows);
+            }
+        }
+    }
+
+    private void add(String statementId, int[] counts) {
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            if (count > 0) {
+                total += count;
+            } else if (count != Statement.SUCCESS_NO_INFO) {
+                unsuccessfulRows++;
+                if (recordFailures && count == Statement.EXECUTE_FAILED) {
+                    failedIndexes.add(rows + i);
+                }
+            }
+        }
+        updateCounts.merge(statementId, total, Long::sum);
+        rows += counts.length;
+    }
+
+    /**
+     * 是否全部成功, 规则同 SqlHelper.retBool(List&lt;BatchResult&gt;)
+     *
+     * @return 每一行影响行数都大于 0 (或驱动返回 {@link Statement#SUCCESS_NO_INFO}) 时为 true
+     */
+    public boolean isSuccess() {
+        return unsuccessfulRows == 0;
+    }
+
+    /**
+     * @return 总影响行数
+     */
+    public long getUpdateCount() {
+        return updateCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @param statementId statementId
+     * @return 指定 statement 的影响行数
+     */
+    public long getUpdateCount(String statementId) {
+        return updateCounts.getOrDefault(statementId, 0L);
+    }
+
+    public Map<String, Long> getUpdateCounts() {
+        return Collections.unmodifiableMap(updateCounts);
+    }
+
+    public List<Long> getFailedIndexes() {
+        return Collections.unmodifiableList(failedIndexes);
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getUnsuccessfulRows() {
+        return unsuccessfulRows;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchSummary{rows=" + rows + ", unsuccessfulRows=" + unsuccessfulRows + ", updateCounts=" + updateCounts
+            + ", failedIndexes=" + failedIndexes + "}";
+    }
+}
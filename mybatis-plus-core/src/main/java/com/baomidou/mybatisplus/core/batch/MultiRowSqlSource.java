@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.batch;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.SqlSource;
+
+/**
+ * 多行语句 (例如 VALUES (...),(...)) 的 SqlSource, 记录单条语句允许的最大行数
+ * <p>
+ * 最大行数由数据库绑定参数上限除以每行参数个数得出, {@link MybatisBatch#upsert} 按此拆分批次
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class MultiRowSqlSource implements SqlSource {
+
+    private final SqlSource delegate;
+
+    private final int maxRows;
+
+    public MultiRowSqlSource(SqlSource delegate, int maxRows) {
+        this.delegate = delegate;
+        this.maxRows = Math.max(1, maxRows);
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        return delegate.getBoundSql(parameterObject);
+    }
+
+    /**
+     * @return 单条语句允许的最大行数
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public SqlSource getDelegate() {
+        return delegate;
+    }
+}
@@ -15,12 +15,23 @@
  */
 package com.baomidou.mybatisplus.core.batch;
 
+import com.baomidou.mybatisplus.core.MybatisParameterHandler;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
-import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.core.toolkit.reflect.PropertyAccessor;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.BatchExecutorException;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.ognl.OgnlOps;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -28,11 +39,19 @@ import org.apache.ibatis.session.SqlSessionFactory;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * <li>事务需要自行控制</li>
@@ -60,7 +79,7 @@ public class MybatisBatch<T> {
 
     private final SqlSessionFactory sqlSessionFactory;
 
-    private final Collection<T> dataList;
+    private final Iterable<T> dataList;
 
     private final int batchSize;
 
@@ -76,6 +95,62 @@ public class MybatisBatch<T> {
         this.batchSize = batchSize;
     }
 
+    /**
+     * 流式数据源, 执行时按批次逐条拉取数据, 每批执行后释放引用, 只能执行一次
+     *
+     * @param sqlSessionFactory {@link SqlSessionFactory}
+     * @param dataIterator      数据迭代器
+     * @since 3.5.9
+     */
+    public MybatisBatch(SqlSessionFactory sqlSessionFactory, Iterator<T> dataIterator) {
+        this(sqlSessionFactory, dataIterator, Constants.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 流式数据源, 执行时按批次逐条拉取数据, 每批执行后释放引用, 只能执行一次
+     *
+     * @param sqlSessionFactory {@link SqlSessionFactory}
+     * @param dataIterator      数据迭代器
+     * @param batchSize         批次数量
+     * @since 3.5.9
+     */
+    public MybatisBatch(SqlSessionFactory sqlSessionFactory, Iterator<T> dataIterator, int batchSize) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.dataList = singleUse(dataIterator);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 流式数据源, 执行时按批次逐条拉取数据, 每批执行后释放引用, 只能执行一次 (流需要调用方自行关闭)
+     *
+     * @param sqlSessionFactory {@link SqlSessionFactory}
+     * @param dataStream        数据流
+     * @since 3.5.9
+     */
+    public MybatisBatch(SqlSessionFactory sqlSessionFactory, Stream<T> dataStream) {
+        this(sqlSessionFactory, dataStream.iterator());
+    }
+
+    /**
+     * 流式数据源, 执行时按批次逐条拉取数据, 每批执行后释放引用, 只能执行一次 (流需要调用方自行关闭)
+     *
+     * @param sqlSessionFactory {@link SqlSessionFactory}
+     * @param dataStream        数据流
+     * @param batchSize         批次数量
+     * @since 3.5.9
+     */
+    public MybatisBatch(SqlSessionFactory sqlSessionFactory, Stream<T> dataStream, int batchSize) {
+        this(sqlSessionFactory, dataStream.iterator(), batchSize);
+    }
+
+    private static <T> Iterable<T> singleUse(Iterator<T> iterator) {
+        AtomicBoolean used = new AtomicBoolean();
+        return () -> {
+            Assert.isTrue(used.compareAndSet(false, true), "streaming data source can only be executed once");
+            return iterator;
+        };
+    }
+
     /**
      * 执行批量操作
      *
@@ -139,22 +214,126 @@ public class MybatisBatch<T> {
      * @return 批处理结果
      */
     public List<BatchResult> execute(boolean autoCommit, String statement, ParameterConvert<T> parameterConvert) {
-        List<BatchResult> resultList = new ArrayList<>(dataList.size());
+        List<BatchResult> resultList = new ArrayList<>();
+        execute(autoCommit, statement, parameterConvert, resultList::addAll);
+        return resultList;
+    }
+
+    /**
+     * 执行批量操作, 只返回汇总结果
+     *
+     * @param batchMethod 批量操作方法
+     * @return 批处理汇总结果
+     * @since 3.5.9
+     */
+    public BatchSummary executeSummary(BatchMethod<T> batchMethod) {
+        return executeSummary(false, batchMethod, false);
+    }
+
+    /**
+     * 执行批量操作, 只返回汇总结果
+     *
+     * @param autoCommit     是否自动提交(这里生效的前提依赖于事务管理器 {@link org.apache.ibatis.transaction.Transaction})
+     * @param batchMethod    批量操作方法
+     * @param recordFailures 是否记录失败行下标
+     * @return 批处理汇总结果
+     * @since 3.5.9
+     */
+    public BatchSummary executeSummary(boolean autoCommit, BatchMethod<T> batchMethod, boolean recordFailures) {
+        return executeSummary(autoCommit, batchMethod.getStatementId(), batchMethod.getParameterConvert(), recordFailures);
+    }
+
+    /**
+     * 执行批量操作, 只返回汇总结果
+     * <p>
+     * 每次 flushStatements 后立即汇总影响行数并丢弃 {@link BatchResult}, 不再持有参数对象, 适用于大数据量导入
+     * </p>
+     * <p>
+     * 记录失败行下标时, 批次执行抛出 {@link BatchExecutorException} 不再向外抛出, 汇总该批次的成功与失败行后继续执行下一批次.
+     * 失败批次中已成功的行是否保留取决于数据库 (例如 PostgreSQL 出错后整个事务不可用, 需要配合 autoCommit 使用)
+     * </p>
+     *
+     * @param autoCommit       是否自动提交(这里生效的前提依赖于事务管理器 {@link org.apache.ibatis.transaction.Transaction})
+     * @param statement        执行的 mapper 方法 (示例: com.baomidou.mybatisplus.core.mapper.BaseMapper.insert )
+     * @param parameterConvert 参数转换器
+     * @param recordFailures   是否记录失败行下标
+     * @return 批处理汇总结果
+     * @since 3.5.9
+     */
+    public BatchSummary executeSummary(boolean autoCommit, String statement, ParameterConvert<T> parameterConvert, boolean recordFailures) {
+        BatchSummary batchSummary = new BatchSummary(recordFailures);
+        execute(autoCommit, statement, parameterConvert, batchSummary::add, recordFailures ? batchSummary::add : null);
+        return batchSummary;
+    }
+
+    /**
+     * 执行批量操作
+     *
+     * @param autoCommit       是否自动提交(这里生效的前提依赖于事务管理器 {@link org.apache.ibatis.transaction.Transaction})
+     * @param statement        执行的 mapper 方法 (示例: com.baomidou.mybatisplus.core.mapper.BaseMapper.insert )
+     * @param parameterConvert 参数转换器
+     * @param resultConsumer   每批次执行结果处理
+     */
+    protected void execute(boolean autoCommit, String statement, ParameterConvert<T> parameterConvert, Consumer<List<BatchResult>> resultConsumer) {
+        execute(autoCommit, statement, parameterConvert, resultConsumer, null);
+    }
+
+    /**
+     * 执行批量操作
+     *
+     * @param autoCommit       是否自动提交(这里生效的前提依赖于事务管理器 {@link org.apache.ibatis.transaction.Transaction})
+     * @param statement        执行的 mapper 方法 (示例: com.baomidou.mybatisplus.core.mapper.BaseMapper.insert )
+     * @param parameterConvert 参数转换器
+     * @param resultConsumer   每批次执行结果处理
+     * @param failureConsumer  每批次执行失败处理 (批处理异常, 批次行数), 为空时直接抛出异常, 否则处理后继续执行下一批次
+     * @since 3.5.9
+     */
+    protected void execute(boolean autoCommit, String statement, ParameterConvert<T> parameterConvert, Consumer<List<BatchResult>> resultConsumer,
+                           BiConsumer<BatchExecutorException, Integer> failureConsumer) {
         try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, autoCommit)) {
-            List<List<T>> split = CollectionUtils.split(dataList, batchSize);
-            for (List<T> splitedList : split) {
-                for (T data : splitedList) {
-                    sqlSession.update(statement, toParameter(parameterConvert, data));
-                }
-                resultList.addAll(sqlSession.flushStatements());
-                if (!autoCommit) {
-                    sqlSession.commit();
+            MappedStatement mappedStatement = sqlSession.getConfiguration().getMappedStatement(statement);
+            Iterator<T> iterator = dataList == null ? Collections.emptyIterator() : dataList.iterator();
+            Assert.isFalse(iterator.hasNext() && batchSize < 1, "batchSize must not be less than one");
+            List<Object> parameters = new ArrayList<>(Math.max(1, Math.min(batchSize, 1024)));
+            while (iterator.hasNext()) {
+                parameters.add(toParameter(parameterConvert, iterator.next()));
+                if (parameters.size() >= batchSize || !iterator.hasNext()) {
+                    // 整批预处理主键与填充
+                    MybatisParameterHandler.processBatch(mappedStatement, parameters,
+                        () -> parameters.forEach(parameter -> sqlSession.update(statement, parameter)));
+                    try {
+                        resultConsumer.accept(sqlSession.flushStatements());
+                    } catch (PersistenceException e) {
+                        BatchExecutorException batchExecutorException = findBatchExecutorException(e);
+                        if (failureConsumer == null || batchExecutorException == null) {
+                            throw e;
+                        }
+                        failureConsumer.accept(batchExecutorException, parameters.size());
+                    }
+                    if (!autoCommit) {
+                        sqlSession.commit();
+                    }
+                    parameters.clear();
                 }
             }
-            return resultList;
         }
     }
 
+    /**
+     * 查找批处理异常
+     *
+     * @param throwable 异常
+     * @return 批处理异常, 没有时返回 null
+     */
+    static BatchExecutorException findBatchExecutorException(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BatchExecutorException) {
+                return (BatchExecutorException) cause;
+            }
+        }
+        return null;
+    }
+
     /**
      * 批量保存或更新
      * 这里需要注意一下,如果在insertPredicate里判断调用其他sqlSession(类似mapper.xxx)时,要注意一级缓存问题或数据感知问题(因为当前会话数据还未提交)
@@ -204,6 +383,168 @@ public class MybatisBatch<T> {
         }
     }
 
+    /**
+     * 批量保存或更新, 每批次通过一次主键 IN 查询判断记录是否存在
+     * <p>
+     * 主键为空或不存在的执行插入, 否则执行更新, 每批次先插入后更新, 同批次内重复的主键插入后按更新处理
+     * </p>
+     *
+     * @param autoCommit          是否自动提交(这里生效的前提依赖于事务管理器 {@link org.apache.ibatis.transaction.Transaction})
+     * @param insertMethod        插入方法
+     * @param updateMethod        更新方法
+     * @param tableInfo           表信息
+     * @param selectObjsStatement 查询方法 {@link com.baomidou.mybatisplus.core.mapper.BaseMapper#selectObjs(Wrapper)}
+     * @return 批处理结果
+     * @since 3.5.9
+     */
+    public List<BatchResult> saveOrUpdate(boolean autoCommit, BatchMethod<T> insertMethod, BatchMethod<T> updateMethod,
+                                          TableInfo tableInfo, String selectObjsStatement) {
+        List<BatchResult> resultList = new ArrayList<>();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, autoCommit)) {
+            Configuration configuration = sqlSession.getConfiguration();
+            MappedStatement insertStatement = configuration.getMappedStatement(insertMethod.getStatementId());
+            MappedStatement updateStatement = configuration.getMappedStatement(updateMethod.getStatementId());
+            PropertyAccessor keyAccessor = tableInfo.getPropertyAccessor(tableInfo.getKeyProperty());
+            Iterator<T> iterator = dataList == null ? Collections.emptyIterator() : dataList.iterator();
+            Assert.isFalse(iterator.hasNext() && batchSize < 1, "batchSize must not be less than one");
+            List<T> chunk = new ArrayList<>(Math.max(1, Math.min(batchSize, 1024)));
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() >= batchSize || !iterator.hasNext()) {
+                    Set<Object> existIds = selectExistIds(sqlSession, selectObjsStatement, tableInfo, chunk);
+                    List<Object> insertParameters = new ArrayList<>();
+                    List<Object> updateParameters = new ArrayList<>();
+                    for (T data : chunk) {
+                        Object idVal = keyAccessor.get(data);
+                        if (StringUtils.checkValNull(idVal) || !existIds.contains(idVal)) {
+                            insertParameters.add(toParameter(insertMethod.getParameterConvert(), data));
+                            if (!StringUtils.checkValNull(idVal)) {
+                                existIds.add(idVal);
+                            }
+                        } else {
+                            updateParameters.add(toParameter(updateMethod.getParameterConvert(), data));
+                        }
+                    }
+                    MybatisParameterHandler.processBatch(insertStatement, insertParameters,
+                        () -> insertParameters.forEach(parameter -> sqlSession.insert(insertMethod.getStatementId(), parameter)));
+                    MybatisParameterHandler.processBatch(updateStatement, updateParameters,
+                        () -> updateParameters.forEach(parameter -> sqlSession.update(updateMethod.getStatementId(), parameter)));
+                    resultList.addAll(sqlSession.flushStatements());
+                    if (!autoCommit) {
+                        sqlSession.commit();
+                    }
+                    chunk.clear();
+                }
+            }
+            return resultList;
+        }
+    }
+
+    /**
+     * 使用多行原生 upsert 语句批量保存或更新 (参数为 {@code list}, 每批次渲染为一条语句)
+     * <p>
+     * 每条语句行数不超过 batchSize 与 {@link MultiRowSqlSource#getMaxRows()} 的较小值,
+     * 同一语句内主键重复时拆分到下一条语句 (ON CONFLICT 与 MERGE 不允许同一语句内重复影响同一行),
+     * 执行前对每批次依次执行更新填充与插入填充
+     * </p>
+     *
+     * @param autoCommit 是否自动提交(这里生效的前提依赖于事务管理器 {@link org.apache.ibatis.transaction.Transaction})
+     * @param statement  多行 upsert 方法 (示例: com.baomidou.mybatisplus.extension.injector.methods.UpsertBatch)
+     * @param tableInfo  表信息
+     * @return 批处理结果 (每条语句一个影响行数)
+     * @since 3.5.9
+     */
+    public List<BatchResult> upsert(boolean autoCommit, String statement, TableInfo tableInfo) {
+        List<BatchResult> resultList = new ArrayList<>();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, autoCommit)) {
+            MappedStatement mappedStatement = sqlSession.getConfiguration().getMappedStatement(statement);
+            int maxRows = batchSize;
+            if (mappedStatement.getSqlSource() instanceof MultiRowSqlSource) {
+                maxRows = Math.min(maxRows, ((MultiRowSqlSource) mappedStatement.getSqlSource()).getMaxRows());
+            }
+            PropertyAccessor keyAccessor = tableInfo.getPropertyAccessor(tableInfo.getKeyProperty());
+            Iterator<T> iterator = dataList == null ? Collections.emptyIterator() : dataList.iterator();
+            Assert.isFalse(iterator.hasNext() && batchSize < 1, "batchSize must not be less than one");
+            List<Object> rows = new ArrayList<>();
+            Set<Object> ids = new HashSet<>();
+            while (iterator.hasNext()) {
+                T data = iterator.next();
+                Object idVal = keyAccessor.get(data);
+                if (!StringUtils.checkValNull(idVal) && !ids.add(idVal)) {
+                    resultList.addAll(upsertRows(sqlSession, mappedStatement, tableInfo, rows, autoCommit));
+                    rows = new ArrayList<>();
+                    ids.clear();
+                    ids.add(idVal);
+                }
+                rows.add(data);
+                if (rows.size() >= maxRows || !iterator.hasNext()) {
+                    resultList.addAll(upsertRows(sqlSession, mappedStatement, tableInfo, rows, autoCommit));
+                    rows = new ArrayList<>();
+                    ids.clear();
+                }
+            }
+            return resultList;
+        }
+    }
+
+    private List<BatchResult> upsertRows(SqlSession sqlSession, MappedStatement mappedStatement, TableInfo tableInfo, List<Object> rows, boolean autoCommit) {
+        Map<String, Object> param = new HashMap<>();
+        param.put(Constants.LIST, rows);
+        // 已存在的行走更新, 先执行更新填充 (语句为插入语句, 参数处理器只执行插入填充)
+        GlobalConfigUtils.getMetaObjectHandler(mappedStatement.getConfiguration()).ifPresent(metaObjectHandler -> {
+            if (metaObjectHandler.openUpdateFill() && metaObjectHandler.openUpdateFill(mappedStatement) && tableInfo.isWithUpdateFill()) {
+                metaObjectHandler.updateFill(tableInfo, rows);
+            }
+        });
+        // 整批预处理主键与插入填充
+        MybatisParameterHandler.processBatch(mappedStatement, rows, () -> sqlSession.insert(mappedStatement.getId(), param));
+        List<BatchResult> batchResults = sqlSession.flushStatements();
+        if (!autoCommit) {
+            sqlSession.commit();
+        }
+        return batchResults;
+    }
+
+    /**
+     * 查询已存在的主键 (SELECT id FROM table WHERE id IN (...)), 每 1000 个主键查询一次
+     *
+     * @param sqlSession          sqlSession
+     * @param selectObjsStatement 查询方法 {@link com.baomidou.mybatisplus.core.mapper.BaseMapper#selectObjs(Wrapper)}
+     * @param tableInfo           表信息
+     * @param entities            实体列表
+     * @return 已存在的主键 (转换为实体主键类型)
+     * @since 3.5.9
+     */
+    public static Set<Object> selectExistIds(SqlSession sqlSession, String selectObjsStatement, TableInfo tableInfo, Collection<?> entities) {
+        PropertyAccessor keyAccessor = tableInfo.getPropertyAccessor(tableInfo.getKeyProperty());
+        List<Object> ids = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            Object idVal = keyAccessor.get(entity);
+            if (!StringUtils.checkValNull(idVal)) {
+                ids.add(idVal);
+            }
+        }
+        Set<Object> existIds = new HashSet<>();
+        if (ids.isEmpty()) {
+            return existIds;
+        }
+        String keyColumn = tableInfo.getKeyColumn();
+        Class<?> keyType = tableInfo.getKeyType();
+        for (int i = 0; i < ids.size(); i += 1000) {
+            QueryWrapper<Object> wrapper = new QueryWrapper<>();
+            wrapper.select(keyColumn).in(keyColumn, ids.subList(i, Math.min(i + 1000, ids.size())));
+            Map<String, Object> param = new HashMap<>();
+            param.put(Constants.WRAPPER, wrapper);
+            List<Object> values = sqlSession.selectList(selectObjsStatement, param);
+            for (Object value : values) {
+                if (value != null) {
+                    existIds.add(OgnlOps.convertValue(value, keyType));
+                }
+            }
+        }
+        return existIds;
+    }
+
     /**
      * 参数转换
      *
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.batch;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * 并行分区批量执行
+ * <p>
+ * 将数据按分区键哈希(默认轮询)拆分为多个分区, 每个分区使用独立的 BATCH SqlSession (独立连接) 并发执行,
+ * 每批次单独提交, 返回每个分区的汇总结果与异常
+ * </p>
+ * <ul>
+ * <li>不保证跨分区、跨批次的原子性, 不会加入调用方事务, 只适用于可重试或可补偿的大批量导入</li>
+ * <li>某个分区失败不影响其他分区, 已提交的批次不会回滚</li>
+ * <li>并发数不要超过数据源连接池大小, 可传入虚拟线程执行器 (JDK21+: Executors.newVirtualThreadPerTaskExecutor())</li>
+ * </ul>
+ * <pre>
+ *     List&lt;ParallelMybatisBatch.PartitionResult&gt; results = new ParallelMybatisBatch&lt;&gt;(sqlSessionFactory, userList, 1000, 4)
+ *         .partitionBy(User::getId)
+ *         .execute(new MybatisBatch.Method&lt;User&gt;(UserMapper.class).insert());
+ * </pre>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class ParallelMybatisBatch<T> {
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    private final Collection<T> dataList;
+
+    private final int batchSize;
+
+    /**
+     * 分区数 (并发数)
+     */
+    private final int parallelism;
+
+    /**
+     * 执行器, 为空时每次执行创建固定大小线程池, 执行完关闭
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * 分区键, 为空时轮询分区
+     */
+    private Function<T, ?> partitionKey;
+
+    public ParallelMybatisBatch(SqlSessionFactory sqlSessionFactory, Collection<T> dataList, int parallelism) {
+        this(sqlSessionFactory, dataList, Constants.DEFAULT_BATCH_SIZE, parallelism);
+    }
+
+    public ParallelMybatisBatch(SqlSessionFactory sqlSessionFactory, Collection<T> dataList, int batchSize, int parallelism) {
+        this(sqlSessionFactory, dataList, batchSize, parallelism, null);
+    }
+
+    public ParallelMybatisBatch(SqlSessionFactory sqlSessionFactory, Collection<T> dataList, int batchSize, int parallelism, ExecutorService executorService) {
+        Assert.isFalse(batchSize < 1, "batchSize must not be less than one");
+        Assert.isFalse(parallelism < 1, "parallelism must not be less than one");
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.dataList = dataList;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.executorService = executorService;
+    }
+
+    /**
+     * 按分区键哈希分区, 相同键的数据总是在同一分区按原顺序执行
+     *
+     * @param partitionKey 分区键 (例如主键)
+     * @return this
+     */
+    public ParallelMybatisBatch<T> partitionBy(Function<T, ?> partitionKey) {
+        this.partitionKey = partitionKey;
+        return this;
+    }
+
+    /**
+     * 执行批量操作
+     *
+     * @param batchMethod 批量操作方法
+     * @return 分区执行结果
+     */
+    public List<PartitionResult> execute(BatchMethod<T> batchMethod) {
+        return execute(false, batchMethod);
+    }
+
+    /**
+     * 执行批量操作
+     *
+     * @param autoCommit  是否自动提交(这里生效的前提依赖于事务管理器 {@link org.apache.ibatis.transaction.Transaction})
+     * @param batchMethod 批量操作方法
+     * @return 分区执行结果
+     */
+    public List<PartitionResult> execute(boolean autoCommit, BatchMethod<T> batchMethod) {
+        List<List<T>> partitions = partition();
+        List<PartitionResult> results = new ArrayList<>(partitions.size());
+        if (partitions.isEmpty()) {
+            return results;
+        }
+        ExecutorService executor = this.executorService == null ? Executors.newFixedThreadPool(partitions.size()) : this.executorService;
+        try {
+            List<Future<PartitionResult>> futures = new ArrayList<>(partitions.size());
+            for (int i = 0; i < partitions.size(); i++) {
+                final int index = i;
+                final List<T> partition = partitions.get(i);
+                futures.add(executor.submit(() -> executePartition(index, partition, autoCommit, batchMethod)));
+            }
+            for (Future<PartitionResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ExceptionUtils.mpe(e);
+        } catch (ExecutionException e) {
+            throw ExceptionUtils.mpe(e.getCause());
+        } finally {
+            if (this.executorService == null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 拆分数据, 忽略空分区
+     *
+     * @return 分区列表
+     */
+    protected List<List<T>> partition() {
+        List<List<T>> partitions = new ArrayList<>(parallelism);
+        if (dataList == null || dataList.isEmpty()) {
+            return partitions;
+        }
+        int capacity = dataList.size() / parallelism + 1;
+        for (int i = 0; i < parallelism; i++) {
+            partitions.add(new ArrayList<>(capacity));
+        }
+        int index = 0;
+        for (T data : dataList) {
+            int partition = partitionKey == null ? index++ % parallelism : Math.floorMod(Objects.hashCode(partitionKey.apply(data)), parallelism);
+            partitions.get(partition).add(data);
+        }
+        partitions.removeIf(List::isEmpty);
+        return partitions;
+    }
+
+    /**
+     * 执行单个分区, 异常不向外抛出, 记录在分区结果中, 批处理异常时失败批次的成功与失败行同时汇总到分区结果
+     */
+    protected PartitionResult executePartition(int index, List<T> partition, boolean autoCommit, BatchMethod<T> batchMethod) {
+        BatchSummary summary = new BatchSummary(true);
+        Throwable failure = null;
+        try {
+            new MybatisBatch<>(sqlSessionFactory, partition, batchSize)
+                .execute(autoCommit, batchMethod.getStatementId(), batchMethod.getParameterConvert(), summary::add);
+        } catch (Throwable throwable) {
+            failure = throwable;
+            BatchExecutorException batchExecutorException = MybatisBatch.findBatchExecutorException(throwable);
+            if (batchExecutorException != null) {
+                // 之前的批次都已汇总, 失败批次行数为剩余行数与 batchSize 的较小值
+                summary.add(batchExecutorException, (int) Math.min(batchSize, partition.size() - summary.getRows()));
+            }
+        }
+        return new PartitionResult(index, partition.size(), summary, failure);
+    }
+
+    /**
+     * 分区执行结果
+     */
+    public static class PartitionResult {
+
+        /**
+         * 分区下标
+         */
+        private final int partition;
+
+        /**
+         * 分区数据量
+         */
+        private final int size;
+
+        /**
+         * 已执行批次的汇总结果 (失败时为失败前已执行的部分, 失败行下标对应分区内的顺序)
+         */
+        private final BatchSummary summary;
+
+        /**
+         * 执行异常
+         */
+        private final Throwable failure;
+
+        public PartitionResult(int partition, int size, BatchSummary summary, Throwable failure) {
+            this.partition = partition;
+            this.size = size;
+            this.summary = summary;
+            this.failure = failure;
+        }
+
+        public int getPartition() {
+            return partition;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public BatchSummary getSummary() {
+            return summary;
+        }
+
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return 是否执行成功
+         */
+        public boolean isSuccess() {
+            return failure == null && summary.isSuccess();
+        }
+
+        @Override
+        public String toString() {
+            return "PartitionResult{partition=" + partition + ", size=" + size + ", summary=" + summary + ", failure=" + failure + "}";
+        }
+    }
+}
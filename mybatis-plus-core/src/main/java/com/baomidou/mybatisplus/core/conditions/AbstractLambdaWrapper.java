@@ -17,12 +17,12 @@ package com.baomidou.mybatisplus.core.conditions;
 
 import com.baomidou.mybatisplus.core.toolkit.Assert;
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.support.ColumnCache;
 import com.baomidou.mybatisplus.core.toolkit.support.LambdaMeta;
 import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
-import org.apache.ibatis.reflection.property.PropertyNamer;
 
 import java.util.List;
 import java.util.Map;
@@ -126,10 +126,9 @@ public abstract class AbstractLambdaWrapper<T, Children extends AbstractLambdaWr
      */
     protected ColumnCache getColumnCache(SFunction<T, ?> column) {
         LambdaMeta meta = LambdaUtils.extract(column);
-        String fieldName = PropertyNamer.methodToProperty(meta.getImplMethodName());
         Class<?> instantiatedClass = meta.getInstantiatedClass();
         tryInitCache(instantiatedClass);
-        return getColumnCache(fieldName, instantiatedClass);
+        return getColumnCache(meta, instantiatedClass);
     }
 
     private void tryInitCache(Class<?> lambdaClass) {
@@ -144,10 +143,12 @@ public abstract class AbstractLambdaWrapper<T, Children extends AbstractLambdaWr
         }
     }
 
-    private ColumnCache getColumnCache(String fieldName, Class<?> lambdaClass) {
-        ColumnCache columnCache = columnMap.get(LambdaUtils.formatKey(fieldName));
-        Assert.notNull(columnCache, "can not find lambda cache for this property [%s] of entity [%s]",
-            fieldName, lambdaClass.getName());
+    private ColumnCache getColumnCache(LambdaMeta meta, Class<?> lambdaClass) {
+        ColumnCache columnCache = LambdaUtils.getColumnCache(meta, columnMap);
+        if (columnCache == null) {
+            throw ExceptionUtils.mpe("can not find lambda cache for this property [%s] of entity [%s]",
+                LambdaUtils.getPropertyName(meta), lambdaClass.getName());
+        }
         return columnCache;
     }
 }
@@ -22,6 +22,7 @@ import com.baomidou.mybatisplus.core.conditions.interfaces.Join;
 import com.baomidou.mybatisplus.core.conditions.interfaces.Nested;
 import com.baomidou.mybatisplus.core.conditions.segments.ColumnSegment;
 import com.baomidou.mybatisplus.core.conditions.segments.MergeSegments;
+import com.baomidou.mybatisplus.core.conditions.segments.SqlSegmentCache;
 import com.baomidou.mybatisplus.core.enums.SqlKeyword;
 import com.baomidou.mybatisplus.core.enums.SqlLike;
 import com.baomidou.mybatisplus.core.toolkit.*;
@@ -82,6 +83,14 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
      * 实体类型(主要用于确定泛型以及取TableInfo缓存)
      */
     private Class<T> entityClass;
+    /**
+     * 条件结构, 开启 {@link SqlSegmentCache} 时记录
+     */
+    private transient Shape shape;
+    /**
+     * 通过结构缓存得到的 sql 片段, 添加条件后失效
+     */
+    private transient String shapeSqlSegment;
 
     @Override
     public T getEntity() {
@@ -203,14 +212,16 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
 
     @Override
     public Children between(boolean condition, R column, Object val1, Object val2) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), BETWEEN,
-            () -> formatParam(null, val1), AND, () -> formatParam(null, val2)));
+        return maybeDo(condition, () -> appendSqlSegments(
+            s -> s.record(BETWEEN, columnToString(column)).value(val1).value(val2),
+            columnToSqlSegment(column), BETWEEN, () -> formatParam(null, val1), AND, () -> formatParam(null, val2)));
     }
 
     @Override
     public Children notBetween(boolean condition, R column, Object val1, Object val2) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), NOT_BETWEEN,
-            () -> formatParam(null, val1), AND, () -> formatParam(null, val2)));
+        return maybeDo(condition, () -> appendSqlSegments(
+            s -> s.record(NOT_BETWEEN, columnToString(column)).value(val1).value(val2),
+            columnToSqlSegment(column), NOT_BETWEEN, () -> formatParam(null, val1), AND, () -> formatParam(null, val2)));
     }
 
     @Override
@@ -235,12 +246,14 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
 
     @Override
     public Children or(boolean condition) {
-        return maybeDo(condition, () -> appendSqlSegments(OR));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(OR), OR));
     }
 
     @Override
     public Children apply(boolean condition, String applySql, Object... values) {
-        return maybeDo(condition, () -> appendSqlSegments(APPLY, () -> formatSqlMaybeWithParam(applySql, values)));
+        return maybeDo(condition, () -> appendSqlSegments(
+            s -> s.record(APPLY, applySql).values(applySql, values, false),
+            APPLY, () -> formatSqlMaybeWithParam(applySql, values)));
     }
 
     @Override
@@ -269,8 +282,9 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
 
     @Override
     public Children exists(boolean condition, String existsSql, Object... values) {
-        return maybeDo(condition, () -> appendSqlSegments(EXISTS,
-            () -> String.format("(%s)", formatSqlMaybeWithParam(existsSql, values))));
+        return maybeDo(condition, () -> appendSqlSegments(
+            s -> s.record(EXISTS, existsSql).values(existsSql, values, false),
+            EXISTS, () -> String.format("(%s)", formatSqlMaybeWithParam(existsSql, values))));
     }
 
     @Override
@@ -280,74 +294,82 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
 
     @Override
     public Children isNull(boolean condition, R column) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), IS_NULL));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(IS_NULL, columnToString(column)),
+            columnToSqlSegment(column), IS_NULL));
     }
 
     @Override
     public Children isNotNull(boolean condition, R column) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), IS_NOT_NULL));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(IS_NOT_NULL, columnToString(column)),
+            columnToSqlSegment(column), IS_NOT_NULL));
     }
 
     @Override
     public Children in(boolean condition, R column, Collection<?> coll) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), IN, inExpression(coll)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(IN, columnToString(column)).lazyValues(coll),
+            columnToSqlSegment(column), IN, inExpression(coll)));
     }
 
     @Override
     public Children in(boolean condition, R column, Object... values) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), IN, inExpression(values)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(IN, columnToString(column)).lazyValues(values),
+            columnToSqlSegment(column), IN, inExpression(values)));
     }
 
     @Override
     public Children notIn(boolean condition, R column, Collection<?> coll) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), NOT_IN, inExpression(coll)));
+        return maybeDo(condition, () -> appendSqlSegments(
+            s -> s.record(NOT_IN, columnToString(column)).lazyValues(coll),
+            columnToSqlSegment(column), NOT_IN, inExpression(coll)));
     }
 
     @Override
     public Children notIn(boolean condition, R column, Object... values) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), NOT_IN, inExpression(values)));
+        return maybeDo(condition, () -> appendSqlSegments(
+            s -> s.record(NOT_IN, columnToString(column)).lazyValues(values),
+            columnToSqlSegment(column), NOT_IN, inExpression(values)));
     }
 
     @Override
     public Children eqSql(boolean condition, R column, String eqValue) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), EQ,
-            () -> String.format("(%s)", eqValue)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(EQ, columnToString(column), eqValue),
+            columnToSqlSegment(column), EQ, () -> String.format("(%s)", eqValue)));
     }
 
     @Override
     public Children inSql(boolean condition, R column, String inValue) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), IN,
-            () -> String.format("(%s)", inValue)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(IN, columnToString(column), inValue),
+            columnToSqlSegment(column), IN, () -> String.format("(%s)", inValue)));
     }
 
     @Override
     public Children gtSql(boolean condition, R column, String inValue) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), GT,
-            () -> String.format("(%s)", inValue)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(GT, columnToString(column), inValue),
+            columnToSqlSegment(column), GT, () -> String.format("(%s)", inValue)));
     }
 
     @Override
     public Children geSql(boolean condition, R column, String inValue) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), GE,
-            () -> String.format("(%s)", inValue)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(GE, columnToString(column), inValue),
+            columnToSqlSegment(column), GE, () -> String.format("(%s)", inValue)));
     }
 
     @Override
     public Children ltSql(boolean condition, R column, String inValue) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), LT,
-            () -> String.format("(%s)", inValue)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(LT, columnToString(column), inValue),
+            columnToSqlSegment(column), LT, () -> String.format("(%s)", inValue)));
     }
 
     @Override
     public Children leSql(boolean condition, R column, String inValue) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), LE,
-            () -> String.format("(%s)", inValue)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(LE, columnToString(column), inValue),
+            columnToSqlSegment(column), LE, () -> String.format("(%s)", inValue)));
     }
 
     @Override
     public Children notInSql(boolean condition, R column, String inValue) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), NOT_IN,
-            () -> String.format("(%s)", inValue)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(NOT_IN, columnToString(column), inValue),
+            columnToSqlSegment(column), NOT_IN, () -> String.format("(%s)", inValue)));
     }
 
     @Override
@@ -370,7 +392,7 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
                 one += column != null ? StringPool.COMMA + columnsToString(columns) : columnsToString(columns);
             }
             final String finalOne = one;
-            appendSqlSegments(GROUP_BY, () -> finalOne);
+            appendSqlSegments(s -> s.record(GROUP_BY, finalOne), GROUP_BY, () -> finalOne);
         });
     }
 
@@ -379,11 +401,10 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
         return maybeDo(condition, () -> {
             final SqlKeyword mode = isAsc ? ASC : DESC;
             if (column != null) {
-                appendSqlSegments(ORDER_BY, columnToSqlSegment(column), mode);
+                appendOrderBy(column, mode);
             }
             if (CollectionUtils.isNotEmpty(columns)) {
-                columns.forEach(c -> appendSqlSegments(ORDER_BY,
-                    columnToSqlSegment(c), mode));
+                columns.forEach(c -> appendOrderBy(c, mode));
             }
         });
     }
@@ -400,29 +421,31 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
 
     @Override
     public Children groupBy(boolean condition, R column) {
-        return maybeDo(condition, () -> appendSqlSegments(GROUP_BY, () -> columnToString(column)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(GROUP_BY, columnToString(column)),
+            GROUP_BY, () -> columnToString(column)));
     }
 
     @Override
     public Children groupBy(boolean condition, List<R> columns) {
-        return maybeDo(condition, () -> appendSqlSegments(GROUP_BY, () -> columnsToString(columns)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(GROUP_BY, columnsToString(columns)),
+            GROUP_BY, () -> columnsToString(columns)));
     }
 
     @Override
     public Children orderBy(boolean condition, boolean isAsc, R column) {
-        return maybeDo(condition, () -> appendSqlSegments(ORDER_BY, columnToSqlSegment(column),
-            isAsc ? ASC : DESC));
+        return maybeDo(condition, () -> appendOrderBy(column, isAsc ? ASC : DESC));
     }
 
     @Override
     public Children orderBy(boolean condition, boolean isAsc, List<R> columns) {
-        return maybeDo(condition, () -> columns.forEach(c -> appendSqlSegments(ORDER_BY,
-            columnToSqlSegment(c), isAsc ? ASC : DESC)));
+        return maybeDo(condition, () -> columns.forEach(c -> appendOrderBy(c, isAsc ? ASC : DESC)));
     }
 
     @Override
     public Children having(boolean condition, String sqlHaving, Object... params) {
-        return maybeDo(condition, () -> appendSqlSegments(HAVING, () -> formatSqlMaybeWithParam(sqlHaving, params)));
+        return maybeDo(condition, () -> appendSqlSegments(
+            s -> s.record(HAVING, sqlHaving).values(sqlHaving, params, true),
+            HAVING, () -> formatSqlMaybeWithParam(sqlHaving, params)));
     }
 
     @Override
@@ -435,7 +458,7 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
      * <p>NOT 关键词</p>
      */
     protected Children not(boolean condition) {
-        return maybeDo(condition, () -> appendSqlSegments(NOT));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(NOT), NOT));
     }
 
     /**
@@ -443,7 +466,7 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
      * <p>拼接 AND</p>
      */
     protected Children and(boolean condition) {
-        return maybeDo(condition, () -> appendSqlSegments(AND));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(AND), AND));
     }
 
     /**
@@ -451,8 +474,11 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
      * <p>拼接 LIKE 以及 值</p>
      */
     protected Children likeValue(boolean condition, SqlKeyword keyword, R column, Object val, SqlLike sqlLike) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), keyword,
-            () -> formatParam(null, SqlUtils.concatLike(val, sqlLike))));
+        return maybeDo(condition, () -> {
+            final Object likeValue = SqlUtils.concatLike(val, sqlLike);
+            appendSqlSegments(s -> s.record(keyword, columnToString(column), sqlLike).value(likeValue),
+                columnToSqlSegment(column), keyword, () -> formatParam(null, likeValue));
+        });
     }
 
     /**
@@ -464,8 +490,8 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
      * @param val        条件值
      */
     protected Children addCondition(boolean condition, R column, SqlKeyword sqlKeyword, Object val) {
-        return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), sqlKeyword,
-            () -> formatParam(null, val)));
+        return maybeDo(condition, () -> appendSqlSegments(s -> s.record(sqlKeyword, columnToString(column)).value(val),
+            columnToSqlSegment(column), sqlKeyword, () -> formatParam(null, val)));
     }
 
     /**
@@ -476,8 +502,10 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
     protected Children addNestedCondition(boolean condition, Consumer<Children> consumer) {
         return maybeDo(condition, () -> {
             final Children instance = instance();
+            final Shape nestedShape = shape == null ? null : new Shape(true);
+            ((AbstractWrapper<?, ?, ?>) instance).shape = nestedShape;
             consumer.accept(instance);
-            appendSqlSegments(APPLY, instance);
+            appendSqlSegments(s -> s.record(APPLY).nested(nestedShape), APPLY, instance);
         });
     }
 
@@ -583,6 +611,8 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
         lastSql = SharedString.emptyString();
         sqlComment = SharedString.emptyString();
         sqlFirst = SharedString.emptyString();
+        shape = SqlSegmentCache.isEnabled() ? new Shape(false) : null;
+        shapeSqlSegment = null;
     }
 
     @Override
@@ -594,6 +624,8 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
         lastSql.toEmpty();
         sqlComment.toEmpty();
         sqlFirst.toEmpty();
+        shape = SqlSegmentCache.isEnabled() ? new Shape(false) : null;
+        shapeSqlSegment = null;
     }
 
     /**
@@ -602,9 +634,33 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
      * @param sqlSegments ISqlSegment 数组
      */
     protected void appendSqlSegments(ISqlSegment... sqlSegments) {
+        if (shape != null) {
+            // 未记录结构的片段无法确定参数, 不使用缓存
+            shape.valid = false;
+        }
+        shapeSqlSegment = null;
         expression.add(sqlSegments);
     }
 
+    /**
+     * 添加 where 片段并记录条件结构
+     *
+     * @param recorder    记录条件结构, 开启 {@link SqlSegmentCache} 时才执行
+     * @param sqlSegments ISqlSegment 数组
+     */
+    private void appendSqlSegments(Consumer<Shape> recorder, ISqlSegment... sqlSegments) {
+        if (shape != null) {
+            recorder.accept(shape);
+        }
+        shapeSqlSegment = null;
+        expression.add(sqlSegments);
+    }
+
+    private void appendOrderBy(R column, SqlKeyword mode) {
+        appendSqlSegments(s -> s.record(ORDER_BY, columnToString(column), mode),
+            ORDER_BY, columnToSqlSegment(column), mode);
+    }
+
     /**
      * 是否使用默认注解 {@link OrderBy} 排序
      *
@@ -621,7 +677,42 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
 
     @Override
     public String getSqlSegment() {
-        return expression.getSqlSegment() + lastSql.getStringValue();
+        return getExpressionSqlSegment() + lastSql.getStringValue();
+    }
+
+    /**
+     * 获取条件 sql 片段
+     * <p>
+     * 开启 {@link SqlSegmentCache} 时结构相同的条件构造器复用 sql 片段, 只按顺序绑定参数值
+     */
+    private String getExpressionSqlSegment() {
+        if (shape == null || shape.nested || !shape.valid) {
+            return expression.getSqlSegment();
+        }
+        if (shapeSqlSegment != null) {
+            return shapeSqlSegment;
+        }
+        final int seq = paramNameSeq.get();
+        final List<Object> values = new ArrayList<>();
+        if (!shape.collectValues(values)) {
+            // in 条件的集合在添加后被修改, 结构已变化
+            return expression.getSqlSegment();
+        }
+        final ShapeKey key = new ShapeKey(getParamAlias(), seq, shape.parts, shape.hash);
+        String sqlSegment = SqlSegmentCache.get(key);
+        if (sqlSegment == null) {
+            sqlSegment = expression.getSqlSegment();
+            // 参数顺序与生成的 sql 片段一致时才缓存
+            if (shape.matches(seq, values, paramNameSeq.get(), paramNameValuePairs)) {
+                SqlSegmentCache.put(key.copy(), sqlSegment);
+            }
+        } else {
+            for (Object value : values) {
+                paramNameValuePairs.put(Constants.WRAPPER_PARAM + paramNameSeq.incrementAndGet(), value);
+            }
+        }
+        shapeSqlSegment = sqlSegment;
+        return sqlSegment;
     }
 
     @Override
@@ -700,6 +791,181 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
         return SerializationUtils.clone(typedThis);
     }
 
+    /**
+     * 条件结构
+     * <p>
+     * 按添加顺序记录条件关键字、字段、sql 与参数个数, 同时累加计算 hash, 查找缓存时不再拼接指纹.
+     * 参数值分为 where 与 having 两部分, 与生成 sql 片段时的参数顺序一致
+     */
+    private static final class Shape {
+        private final List<Object> parts = new ArrayList<>();
+        private final List<Object> normalValues = new ArrayList<>();
+        private final List<Object> havingValues = new ArrayList<>();
+        /**
+         * 是否是嵌套条件, 嵌套条件随外层条件一起生成 sql 片段
+         */
+        private final boolean nested;
+        private boolean valid = true;
+        private int hash = 1;
+
+        private Shape(boolean nested) {
+            this.nested = nested;
+        }
+
+        private Shape record(Object... parts) {
+            for (Object part : parts) {
+                add(part);
+            }
+            return this;
+        }
+
+        private void add(Object part) {
+            parts.add(part);
+            hash = 31 * hash + Objects.hashCode(part);
+        }
+
+        private Shape value(Object value) {
+            normalValues.add(value);
+            return this;
+        }
+
+        private Shape values(String sql, Object[] params, boolean having) {
+            add(params == null ? 0 : params.length);
+            if (StringUtils.isNotBlank(sql) && ArrayUtils.isNotEmpty(params)) {
+                Collections.addAll(having ? havingValues : normalValues, params);
+            }
+            return this;
+        }
+
+        private Shape lazyValues(Object source) {
+            LazyValues values = new LazyValues(source);
+            add(values.size);
+            normalValues.add(values);
+            return this;
+        }
+
+        private void nested(Shape nestedShape) {
+            add(StringPool.LEFT_BRACKET);
+            nestedShape.parts.forEach(this::add);
+            add(StringPool.RIGHT_BRACKET);
+            normalValues.addAll(nestedShape.normalValues);
+            normalValues.addAll(nestedShape.havingValues);
+            valid &= nestedShape.valid;
+        }
+
+        /**
+         * 按生成 sql 片段时的顺序取出参数值
+         *
+         * @return in 条件的参数个数与记录时不同时返回 false
+         */
+        private boolean collectValues(List<Object> values) {
+            return addValues(normalValues, values) && addValues(havingValues, values);
+        }
+
+        private boolean addValues(List<Object> source, List<Object> values) {
+            for (Object value : source) {
+                if (value instanceof LazyValues) {
+                    if (!((LazyValues) value).addTo(values)) {
+                        return false;
+                    }
+                } else {
+                    values.add(value);
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(int seq, List<Object> values, int currentSeq, Map<String, Object> paramNameValuePairs) {
+            if (currentSeq - seq != values.size()) {
+                return false;
+            }
+            for (int i = 0; i < values.size(); i++) {
+                if (!Objects.equals(values.get(i), paramNameValuePairs.get(Constants.WRAPPER_PARAM + (seq + i + 1)))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 结构缓存的 key, hash 由 {@link Shape} 累加计算, 相同时才逐项比较
+     */
+    private static final class ShapeKey {
+        private final String paramAlias;
+        private final int seq;
+        private final List<Object> parts;
+        private final int shapeHash;
+        private final int hash;
+
+        private ShapeKey(String paramAlias, int seq, List<Object> parts, int shapeHash) {
+            this.paramAlias = paramAlias;
+            this.seq = seq;
+            this.parts = parts;
+            this.shapeHash = shapeHash;
+            this.hash = 31 * (31 * shapeHash + paramAlias.hashCode()) + seq;
+        }
+
+        /**
+         * 放入缓存前复制, 避免条件构造器之后的修改影响缓存
+         */
+        private ShapeKey copy() {
+            return new ShapeKey(paramAlias, seq, new ArrayList<>(parts), shapeHash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShapeKey)) {
+                return false;
+            }
+            ShapeKey that = (ShapeKey) o;
+            return hash == that.hash && seq == that.seq && paramAlias.equals(that.paramAlias) && parts.equals(that.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * in 条件的参数, 与生成 sql 片段时一样延迟读取集合或数组
+     */
+    private static final class LazyValues {
+        private final Object source;
+        /**
+         * 添加条件时的参数个数
+         */
+        private final int size;
+
+        private LazyValues(Object source) {
+            this.source = source;
+            this.size = size(source);
+        }
+
+        private static int size(Object source) {
+            if (source instanceof Collection) {
+                return ((Collection<?>) source).size();
+            }
+            return source == null ? 0 : ((Object[]) source).length;
+        }
+
+        private boolean addTo(List<Object> values) {
+            if (size(source) != size) {
+                return false;
+            }
+            if (source instanceof Collection) {
+                values.addAll((Collection<?>) source);
+            } else if (source != null) {
+                Collections.addAll(values, (Object[]) source);
+            }
+            return true;
+        }
+    }
+
     /**
      * 做事函数
      */
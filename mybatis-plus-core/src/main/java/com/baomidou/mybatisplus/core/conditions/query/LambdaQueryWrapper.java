@@ -137,6 +137,17 @@ public class LambdaQueryWrapper<T> extends AbstractLambdaWrapper<T, LambdaQueryW
             new MergeSegments(), paramAlias, SharedString.emptyString(), SharedString.emptyString(), SharedString.emptyString());
     }
 
+    /**
+     * 生成预编译查询模板
+     *
+     * @return 预编译查询模板
+     * @see PreparedQuery
+     * @since 3.5.9
+     */
+    public PreparedQuery<T> prepare() {
+        return PreparedQuery.of(this);
+    }
+
     @Override
     public void clear() {
         super.clear();
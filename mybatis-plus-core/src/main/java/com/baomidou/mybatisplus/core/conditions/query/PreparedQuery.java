@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.conditions.query;
+
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 预编译查询模板
+ * <p>
+ * 启动时构建一次条件, 需要每次传入的值使用 {@link #bind()} 占位, 之后每次查询只绑定参数,
+ * 不再创建 Wrapper, 拼接 sql 片段以及执行 OGNL 表达式
+ * </p>
+ * <pre>
+ *     static final PreparedQuery&lt;User&gt; QUERY = Wrappers.&lt;User&gt;lambdaQuery()
+ *         .eq(User::getTenantId, PreparedQuery.bind()).in(User::getStatus, PreparedQuery.bind()).prepare();
+ *
+ *     userMapper.selectList(QUERY, tenantId, Arrays.asList(1, 2));
+ * </pre>
+ * <p>
+ * 参数按照占位在 sql 中出现的顺序传入, IN 条件中单独的占位可以传入集合或者数组.
+ * sql 在首次执行时由注入的 selectList 方法生成一次, 之后直接复用, 实例不可变且线程安全
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public final class PreparedQuery<T> {
+
+    /**
+     * 绑定参数名前缀
+     */
+    public static final String PARAMETER_PREFIX = "mybatis_plus_prepared_";
+
+    private static final Pattern IN_OPEN = Pattern.compile("\\bIN\\s*\\(\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern IN_CLOSE = Pattern.compile("^\\s*\\)");
+
+    /**
+     * 条件快照
+     */
+    private final AbstractWrapper<T, ?, ?> wrapper;
+    /**
+     * statementId -> sql 模板
+     */
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    private PreparedQuery(AbstractWrapper<T, ?, ?> wrapper) {
+        this.wrapper = wrapper;
+        // 生成一次 sql 片段, 固定参数名
+        wrapper.getSqlSegment();
+    }
+
+    /**
+     * 参数占位, 执行时按顺序传入实际值
+     *
+     * @return 占位对象
+     */
+    public static Object bind() {
+        return Binding.INSTANCE;
+    }
+
+    /**
+     * 根据条件构造器生成预编译查询模板, 之后对原条件构造器的修改不会影响模板
+     *
+     * @param wrapper 条件构造器
+     * @return 预编译查询模板
+     */
+    public static <T> PreparedQuery<T> of(AbstractWrapper<T, ?, ?> wrapper) {
+        Assert.notNull(wrapper, "wrapper can not be null");
+        Assert.isTrue(Constants.WRAPPER.equals(wrapper.getParamAlias()), "prepared query does not support paramAlias");
+        return new PreparedQuery<>(wrapper.clone());
+    }
+
+    /**
+     * 绑定参数
+     *
+     * @param values 按照占位顺序传入的参数
+     * @return 绑定参数后的查询
+     */
+    public Bound<T> with(Object... values) {
+        return new Bound<>(this, values == null ? new Object[0] : values);
+    }
+
+    private BoundSql getBoundSql(Configuration configuration, String statementId, Bound<T> bound) {
+        Template template = templates.get(statementId);
+        if (template == null || template.configuration != configuration) {
+            synchronized (this) {
+                template = templates.get(statementId);
+                if (template == null || template.configuration != configuration) {
+                    template = compile(configuration, statementId);
+                    templates.put(statementId, template);
+                }
+            }
+        }
+        return template.build(bound, bound.values);
+    }
+
+    /**
+     * 使用指定查询方法生成 sql 一次, 按占位符拆分为片段, 并区分固定参数与绑定参数
+     */
+    private Template compile(Configuration configuration, String statementId) {
+        MappedStatement ms = configuration.getMappedStatement(statementId);
+        MapperMethod.ParamMap<Object> parameter = new MapperMethod.ParamMap<>();
+        parameter.put(Constants.WRAPPER, wrapper);
+        parameter.put("param1", wrapper);
+        BoundSql boundSql = ms.getBoundSql(parameter);
+        String sql = boundSql.getSql();
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        List<String> fragments = split(sql);
+        Assert.isTrue(fragments.size() == mappings.size() + 1, "can not prepare query, placeholders do not match parameters: %s", sql);
+        MetaObject metaObject = configuration.newMetaObject(parameter);
+        List<Parameter> parameters = new ArrayList<>(mappings.size());
+        int bindCount = 0;
+        for (int i = 0; i < mappings.size(); i++) {
+            ParameterMapping mapping = mappings.get(i);
+            String property = mapping.getProperty();
+            Object value = boundSql.hasAdditionalParameter(property) ? boundSql.getAdditionalParameter(property) : metaObject.getValue(property);
+            if (value instanceof Binding) {
+                boolean expand = IN_OPEN.matcher(fragments.get(i)).find() && IN_CLOSE.matcher(fragments.get(i + 1)).find();
+                parameters.add(new Parameter(configuration, mapping, PARAMETER_PREFIX + i, null, bindCount++, expand));
+            } else {
+                parameters.add(new Parameter(configuration, mapping, PARAMETER_PREFIX + i, value, -1, false));
+            }
+        }
+        return new Template(configuration, fragments, parameters, bindCount);
+    }
+
+    /**
+     * 按字符串之外的 ? 拆分 sql
+     */
+    private static List<String> split(String sql) {
+        List<String> fragments = new ArrayList<>();
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '?') {
+                fragments.add(sql.substring(start, i));
+                start = i + 1;
+            }
+        }
+        fragments.add(sql.substring(start));
+        return fragments;
+    }
+
+    private static Collection<?> toCollection(Object value) {
+        if (value instanceof Collection) {
+            return (Collection<?>) value;
+        }
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> list = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                list.add(Array.get(value, i));
+            }
+            return list;
+        }
+        return Collections.singletonList(value);
+    }
+
+    /**
+     * 绑定参数后的查询
+     */
+    public static final class Bound<T> {
+
+        private final PreparedQuery<T> query;
+        private final Object[] values;
+
+        private Bound(PreparedQuery<T> query, Object[] values) {
+            this.query = query;
+            this.values = values;
+        }
+
+        public PreparedQuery<T> getQuery() {
+            return query;
+        }
+
+        /**
+         * 根据指定查询方法生成的 sql 模板获取 BoundSql
+         *
+         * @param configuration 配置
+         * @param statementId   查询方法 (通常为注入的 selectList)
+         * @return BoundSql
+         */
+        public BoundSql getBoundSql(Configuration configuration, String statementId) {
+            return query.getBoundSql(configuration, statementId, this);
+        }
+    }
+
+    /**
+     * 参数占位对象
+     */
+    private static final class Binding implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final Binding INSTANCE = new Binding();
+
+        private Object readResolve() {
+            return INSTANCE;
+        }
+
+        @Override
+        public String toString() {
+            return StringPool.QUESTION_MARK;
+        }
+    }
+
+    private static final class Template {
+
+        private final Configuration configuration;
+        /**
+         * 数量为参数数量 + 1
+         */
+        private final List<String> fragments;
+        private final List<Parameter> parameters;
+        private final int bindCount;
+
+        private Template(Configuration configuration, List<String> fragments, List<Parameter> parameters, int bindCount) {
+            this.configuration = configuration;
+            this.fragments = fragments;
+            this.parameters = parameters;
+            this.bindCount = bindCount;
+        }
+
+        private BoundSql build(Object parameterObject, Object[] values) {
+            if (values.length != bindCount) {
+                throw ExceptionUtils.mpe("prepared query requires %s values, but got %s", bindCount, values.length);
+            }
+            StringBuilder sql = new StringBuilder(fragments.get(0));
+            List<ParameterMapping> mappings = new ArrayList<>(parameters.size());
+            List<Object> parameterValues = new ArrayList<>(parameters.size());
+            for (int i = 0; i < parameters.size(); i++) {
+                Parameter parameter = parameters.get(i);
+                Object value = parameter.bindIndex < 0 ? parameter.value : values[parameter.bindIndex];
+                if (parameter.expand) {
+                    Collection<?> items = toCollection(value);
+                    Assert.notEmpty(items, "prepared query value for IN can not be empty, index: %s", parameter.bindIndex);
+                    int j = 0;
+                    for (Object item : items) {
+                        if (j > 0) {
+                            sql.append(StringPool.COMMA);
+                        }
+                        sql.append(StringPool.QUESTION_MARK);
+                        mappings.add(parameter.item(configuration, j++));
+                        parameterValues.add(item);
+                    }
+                } else {
+                    sql.append(StringPool.QUESTION_MARK);
+                    mappings.add(parameter.mapping);
+                    parameterValues.add(value);
+                }
+                sql.append(fragments.get(i + 1));
+            }
+            BoundSql boundSql = new BoundSql(configuration, sql.toString(), mappings, parameterObject);
+            for (int i = 0; i < mappings.size(); i++) {
+                boundSql.setAdditionalParameter(mappings.get(i).getProperty(), parameterValues.get(i));
+            }
+            return boundSql;
+        }
+    }
+
+    private static final class Parameter {
+
+        private final ParameterMapping mapping;
+        private final Object value;
+        /**
+         * 绑定参数下标, 固定参数为 -1
+         */
+        private final int bindIndex;
+        /**
+         * 是否展开为 IN 列表
+         */
+        private final boolean expand;
+
+        private Parameter(Configuration configuration, ParameterMapping mapping, String property, Object value, int bindIndex, boolean expand) {
+            this.mapping = rename(configuration, mapping, property);
+            this.value = value;
+            this.bindIndex = bindIndex;
+            this.expand = expand;
+        }
+
+        private ParameterMapping item(Configuration configuration, int index) {
+            return rename(configuration, mapping, mapping.getProperty() + StringPool.UNDERSCORE + index);
+        }
+
+        private static ParameterMapping rename(Configuration configuration, ParameterMapping mapping, String property) {
+            return new ParameterMapping.Builder(configuration, property, mapping.getTypeHandler())
+                .javaType(mapping.getJavaType())
+                .jdbcType(mapping.getJdbcType())
+                .numericScale(mapping.getNumericScale())
+                .build();
+        }
+    }
+}
@@ -145,6 +145,17 @@ public class QueryWrapper<T> extends AbstractWrapper<T, String, QueryWrapper<T>>
             paramAlias, SharedString.emptyString(), SharedString.emptyString(), SharedString.emptyString());
     }
 
+    /**
+     * 生成预编译查询模板
+     *
+     * @return 预编译查询模板
+     * @see PreparedQuery
+     * @since 3.5.9
+     */
+    public PreparedQuery<T> prepare() {
+        return PreparedQuery.of(this);
+    }
+
     @Override
     public void clear() {
         super.clear();
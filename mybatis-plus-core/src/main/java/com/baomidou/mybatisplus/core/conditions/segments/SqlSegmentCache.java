@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.conditions.segments;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 条件构造器 sql 片段结构缓存
+ * <p>
+ * 结构相同(条件、字段、参数个数相同)的条件构造器生成的 sql 片段相同, 命中缓存时只绑定参数值, 不再拼接 sql 片段.
+ * 默认关闭, 开启后对之后创建的条件构造器生效
+ * </p>
+ * <p>
+ * 缓存分为新旧两代, 新一代写满后整体降为旧一代, 旧一代中再次命中的结构会移回新一代,
+ * 常用结构不会因为容量满了被一起清掉
+ * </p>
+ * <pre>
+ *     SqlSegmentCache.setEnabled(true);
+ * </pre>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public final class SqlSegmentCache {
+
+    private static final LongAdder HIT_COUNT = new LongAdder();
+    private static final LongAdder MISS_COUNT = new LongAdder();
+    private static volatile Map<Object, String> current = new ConcurrentHashMap<>();
+    private static volatile Map<Object, String> previous = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = false;
+    private static volatile int maxSize = 1024;
+
+    private SqlSegmentCache() {
+    }
+
+    /**
+     * 获取缓存的 sql 片段
+     *
+     * @param shape 结构指纹
+     * @return sql 片段, 不存在时返回 null
+     */
+    public static String get(Object shape) {
+        String sqlSegment = current.get(shape);
+        if (sqlSegment == null) {
+            sqlSegment = previous.remove(shape);
+            if (sqlSegment != null) {
+                put(shape, sqlSegment);
+            }
+        }
+        if (sqlSegment == null) {
+            MISS_COUNT.increment();
+        } else {
+            HIT_COUNT.increment();
+        }
+        return sqlSegment;
+    }
+
+    /**
+     * 缓存 sql 片段, 新一代写满后降为旧一代, 原来的旧一代丢弃
+     *
+     * @param shape      结构指纹, 需要实现 equals 与 hashCode
+     * @param sqlSegment sql 片段
+     */
+    public static void put(Object shape, String sqlSegment) {
+        Map<Object, String> cache = current;
+        if (cache.size() >= Math.max(1, maxSize / 2)) {
+            synchronized (SqlSegmentCache.class) {
+                if (current == cache) {
+                    previous = cache;
+                    current = new ConcurrentHashMap<>();
+                }
+                cache = current;
+            }
+        }
+        cache.put(shape, sqlSegment);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        SqlSegmentCache.enabled = enabled;
+    }
+
+    public static int getMaxSize() {
+        return maxSize;
+    }
+
+    public static void setMaxSize(int maxSize) {
+        SqlSegmentCache.maxSize = maxSize;
+    }
+
+    public static int size() {
+        return current.size() + previous.size();
+    }
+
+    public static long getHitCount() {
+        return HIT_COUNT.sum();
+    }
+
+    public static long getMissCount() {
+        return MISS_COUNT.sum();
+    }
+
+    /**
+     * 命中率
+     *
+     * @return 0 ~ 1, 没有请求时为 0
+     */
+    public static double getHitRate() {
+        long hit = getHitCount();
+        long total = hit + getMissCount();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * 清空缓存与统计
+     */
+    public static synchronized void clear() {
+        current = new ConcurrentHashMap<>();
+        previous = new ConcurrentHashMap<>();
+        HIT_COUNT.reset();
+        MISS_COUNT.reset();
+    }
+}
@@ -27,6 +27,7 @@ public enum SqlMethod {
      */
     INSERT_ONE("insert", "插入一条数据（选择字段插入）", "<script>\nINSERT INTO %s %s VALUES %s\n</script>"),
     UPSERT_ONE("upsert", "Phoenix插入一条数据（选择字段插入）", "<script>\nUPSERT INTO %s %s VALUES %s\n</script>"),
+    UPSERT_BATCH("upsertBatch", "批量插入或更新（数据库原生多行语法）", "<script>\n%s\n</script>"),
 
     /**
      * 删除
@@ -96,7 +97,13 @@ public enum SqlMethod {
     SELECT_MAPS("selectMaps", "查询满足条件所有数据", "<script>%s SELECT %s FROM %s %s %s %s\n</script>"),
     @Deprecated
     SELECT_MAPS_PAGE("selectMapsPage", "查询满足条件所有数据（并翻页）", "<script>\n%s SELECT %s FROM %s %s %s %s\n</script>"),
-    SELECT_OBJS("selectObjs", "查询满足条件所有数据", "<script>%s SELECT %s FROM %s %s %s %s\n</script>");
+    SELECT_OBJS("selectObjs", "查询满足条件所有数据", "<script>%s SELECT %s FROM %s %s %s %s\n</script>"),
+    /**
+     * sql 由注入的 selectList 方法生成
+     *
+     * @since 3.5.9
+     */
+    SELECT_PREPARED_LIST("selectPreparedList", "根据预编译查询模板查询数据", "");
 
     private final String method;
     private final String desc;
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.handlers;
+
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.wrapper.BeanWrapper;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * 批量填充使用的 ObjectWrapperFactory
+ * <p>
+ * 实体的简单属性通过 {@link TableInfo#getPropertyAccessor(String)} 读写, 不再反射调用,
+ * 嵌套属性、集合下标以及配置了 ObjectWrapperFactory 的类型保持原有处理
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+final class EntityObjectWrapperFactory implements ObjectWrapperFactory {
+
+    private final TableInfo tableInfo;
+    private final Configuration configuration;
+    private final ObjectWrapperFactory delegate;
+
+    EntityObjectWrapperFactory(TableInfo tableInfo) {
+        this.tableInfo = tableInfo;
+        this.configuration = tableInfo.getConfiguration();
+        this.delegate = configuration.getObjectWrapperFactory();
+    }
+
+    MetaObject newMetaObject(Object entity) {
+        return MetaObject.forObject(entity, configuration.getObjectFactory(), this, configuration.getReflectorFactory());
+    }
+
+    @Override
+    public boolean hasWrapperFor(Object object) {
+        return delegate.hasWrapperFor(object) || tableInfo.getEntityType().isInstance(object);
+    }
+
+    @Override
+    public ObjectWrapper getWrapperFor(MetaObject metaObject, Object object) {
+        if (delegate.hasWrapperFor(object)) {
+            return delegate.getWrapperFor(metaObject, object);
+        }
+        return new EntityWrapper(metaObject, object);
+    }
+
+    private final class EntityWrapper extends BeanWrapper {
+
+        private final Object entity;
+
+        private EntityWrapper(MetaObject metaObject, Object entity) {
+            super(metaObject, entity);
+            this.entity = entity;
+        }
+
+        @Override
+        public Object get(PropertyTokenizer prop) {
+            Reflector reflector = tableInfo.getReflector();
+            if (isSimple(prop) && reflector.hasGetter(prop.getName())) {
+                return tableInfo.getPropertyAccessor(prop.getName()).get(entity);
+            }
+            return super.get(prop);
+        }
+
+        @Override
+        public void set(PropertyTokenizer prop, Object value) {
+            Reflector reflector = tableInfo.getReflector();
+            if (isSimple(prop) && reflector.hasSetter(prop.getName())) {
+                tableInfo.getPropertyAccessor(prop.getName()).set(entity, value);
+                return;
+            }
+            super.set(prop, value);
+        }
+
+        private boolean isSimple(PropertyTokenizer prop) {
+            return !prop.hasNext() && prop.getIndex() == null;
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.baomidou.mybatisplus.core.handlers;
 
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.reflect.PropertyAccessor;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.MetaObject;
 
@@ -91,6 +92,38 @@ public interface MetaObjectHandler {
      */
     void updateFill(MetaObject metaObject);
 
+    /**
+     * 批量插入填充, 同一批次同一张表只调用一次
+     * <p>
+     * 默认逐个实体调用 {@link #insertFill(MetaObject)}, 元对象的属性读写走 {@link TableInfo#getPropertyAccessor(String)} 而非反射,
+     * 可重写后配合 {@link #strictInsertFill(TableInfo, List, List)} 一次完成填充
+     * </p>
+     *
+     * @param tableInfo 表信息
+     * @param entities  实体列表
+     * @since 3.5.9
+     */
+    default void insertFill(TableInfo tableInfo, List<?> entities) {
+        EntityObjectWrapperFactory wrapperFactory = new EntityObjectWrapperFactory(tableInfo);
+        entities.forEach(entity -> insertFill(wrapperFactory.newMetaObject(entity)));
+    }
+
+    /**
+     * 批量更新填充, 同一批次同一张表只调用一次
+     * <p>
+     * 默认逐个实体调用 {@link #updateFill(MetaObject)}, 元对象的属性读写走 {@link TableInfo#getPropertyAccessor(String)} 而非反射,
+     * 可重写后配合 {@link #strictUpdateFill(TableInfo, List, List)} 一次完成填充
+     * </p>
+     *
+     * @param tableInfo 表信息
+     * @param entities  实体列表
+     * @since 3.5.9
+     */
+    default void updateFill(TableInfo tableInfo, List<?> entities) {
+        EntityObjectWrapperFactory wrapperFactory = new EntityObjectWrapperFactory(tableInfo);
+        entities.forEach(entity -> updateFill(wrapperFactory.newMetaObject(entity)));
+    }
+
     /**
      * 通用填充
      *
@@ -206,6 +239,69 @@ public interface MetaObjectHandler {
         return this;
     }
 
+    /**
+     * 批量严格插入填充
+     *
+     * @param tableInfo   cache 缓存
+     * @param entities    实体列表
+     * @param strictFills 填充信息
+     * @return this
+     * @since 3.5.9
+     */
+    default MetaObjectHandler strictInsertFill(TableInfo tableInfo, List<?> entities, List<StrictFill<?, ?>> strictFills) {
+        return strictFill(true, tableInfo, entities, strictFills);
+    }
+
+    /**
+     * 批量严格更新填充
+     *
+     * @param tableInfo   cache 缓存
+     * @param entities    实体列表
+     * @param strictFills 填充信息
+     * @return this
+     * @since 3.5.9
+     */
+    default MetaObjectHandler strictUpdateFill(TableInfo tableInfo, List<?> entities, List<StrictFill<?, ?>> strictFills) {
+        return strictFill(false, tableInfo, entities, strictFills);
+    }
+
+    /**
+     * 批量严格填充, 规则同 {@link #strictFill(boolean, TableInfo, MetaObject, List)}
+     * <p>
+     * 填充字段只匹配一次, 然后通过属性访问器逐个实体填充(有值不覆盖, null 值不填充)
+     * </p>
+     *
+     * @param insertFill  是否验证在 insert 时填充
+     * @param tableInfo   cache 缓存
+     * @param entities    实体列表
+     * @param strictFills 填充信息
+     * @return this
+     * @since 3.5.9
+     */
+    default MetaObjectHandler strictFill(boolean insertFill, TableInfo tableInfo, List<?> entities, List<StrictFill<?, ?>> strictFills) {
+        if ((insertFill && tableInfo.isWithInsertFill()) || (!insertFill && tableInfo.isWithUpdateFill())) {
+            strictFills.forEach(i -> {
+                final String fieldName = i.getFieldName();
+                final Class<?> fieldType = i.getFieldType();
+                tableInfo.getFieldList().stream()
+                    .filter(j -> j.getProperty().equals(fieldName) && fieldType.equals(j.getPropertyType()) &&
+                        ((insertFill && j.isWithInsertFill()) || (!insertFill && j.isWithUpdateFill()))).findFirst()
+                    .ifPresent(j -> {
+                        PropertyAccessor accessor = j.getPropertyAccessor();
+                        for (Object entity : entities) {
+                            if (accessor.get(entity) == null) {
+                                Object obj = i.getFieldVal().get();
+                                if (Objects.nonNull(obj)) {
+                                    accessor.set(entity, obj);
+                                }
+                            }
+                        }
+                    });
+            });
+        }
+        return this;
+    }
+
     /**
      * 填充策略,默认有值不覆盖,如果提供的值为null也不填充
      *
@@ -35,8 +35,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -50,9 +51,23 @@ public final class MybatisEnumTypeHandler<E extends Enum<E>> extends BaseTypeHan
 
     private static final Map<String, String> TABLE_METHOD_OF_ENUM_TYPES = new ConcurrentHashMap<>();
     private static final ReflectorFactory REFLECTOR_FACTORY = new DefaultReflectorFactory();
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
     private final Class<E> enumClassType;
     private final Class<?> propertyType;
     private final Invoker getInvoker;
+    /**
+     * 枚举值字符串(trim) 与枚举的映射
+     *
+     * @since 3.5.9
+     */
+    private final Map<String, E> stringValueMap;
+    /**
+     * 数值类型枚举值(归一化后) 与枚举的映射
+     *
+     * @since 3.5.9
+     */
+    private final Map<Object, E> numberValueMap;
 
     public MybatisEnumTypeHandler(Class<E> enumClassType) {
         if (enumClassType == null) {
@@ -66,6 +81,17 @@ public final class MybatisEnumTypeHandler<E extends Enum<E>> extends BaseTypeHan
         }
         this.propertyType = ReflectionKit.resolvePrimitiveIfNecessary(metaClass.getGetterType(name));
         this.getInvoker = metaClass.getGetInvoker(name);
+        Map<String, E> stringValueMap = new HashMap<>();
+        Map<Object, E> numberValueMap = new HashMap<>();
+        for (E e : enumClassType.getEnumConstants()) {
+            Object value = getValue(e);
+            stringValueMap.putIfAbsent(StringUtils.toStringTrim(value), e);
+            if (value instanceof Number) {
+                numberValueMap.putIfAbsent(normalizeNumber((Number) value), e);
+            }
+        }
+        this.stringValueMap = Collections.unmodifiableMap(stringValueMap);
+        this.numberValueMap = Collections.unmodifiableMap(numberValueMap);
     }
 
     /**
@@ -140,27 +166,35 @@ public final class MybatisEnumTypeHandler<E extends Enum<E>> extends BaseTypeHan
         return this.valueOf(value);
     }
 
+    /**
+     * 查找枚举, 字符串值相等或数值相等即匹配, 同时匹配多个时取声明顺序靠前的
+     */
     private E valueOf(Object value) {
-        E[] es = this.enumClassType.getEnumConstants();
-        return Arrays.stream(es).filter((e) -> equalsValue(value, getValue(e))).findAny().orElse(null);
+        E e = this.stringValueMap.get(StringUtils.toStringTrim(value));
+        if (value instanceof Number && !this.numberValueMap.isEmpty() && (e == null || e.ordinal() > 0)) {
+            E n = this.numberValueMap.get(normalizeNumber((Number) value));
+            if (n != null && (e == null || n.ordinal() < e.ordinal())) {
+                e = n;
+            }
+        }
+        return e;
     }
 
     /**
-     * 值比较
+     * 数值归一化, 数值相等的结果 equals 相等
      *
-     * @param sourceValue 数据库字段值
-     * @param targetValue 当前枚举属性值
-     * @return 是否匹配
-     * @since 3.3.0
+     * @param number 数值
+     * @return 整数返回 Long, 否则返回去掉末尾 0 的 BigDecimal
      */
-    protected boolean equalsValue(Object sourceValue, Object targetValue) {
-        String sValue = StringUtils.toStringTrim(sourceValue);
-        String tValue = StringUtils.toStringTrim(targetValue);
-        if (sourceValue instanceof Number && targetValue instanceof Number
-            && new BigDecimal(sValue).compareTo(new BigDecimal(tValue)) == 0) {
-            return true;
+    private static Object normalizeNumber(Number number) {
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return number.longValue();
+        }
+        BigDecimal decimal = new BigDecimal(StringUtils.toStringTrim(number)).stripTrailingZeros();
+        if (decimal.scale() <= 0 && decimal.compareTo(LONG_MIN) >= 0 && decimal.compareTo(LONG_MAX) <= 0) {
+            return decimal.longValue();
         }
-        return Objects.equals(sValue, tValue);
+        return decimal;
     }
 
     private Object getValue(Object object) {
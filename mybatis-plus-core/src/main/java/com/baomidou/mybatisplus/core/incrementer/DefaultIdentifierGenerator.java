@@ -18,6 +18,7 @@ package com.baomidou.mybatisplus.core.incrementer;
 import com.baomidou.mybatisplus.core.toolkit.Sequence;
 
 import java.net.InetAddress;
+import java.util.List;
 
 /**
  * 默认生成器
@@ -56,6 +57,16 @@ public class DefaultIdentifierGenerator implements IdentifierGenerator {
         return sequence.nextId();
     }
 
+    @Override
+    public Number[] nextIds(List<?> entities) {
+        long[] ids = sequence.nextIds(entities.size());
+        Number[] result = new Number[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = ids[i];
+        }
+        return result;
+    }
+
     public static DefaultIdentifierGenerator getInstance() {
         return DefaultInstance.INSTANCE;
     }
@@ -19,6 +19,8 @@ package com.baomidou.mybatisplus.core.incrementer;
 import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 
+import java.util.List;
+
 
 /**
  * Id生成器接口
@@ -47,6 +49,21 @@ public interface IdentifierGenerator {
      */
     Number nextId(Object entity);
 
+    /**
+     * 批量生成Id
+     *
+     * @param entities 实体
+     * @return id, 与实体一一对应
+     * @since 3.5.9
+     */
+    default Number[] nextIds(List<?> entities) {
+        Number[] ids = new Number[entities.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = nextId(entities.get(i));
+        }
+        return ids;
+    }
+
     /**
      * 生成uuid
      *
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.incrementer;
+
+import com.baomidou.mybatisplus.annotation.KeySequence;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.reflect.PropertyAccessor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.ognl.OgnlOps;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 池化序列主键生成器
+ * <p>
+ * 每次从数据库序列获取一个值 v, 本地依次分配 [v, v + allocationSize), 用完后再获取下一个号段,
+ * 批量插入时 allocationSize 条记录只需要一次序列查询
+ * </p>
+ * <p>
+ * 数据库序列的步长(INCREMENT BY)必须与 {@link KeySequence#allocationSize()} 一致
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class PooledKeyGenerator implements KeyGenerator {
+
+    /**
+     * 获取序列值的查询
+     */
+    private final MappedStatement keyStatement;
+    private final TableInfo tableInfo;
+    private final int allocationSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * 下一个可分配的值
+     */
+    private long next;
+    /**
+     * 当前号段上限(不含)
+     */
+    private long limit;
+
+    public PooledKeyGenerator(MappedStatement keyStatement, TableInfo tableInfo, int allocationSize) {
+        Assert.isTrue(allocationSize > 0, "allocationSize must be greater than 0");
+        this.keyStatement = keyStatement;
+        this.tableInfo = tableInfo;
+        this.allocationSize = allocationSize;
+    }
+
+    @Override
+    public void processBefore(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
+        List<Object> entities = extractEntities(parameter);
+        if (entities.isEmpty()) {
+            return;
+        }
+        long[] ids = allocate(executor, parameter, entities.size());
+        PropertyAccessor keyAccessor = tableInfo.getPropertyAccessor(tableInfo.getKeyProperty());
+        Class<?> keyType = tableInfo.getKeyType();
+        for (int i = 0; i < ids.length; i++) {
+            keyAccessor.set(entities.get(i), OgnlOps.convertValue(ids[i], keyType));
+        }
+    }
+
+    @Override
+    public void processAfter(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
+        // do nothing
+    }
+
+    /**
+     * 分配主键, 号段不足时查询序列获取下一个号段
+     *
+     * @param executor  执行器
+     * @param parameter 参数
+     * @param n         数量
+     * @return 主键值
+     */
+    protected long[] allocate(Executor executor, Object parameter, int n) {
+        long[] ids = new long[n];
+        lock.lock();
+        try {
+            for (int i = 0; i < n; i++) {
+                if (next >= limit) {
+                    long value = nextValue(executor, parameter);
+                    next = value;
+                    limit = value + allocationSize;
+                }
+                ids[i] = next++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return ids;
+    }
+
+    /**
+     * 查询序列下一个值
+     *
+     * @param executor  执行器
+     * @param parameter 参数
+     * @return 序列值
+     */
+    protected long nextValue(Executor executor, Object parameter) {
+        try {
+            Executor keyExecutor = keyStatement.getConfiguration().newExecutor(executor.getTransaction(), ExecutorType.SIMPLE);
+            List<Object> values = keyExecutor.query(keyStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+            if (values.size() != 1 || !(values.get(0) instanceof Number)) {
+                throw ExceptionUtils.mpe("SelectKey returned no data or not a number: %s", keyStatement.getId());
+            }
+            return ((Number) values.get(0)).longValue();
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe("Error selecting key from sequence: %s", e, keyStatement.getId());
+        }
+    }
+
+    /**
+     * 提取需要分配主键的实体, 支持单个实体, et 参数与集合参数
+     *
+     * @param parameter 参数
+     * @return 实体列表
+     */
+    protected List<Object> extractEntities(Object parameter) {
+        Object value = parameter;
+        if (parameter instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) parameter;
+            if (map.containsKey(Constants.ENTITY)) {
+                value = map.get(Constants.ENTITY);
+            } else if (map.containsKey(Constants.LIST)) {
+                value = map.get(Constants.LIST);
+            } else if (map.containsKey(Constants.COLLECTION)) {
+                value = map.get(Constants.COLLECTION);
+            }
+        }
+        Class<?> entityType = tableInfo.getEntityType();
+        if (value instanceof Collection) {
+            List<Object> entities = new ArrayList<>(((Collection<?>) value).size());
+            for (Object entity : (Collection<?>) value) {
+                if (entityType.isInstance(entity)) {
+                    entities.add(entity);
+                }
+            }
+            return entities;
+        }
+        return entityType.isInstance(value) ? Collections.singletonList(value) : Collections.emptyList();
+    }
+}
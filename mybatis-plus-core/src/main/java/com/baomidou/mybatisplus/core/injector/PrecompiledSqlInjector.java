@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.injector;
+
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.injector.methods.Insert;
+import com.baomidou.mybatisplus.core.injector.methods.PrecompiledInsert;
+import com.baomidou.mybatisplus.core.injector.methods.PrecompiledUpdateById;
+import com.baomidou.mybatisplus.core.injector.methods.UpdateById;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 预编译 SQL 注入器
+ * <p>
+ * 在默认注入器的基础上, insert 与 updateById 使用预编译 sql 源, 按字段策略拼接时不执行 OGNL 表达式,
+ * 适用于字段较多的实体
+ * </p>
+ * <pre>
+ *     globalConfig.setSqlInjector(new PrecompiledSqlInjector());
+ * </pre>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class PrecompiledSqlInjector extends DefaultSqlInjector {
+
+    @Override
+    public List<AbstractMethod> getMethodList(Configuration configuration, Class<?> mapperClass, TableInfo tableInfo) {
+        GlobalConfig.DbConfig dbConfig = GlobalConfigUtils.getDbConfig(configuration);
+        return super.getMethodList(configuration, mapperClass, tableInfo).stream().map(method -> {
+            if (method.getClass() == Insert.class) {
+                return new PrecompiledInsert(dbConfig.isInsertIgnoreAutoIncrementColumn());
+            }
+            if (method.getClass() == UpdateById.class) {
+                return new PrecompiledUpdateById();
+            }
+            return method;
+        }).collect(toList());
+    }
+}
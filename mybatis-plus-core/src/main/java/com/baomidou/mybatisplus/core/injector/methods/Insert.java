@@ -79,11 +79,6 @@ public class Insert extends AbstractMethod {
     @Override
     public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
         KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
-        SqlMethod sqlMethod = SqlMethod.INSERT_ONE;
-        String columnScript = SqlScriptUtils.convertTrim(tableInfo.getAllInsertSqlColumnMaybeIf(null, ignoreAutoIncrementColumn),
-            LEFT_BRACKET, RIGHT_BRACKET, null, COMMA);
-        String valuesScript = LEFT_BRACKET + NEWLINE + SqlScriptUtils.convertTrim(tableInfo.getAllInsertSqlPropertyMaybeIf(null, ignoreAutoIncrementColumn),
-            null, null, null, COMMA) + NEWLINE + RIGHT_BRACKET;
         String keyProperty = null;
         String keyColumn = null;
         // 表包含主键处理逻辑,如果不包含主键当普通字段处理
@@ -100,8 +95,33 @@ public class Insert extends AbstractMethod {
                 keyColumn = tableInfo.getKeyColumn();
             }
         }
-        String sql = String.format(sqlMethod.getSql(), tableInfo.getTableName(), columnScript, valuesScript);
-        SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
+        SqlSource sqlSource = buildSqlSource(modelClass, tableInfo);
         return this.addInsertMappedStatement(mapperClass, modelClass, methodName, sqlSource, keyGenerator, keyProperty, keyColumn);
     }
+
+    /**
+     * 构建 sql 源
+     *
+     * @param modelClass 实体类
+     * @param tableInfo  表信息
+     * @return sql 源
+     * @since 3.5.9
+     */
+    protected SqlSource buildSqlSource(Class<?> modelClass, TableInfo tableInfo) {
+        SqlMethod sqlMethod = SqlMethod.INSERT_ONE;
+        String columnScript = SqlScriptUtils.convertTrim(tableInfo.getAllInsertSqlColumnMaybeIf(null, ignoreAutoIncrementColumn),
+            LEFT_BRACKET, RIGHT_BRACKET, null, COMMA);
+        String valuesScript = LEFT_BRACKET + NEWLINE + SqlScriptUtils.convertTrim(tableInfo.getAllInsertSqlPropertyMaybeIf(null, ignoreAutoIncrementColumn),
+            null, null, null, COMMA) + NEWLINE + RIGHT_BRACKET;
+        String sql = String.format(sqlMethod.getSql(), tableInfo.getTableName(), columnScript, valuesScript);
+        return super.createSqlSource(configuration, sql, modelClass);
+    }
+
+    /**
+     * @return 是否忽略自增长主键字段
+     * @since 3.5.9
+     */
+    protected boolean isIgnoreAutoIncrementColumn() {
+        return ignoreAutoIncrementColumn;
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.injector.methods;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 插入一条数据（选择字段插入）, 使用预编译 sql 源
+ * <p>
+ * 字段策略在 java 中判断, 不执行 OGNL 表达式, 字段包含 ${} 等无法预编译的内容时使用脚本
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class PrecompiledInsert extends Insert {
+
+    public PrecompiledInsert() {
+        super();
+    }
+
+    /**
+     * @param ignoreAutoIncrementColumn 是否忽略自增长主键字段
+     */
+    public PrecompiledInsert(boolean ignoreAutoIncrementColumn) {
+        super(ignoreAutoIncrementColumn);
+    }
+
+    /**
+     * @param name 方法名
+     */
+    public PrecompiledInsert(String name) {
+        super(name);
+    }
+
+    /**
+     * @param name                      方法名
+     * @param ignoreAutoIncrementColumn 是否忽略自增长主键字段
+     */
+    public PrecompiledInsert(String name, boolean ignoreAutoIncrementColumn) {
+        super(name, ignoreAutoIncrementColumn);
+    }
+
+    @Override
+    protected SqlSource buildSqlSource(Class<?> modelClass, TableInfo tableInfo) {
+        List<PrecompiledSqlSource.Fragment> fragments = new ArrayList<>();
+        if (tableInfo.havePK() && !(isIgnoreAutoIncrementColumn() && tableInfo.getIdType() == IdType.AUTO)) {
+            String script = SqlScriptUtils.safeParam(tableInfo.getKeyProperty());
+            if (tableInfo.getIdType() == IdType.AUTO) {
+                // 自增主键有值时才插入
+                fragments.add(PrecompiledSqlSource.notNull(configuration, modelClass, tableInfo.getKeyColumn(), script,
+                    tableInfo.getPropertyAccessor(tableInfo.getKeyProperty()), false));
+            } else {
+                fragments.add(PrecompiledSqlSource.always(configuration, modelClass, tableInfo.getKeyColumn(), script));
+            }
+        }
+        for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+            String script = SqlScriptUtils.safeParam(fieldInfo.getEl());
+            if (!PrecompiledSqlSource.isSupported(script)) {
+                return super.buildSqlSource(modelClass, tableInfo);
+            }
+            // 有插入填充的字段不判断
+            FieldStrategy strategy = fieldInfo.isWithInsertFill() ? FieldStrategy.ALWAYS : fieldInfo.getInsertStrategy();
+            PrecompiledSqlSource.Fragment fragment = PrecompiledSqlSource.of(configuration, modelClass, fieldInfo.getColumn(),
+                script, fieldInfo, strategy);
+            if (fragment != null) {
+                fragments.add(fragment);
+            }
+        }
+        String tableName = tableInfo.getTableName();
+        return new PrecompiledSqlSource(configuration, Function.identity(), fragments, included -> {
+            StringBuilder columns = new StringBuilder();
+            StringBuilder values = new StringBuilder();
+            for (PrecompiledSqlSource.Fragment fragment : included) {
+                if (columns.length() > 0) {
+                    columns.append(COMMA);
+                    values.append(COMMA);
+                }
+                columns.append(fragment.getColumn());
+                values.append(fragment.getSql());
+            }
+            return "INSERT INTO " + tableName + " (" + columns + ") VALUES (" + values + ")";
+        });
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.injector.methods;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.toolkit.reflect.PropertyAccessor;
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 预编译 sql 源
+ * <p>
+ * 注入时将每个片段解析为 sql 与参数映射, 执行时使用 java 代码判断字段策略后拼接, 不执行 OGNL 表达式.
+ * 片段不超过 64 个时按参与拼接的片段组合缓存结果, 组合最多缓存 {@link #MAX_CACHE_SIZE} 个, 超出后每次重新拼接
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+final class PrecompiledSqlSource implements SqlSource {
+
+    /**
+     * 片段组合缓存上限, 组合数量最多为 2^n, 避免可选字段较多时缓存无限增长
+     */
+    static final int MAX_CACHE_SIZE = 256;
+
+    private final Configuration configuration;
+    /**
+     * 从参数中获取实体
+     */
+    private final Function<Object, Object> entityGetter;
+    private final List<Fragment> fragments;
+    /**
+     * 根据参与拼接的片段生成 sql, 参数顺序需与片段顺序一致
+     */
+    private final Function<List<Fragment>, String> sqlBuilder;
+    private final Map<Long, Compiled> cache;
+
+    PrecompiledSqlSource(Configuration configuration, Function<Object, Object> entityGetter,
+                         List<Fragment> fragments, Function<List<Fragment>, String> sqlBuilder) {
+        this.configuration = configuration;
+        this.entityGetter = entityGetter;
+        this.fragments = fragments;
+        this.sqlBuilder = sqlBuilder;
+        this.cache = fragments.size() <= Long.SIZE ? new ConcurrentHashMap<>() : null;
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        Object entity = entityGetter.apply(parameterObject);
+        Compiled compiled;
+        if (cache != null) {
+            long mask = 0L;
+            for (int i = 0; i < fragments.size(); i++) {
+                if (fragments.get(i).test(entity)) {
+                    mask |= 1L << i;
+                }
+            }
+            compiled = cache.get(mask);
+            if (compiled == null) {
+                compiled = cache.size() < MAX_CACHE_SIZE ? cache.computeIfAbsent(mask, this::compile) : compile(mask);
+            }
+        } else {
+            List<Fragment> included = new ArrayList<>(fragments.size());
+            for (Fragment fragment : fragments) {
+                if (fragment.test(entity)) {
+                    included.add(fragment);
+                }
+            }
+            compiled = compile(included);
+        }
+        return new BoundSql(configuration, compiled.sql, new ArrayList<>(compiled.parameterMappings), parameterObject);
+    }
+
+    private Compiled compile(long mask) {
+        List<Fragment> included = new ArrayList<>(Long.bitCount(mask));
+        for (int i = 0; i < fragments.size(); i++) {
+            if ((mask & (1L << i)) != 0) {
+                included.add(fragments.get(i));
+            }
+        }
+        return compile(included);
+    }
+
+    private Compiled compile(List<Fragment> included) {
+        List<ParameterMapping> parameterMappings = new ArrayList<>();
+        included.forEach(fragment -> parameterMappings.addAll(fragment.parameterMappings));
+        return new Compiled(sqlBuilder.apply(included), Collections.unmodifiableList(parameterMappings));
+    }
+
+    /**
+     * 片段是否可以预编译, 包含 ${} 或者 xml 转义时交由脚本处理
+     *
+     * @param script sql 脚本片段
+     * @return 是否支持
+     */
+    static boolean isSupported(String script) {
+        return !script.contains("${") && !script.contains("<") && !script.contains("&");
+    }
+
+    /**
+     * 总是参与拼接的片段
+     */
+    static Fragment always(Configuration configuration, Class<?> parameterType, String column, String script) {
+        return parse(configuration, parameterType, column, script, null, false);
+    }
+
+    /**
+     * 根据字段策略参与拼接的片段
+     *
+     * @return 策略为 {@link FieldStrategy#NEVER} 时返回 null
+     */
+    static Fragment of(Configuration configuration, Class<?> parameterType, String column, String script,
+                       TableFieldInfo fieldInfo, FieldStrategy strategy) {
+        if (strategy == FieldStrategy.NEVER) {
+            return null;
+        }
+        if (fieldInfo.isPrimitive() || strategy == FieldStrategy.IGNORED || strategy == FieldStrategy.ALWAYS) {
+            return always(configuration, parameterType, column, script);
+        }
+        return parse(configuration, parameterType, column, script, fieldInfo.getPropertyAccessor(),
+            strategy == FieldStrategy.NOT_EMPTY && fieldInfo.isCharSequence());
+    }
+
+    /**
+     * 属性值不为 null 时参与拼接的片段
+     */
+    static Fragment notNull(Configuration configuration, Class<?> parameterType, String column, String script,
+                            PropertyAccessor accessor, boolean notEmpty) {
+        return parse(configuration, parameterType, column, script, accessor, notEmpty);
+    }
+
+    private static Fragment parse(Configuration configuration, Class<?> parameterType, String column, String script,
+                                  PropertyAccessor accessor, boolean notEmpty) {
+        BoundSql boundSql = new SqlSourceBuilder(configuration).parse(script, parameterType, Collections.emptyMap()).getBoundSql(null);
+        return new Fragment(column, boundSql.getSql(), boundSql.getParameterMappings(), accessor, notEmpty);
+    }
+
+    /**
+     * sql 片段
+     */
+    static final class Fragment {
+
+        /**
+         * 字段名, 非字段片段 (如条件) 为 null
+         */
+        private final String column;
+        private final String sql;
+        private final List<ParameterMapping> parameterMappings;
+        /**
+         * 判断的属性, 为 null 时总是参与拼接
+         */
+        private final PropertyAccessor accessor;
+        /**
+         * 字符串是否需要判断非空字符
+         */
+        private final boolean notEmpty;
+
+        private Fragment(String column, String sql, List<ParameterMapping> parameterMappings, PropertyAccessor accessor, boolean notEmpty) {
+            this.column = column;
+            this.sql = sql;
+            this.parameterMappings = parameterMappings;
+            this.accessor = accessor;
+            this.notEmpty = notEmpty;
+        }
+
+        private boolean test(Object entity) {
+            if (accessor == null) {
+                return true;
+            }
+            Object value = entity == null ? null : accessor.get(entity);
+            if (value == null) {
+                return false;
+            }
+            return !notEmpty || !(value instanceof CharSequence) || ((CharSequence) value).length() > 0;
+        }
+
+        String getColumn() {
+            return column;
+        }
+
+        String getSql() {
+            return sql;
+        }
+    }
+
+    private static final class Compiled {
+
+        private final String sql;
+        private final List<ParameterMapping> parameterMappings;
+
+        private Compiled(String sql, List<ParameterMapping> parameterMappings) {
+            this.sql = sql;
+            this.parameterMappings = parameterMappings;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.injector.methods;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 根据 ID 更新有值字段, 使用预编译 sql 源
+ * <p>
+ * 字段策略, 乐观锁与逻辑删除在 java 中判断, 不执行 OGNL 表达式, 字段包含 ${} 等无法预编译的内容时使用脚本
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class PrecompiledUpdateById extends UpdateById {
+
+    public PrecompiledUpdateById() {
+        super();
+    }
+
+    /**
+     * @param name 方法名
+     */
+    public PrecompiledUpdateById(String name) {
+        super(name);
+    }
+
+    @Override
+    protected SqlSource buildSqlSource(Class<?> modelClass, TableInfo tableInfo) {
+        Class<?> parameterType = MapperMethod.ParamMap.class;
+        List<PrecompiledSqlSource.Fragment> fragments = new ArrayList<>();
+        for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+            if (tableInfo.isWithLogicDelete() && fieldInfo.isLogicDelete()) {
+                continue;
+            }
+            String column = fieldInfo.getColumn();
+            String script = column + EQUALS + (StringUtils.isNotBlank(fieldInfo.getUpdate()) ?
+                String.format(fieldInfo.getUpdate(), column) : SqlScriptUtils.safeParam(ENTITY_DOT + fieldInfo.getEl()));
+            if (!PrecompiledSqlSource.isSupported(script)) {
+                return super.buildSqlSource(modelClass, tableInfo);
+            }
+            // 有更新填充的字段不判断
+            FieldStrategy strategy = fieldInfo.isWithUpdateFill() ? FieldStrategy.ALWAYS : fieldInfo.getUpdateStrategy();
+            PrecompiledSqlSource.Fragment fragment = PrecompiledSqlSource.of(configuration, parameterType, column,
+                script, fieldInfo, strategy);
+            if (fragment != null) {
+                fragments.add(fragment);
+            }
+        }
+        fragments.add(PrecompiledSqlSource.always(configuration, parameterType, null,
+            " WHERE " + tableInfo.getKeyColumn() + EQUALS + SqlScriptUtils.safeParam(ENTITY_DOT + tableInfo.getKeyProperty())));
+        if (tableInfo.isWithVersion()) {
+            TableFieldInfo versionFieldInfo = tableInfo.getVersionFieldInfo();
+            fragments.add(PrecompiledSqlSource.notNull(configuration, parameterType, null,
+                " AND " + versionFieldInfo.getColumn() + EQUALS + SqlScriptUtils.safeParam(MP_OPTLOCK_VERSION_ORIGINAL),
+                versionFieldInfo.getPropertyAccessor(), versionFieldInfo.isCharSequence()));
+        }
+        String prefix = "UPDATE " + tableInfo.getTableName() + " SET ";
+        String logicDeleteSql = tableInfo.getLogicDeleteSql(true, true);
+        return new PrecompiledSqlSource(configuration, parameter -> ((Map<?, ?>) parameter).get(ENTITY), fragments, included -> {
+            StringBuilder sql = new StringBuilder(prefix);
+            boolean first = true;
+            for (PrecompiledSqlSource.Fragment fragment : included) {
+                if (fragment.getColumn() == null) {
+                    sql.append(fragment.getSql());
+                } else {
+                    if (!first) {
+                        sql.append(COMMA);
+                    }
+                    sql.append(fragment.getSql());
+                    first = false;
+                }
+            }
+            return sql.append(logicDeleteSql).toString();
+        });
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.injector.methods;
+
+import com.baomidou.mybatisplus.core.conditions.query.PreparedQuery;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * 根据预编译查询模板查询数据
+ * <p>
+ * sql 由同一 mapper 的 selectList 方法生成一次后缓存在 {@link PreparedQuery} 中, 执行时只绑定参数
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class SelectPreparedList extends AbstractMethod {
+
+    /**
+     * 生成 sql 的查询方法名
+     */
+    private final String selectListMethod;
+
+    public SelectPreparedList() {
+        this(SqlMethod.SELECT_PREPARED_LIST.getMethod());
+    }
+
+    /**
+     * @param name 方法名
+     */
+    public SelectPreparedList(String name) {
+        this(name, SqlMethod.SELECT_LIST.getMethod());
+    }
+
+    /**
+     * @param name             方法名
+     * @param selectListMethod 生成 sql 的查询方法名
+     */
+    public SelectPreparedList(String name, String selectListMethod) {
+        super(name);
+        this.selectListMethod = selectListMethod;
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        Configuration configuration = this.configuration;
+        String statementId = mapperClass.getName() + StringPool.DOT + selectListMethod;
+        SqlSource sqlSource = parameterObject -> ((PreparedQuery.Bound<?>) parameterObject).getBoundSql(configuration, statementId);
+        return this.addSelectMappedStatementForTable(mapperClass, methodName, sqlSource, tableInfo);
+    }
+}
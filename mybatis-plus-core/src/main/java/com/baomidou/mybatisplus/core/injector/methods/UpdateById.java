@@ -43,12 +43,24 @@ public class UpdateById extends AbstractMethod {
 
     @Override
     public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        SqlSource sqlSource = buildSqlSource(modelClass, tableInfo);
+        return addUpdateMappedStatement(mapperClass, modelClass, methodName, sqlSource);
+    }
+
+    /**
+     * 构建 sql 源
+     *
+     * @param modelClass 实体类
+     * @param tableInfo  表信息
+     * @return sql 源
+     * @since 3.5.9
+     */
+    protected SqlSource buildSqlSource(Class<?> modelClass, TableInfo tableInfo) {
         SqlMethod sqlMethod = SqlMethod.UPDATE_BY_ID;
         final String additional = optlockVersion(tableInfo) + tableInfo.getLogicDeleteSql(true, true);
         String sql = String.format(sqlMethod.getSql(), tableInfo.getTableName(),
             sqlSet(tableInfo.isWithLogicDelete(), false, tableInfo, false, ENTITY, ENTITY_DOT),
             tableInfo.getKeyColumn(), ENTITY_DOT + tableInfo.getKeyProperty(), additional);
-        SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
-        return addUpdateMappedStatement(mapperClass, modelClass, methodName, sqlSource);
+        return super.createSqlSource(configuration, sql, modelClass);
     }
 }
@@ -18,6 +18,7 @@ package com.baomidou.mybatisplus.core.mapper;
 import com.baomidou.mybatisplus.core.batch.BatchSqlSession;
 import com.baomidou.mybatisplus.core.batch.MybatisBatch;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.PreparedQuery;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
@@ -38,6 +39,7 @@ import org.apache.ibatis.session.SqlSessionFactory;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -394,6 +396,25 @@ public interface BaseMapper<T> extends Mapper<T> {
      */
     void selectList(IPage<T> page, @Param(Constants.WRAPPER) Wrapper<T> queryWrapper, ResultHandler<T> resultHandler);
 
+    /**
+     * 根据预编译查询模板，查询全部记录
+     *
+     * @param query 绑定参数后的预编译查询模板
+     * @since 3.5.9
+     */
+    List<T> selectPreparedList(PreparedQuery.Bound<T> query);
+
+    /**
+     * 根据预编译查询模板，查询全部记录
+     *
+     * @param query  预编译查询模板
+     * @param values 按照 {@link PreparedQuery#bind()} 顺序传入的参数
+     * @since 3.5.9
+     */
+    default List<T> selectList(PreparedQuery<T> query, Object... values) {
+        return selectPreparedList(query.with(values));
+    }
+
 
     /**
      * 根据 Wrapper 条件，查询全部记录
@@ -511,6 +532,20 @@ public interface BaseMapper<T> extends Mapper<T> {
         return MybatisBatchUtils.execute(sqlSessionFactory, entityList, method.insert(), batchSize);
     }
 
+    /**
+     * 插入（流式批量）, 按批次从迭代器拉取数据, 适用于大数据量导入
+     *
+     * @param entityIterator 实体迭代器 (Stream 可使用 stream.iterator())
+     * @param batchSize      插入批次数量
+     * @since 3.5.9
+     */
+    default List<BatchResult> insert(Iterator<T> entityIterator, int batchSize) {
+        MybatisMapperProxy<?> mybatisMapperProxy = MybatisUtils.getMybatisMapperProxy(this);
+        MybatisBatch.Method<T> method = new MybatisBatch.Method<>(mybatisMapperProxy.getMapperInterface());
+        SqlSessionFactory sqlSessionFactory = MybatisUtils.getSqlSessionFactory(mybatisMapperProxy);
+        return MybatisBatchUtils.execute(sqlSessionFactory, entityIterator, method.insert(), batchSize);
+    }
+
     /**
      * 根据ID 批量更新
      *
@@ -547,6 +582,9 @@ public interface BaseMapper<T> extends Mapper<T> {
 
     /**
      * 批量修改或插入
+     * <p>
+     * 注入了 {@code upsertBatch} 方法 (例如 UpsertBatch) 时使用数据库原生多行 upsert, 每批次一条语句
+     * </p>
      *
      * @param entityList 实体对象集合
      * @param batchSize  插入批次数量
@@ -557,7 +595,22 @@ public interface BaseMapper<T> extends Mapper<T> {
         Class<?> entityClass = GenericTypeUtils.resolveTypeArguments(getClass(), BaseMapper.class)[0];
         TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
         String keyProperty = tableInfo.getKeyProperty();
-        String statement = mybatisMapperProxy.getMapperInterface().getName() + StringPool.DOT + SqlMethod.SELECT_BY_ID.getMethod();
+        Assert.notEmpty(keyProperty, "error: can not execute. because can not find column for id from entity!");
+        String namespace = mybatisMapperProxy.getMapperInterface().getName();
+        SqlSessionFactory sqlSessionFactory = MybatisUtils.getSqlSessionFactory(mybatisMapperProxy);
+        String upsertBatchStatement = namespace + StringPool.DOT + SqlMethod.UPSERT_BATCH.getMethod();
+        if (sqlSessionFactory.getConfiguration().hasStatement(upsertBatchStatement, false)) {
+            // 注入了多行原生 upsert 方法时一条语句完成一批
+            return new MybatisBatch<>(sqlSessionFactory, entityList, batchSize).upsert(false, upsertBatchStatement, tableInfo);
+        }
+        String selectObjsStatement = namespace + StringPool.DOT + SqlMethod.SELECT_OBJS.getMethod();
+        if (sqlSessionFactory.getConfiguration().hasStatement(selectObjsStatement, false)) {
+            // 每批次一次主键 IN 查询判断是否存在
+            MybatisBatch.Method<T> method = new MybatisBatch.Method<>(mybatisMapperProxy.getMapperInterface());
+            return new MybatisBatch<>(sqlSessionFactory, entityList, batchSize)
+                .saveOrUpdate(false, method.insert(), method.updateById(), tableInfo, selectObjsStatement);
+        }
+        String statement = namespace + StringPool.DOT + SqlMethod.SELECT_BY_ID.getMethod();
         return insertOrUpdate(entityList, (sqlSession, entity) -> {
             Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
             return StringUtils.checkValNull(idVal) || CollectionUtils.isEmpty(sqlSession.selectList(statement, entity));
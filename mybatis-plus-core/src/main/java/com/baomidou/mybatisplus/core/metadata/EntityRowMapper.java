@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.metadata;
+
+import com.baomidou.mybatisplus.core.toolkit.reflect.PropertyAccessor;
+import org.apache.ibatis.executor.resultset.ResultSetWrapper;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.session.AutoMappingBehavior;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实体结果集快速映射
+ * <p>
+ * 按结果集的列结构(列名与类型)缓存列下标、属性访问器与 TypeHandler,
+ * 逐行映射时不再创建 MetaObject 和按列名查找, 映射规则与 MyBatis 自动映射一致
+ * </p>
+ * <p>
+ * 只支持无嵌套映射、无鉴别器、无构造器映射的 resultMap, 通过 {@link com.baomidou.mybatisplus.annotation.TableName#fastResultMapping()} 开启
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class EntityRowMapper {
+
+    /**
+     * 无法快速映射的列结构
+     */
+    private static final Shape UNSUPPORTED = new Shape(new int[0], new TypeHandler<?>[0], new PropertyAccessor[0], new boolean[0]);
+
+    private final TableInfo tableInfo;
+    private final ResultMap resultMap;
+    private final Configuration configuration;
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+
+    EntityRowMapper(TableInfo tableInfo, ResultMap resultMap) {
+        this.tableInfo = tableInfo;
+        this.resultMap = resultMap;
+        this.configuration = tableInfo.getConfiguration();
+    }
+
+    /**
+     * 判断 resultMap 是否支持快速映射
+     *
+     * @param tableInfo 表信息
+     * @param resultMap resultMap
+     * @return 是否支持
+     */
+    public static boolean isSupported(TableInfo tableInfo, ResultMap resultMap) {
+        if (resultMap.hasNestedResultMaps() || resultMap.hasNestedQueries() || resultMap.getDiscriminator() != null
+            || !resultMap.getConstructorResultMappings().isEmpty() || !tableInfo.getReflector().hasDefaultConstructor()) {
+            return false;
+        }
+        for (ResultMapping mapping : resultMap.getPropertyResultMappings()) {
+            String property = mapping.getProperty();
+            if (mapping.getColumn() == null || property == null || mapping.isCompositeResult()
+                || mapping.getResultSet() != null || mapping.getColumnPrefix() != null
+                || property.indexOf('.') >= 0 || !tableInfo.getReflector().hasSetter(property)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 映射结果集
+     *
+     * @param mappedStatement MappedStatement
+     * @param rs              结果集
+     * @param rowBounds       分页参数
+     * @return 结果列表, 列结构不支持快速映射时返回 null (未读取任何行)
+     * @throws SQLException SQLException
+     */
+    public List<Object> handleResultSet(MappedStatement mappedStatement, ResultSet rs, RowBounds rowBounds) throws SQLException {
+        Shape shape = getShape(mappedStatement, rs);
+        if (shape == UNSUPPORTED) {
+            return null;
+        }
+        skipRows(rs, rowBounds);
+        ObjectFactory objectFactory = configuration.getObjectFactory();
+        boolean callSettersOnNulls = configuration.isCallSettersOnNulls();
+        boolean returnInstanceForEmptyRow = configuration.isReturnInstanceForEmptyRow();
+        Class<?> type = resultMap.getType();
+        int[] indexes = shape.indexes;
+        TypeHandler<?>[] typeHandlers = shape.typeHandlers;
+        PropertyAccessor[] accessors = shape.accessors;
+        boolean[] primitives = shape.primitives;
+        List<Object> list = new ArrayList<>();
+        int limit = rowBounds.getLimit();
+        while (list.size() < limit && !rs.isClosed() && rs.next()) {
+            Object row = objectFactory.create(type);
+            boolean foundValues = false;
+            for (int i = 0; i < indexes.length; i++) {
+                Object value = typeHandlers[i].getResult(rs, indexes[i]);
+                if (value != null) {
+                    foundValues = true;
+                }
+                if (value != null || (callSettersOnNulls && !primitives[i])) {
+                    accessors[i].set(row, value);
+                }
+            }
+            list.add(foundValues || returnInstanceForEmptyRow ? row : null);
+        }
+        return list;
+    }
+
+    private void skipRows(ResultSet rs, RowBounds rowBounds) throws SQLException {
+        int offset = rowBounds.getOffset();
+        if (rs.getType() != ResultSet.TYPE_FORWARD_ONLY) {
+            if (offset != RowBounds.NO_ROW_OFFSET) {
+                rs.absolute(offset);
+            }
+        } else {
+            for (int i = 0; i < offset; i++) {
+                if (!rs.next()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private Shape getShape(MappedStatement mappedStatement, ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        boolean useColumnLabel = configuration.isUseColumnLabel();
+        StringBuilder key = new StringBuilder();
+        for (int i = 1, count = metaData.getColumnCount(); i <= count; i++) {
+            key.append(useColumnLabel ? metaData.getColumnLabel(i) : metaData.getColumnName(i))
+                .append(':').append(metaData.getColumnType(i))
+                .append(':').append(metaData.getColumnClassName(i)).append(',');
+        }
+        String shapeKey = key.toString();
+        Shape shape = shapes.get(shapeKey);
+        if (shape == null) {
+            shape = resolveShape(mappedStatement, new ResultSetWrapper(rs, configuration));
+            shapes.putIfAbsent(shapeKey, shape);
+        }
+        return shape;
+    }
+
+    /**
+     * 按 MyBatis 的规则解析列映射: 先自动映射未在 resultMap 中声明的列, 再映射 resultMap 中声明的列
+     */
+    private Shape resolveShape(MappedStatement mappedStatement, ResultSetWrapper rsw) {
+        Reflector reflector = tableInfo.getReflector();
+        TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        List<String> columnNames = rsw.getColumnNames();
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 0; i < columnNames.size(); i++) {
+            columnIndexes.putIfAbsent(columnNames.get(i).toUpperCase(Locale.ENGLISH), i + 1);
+        }
+        List<Integer> indexes = new ArrayList<>();
+        List<TypeHandler<?>> typeHandlers = new ArrayList<>();
+        List<String> properties = new ArrayList<>();
+        Boolean autoMapping = resultMap.getAutoMapping();
+        if (autoMapping == null ? configuration.getAutoMappingBehavior() != AutoMappingBehavior.NONE : autoMapping) {
+            for (int i = 0; i < columnNames.size(); i++) {
+                String columnName = columnNames.get(i);
+                if (resultMap.getMappedColumns().contains(columnName.toUpperCase(Locale.ENGLISH))) {
+                    continue;
+                }
+                if (columnName.indexOf('.') >= 0 || columnName.indexOf('[') >= 0) {
+                    // 嵌套属性交给 MyBatis 处理
+                    return UNSUPPORTED;
+                }
+                String property = reflector.findPropertyName(configuration.isMapUnderscoreToCamelCase() ? columnName.replace("_", "") : columnName);
+                if (property != null && reflector.hasSetter(property)) {
+                    if (resultMap.getMappedProperties().contains(property)) {
+                        continue;
+                    }
+                    Class<?> propertyType = reflector.getSetterType(property);
+                    if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
+                        indexes.add(i + 1);
+                        typeHandlers.add(rsw.getTypeHandler(propertyType, columnName));
+                        properties.add(property);
+                    } else {
+                        configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName, property, propertyType);
+                    }
+                } else {
+                    configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName,
+                        property != null ? property : columnName, null);
+                }
+            }
+        }
+        for (ResultMapping mapping : resultMap.getPropertyResultMappings()) {
+            Integer index = columnIndexes.get(mapping.getColumn().toUpperCase(Locale.ENGLISH));
+            if (index != null) {
+                indexes.add(index);
+                typeHandlers.add(mapping.getTypeHandler());
+                properties.add(mapping.getProperty());
+            }
+        }
+        int size = indexes.size();
+        int[] indexArray = new int[size];
+        PropertyAccessor[] accessors = new PropertyAccessor[size];
+        boolean[] primitives = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            String property = properties.get(i);
+            indexArray[i] = indexes.get(i);
+            accessors[i] = tableInfo.getPropertyAccessor(property);
+            primitives[i] = reflector.getSetterType(property).isPrimitive();
+        }
+        return new Shape(indexArray, typeHandlers.toArray(new TypeHandler<?>[0]), accessors, primitives);
+    }
+
+    /**
+     * 一种结果集列结构对应的映射关系
+     */
+    private static final class Shape {
+
+        private final int[] indexes;
+        private final TypeHandler<?>[] typeHandlers;
+        private final PropertyAccessor[] accessors;
+        private final boolean[] primitives;
+
+        private Shape(int[] indexes, TypeHandler<?>[] typeHandlers, PropertyAccessor[] accessors, boolean[] primitives) {
+            this.indexes = indexes;
+            this.typeHandlers = typeHandlers;
+            this.accessors = accessors;
+            this.primitives = primitives;
+        }
+    }
+}
@@ -65,6 +65,30 @@ public interface IPage<T> extends Serializable {
         return true;
     }
 
+    /**
+     * 使用窗口函数 COUNT(*) OVER() 在分页查询中同时获取总数, 省去单独的 count 查询【 默认: false 】
+     * <p>
+     * 需要分页方言支持, 不满足条件时仍进行 count 查询
+     *
+     * @return true 是 / false 否
+     * @since 3.5.9
+     */
+    default boolean windowCount() {
+        return false;
+    }
+
+    /**
+     * 深分页使用延迟关联: 先按条件分页查询主键, 再关联回表查询整行【 默认: false 】
+     * <p>
+     * 仅对单表且有主键的查询生效, 不满足条件时使用普通分页
+     *
+     * @return true 是 / false 否
+     * @since 3.5.9
+     */
+    default boolean deferredJoin() {
+        return false;
+    }
+
     /**
      * 计算当前分页偏移量
      */
@@ -21,6 +21,7 @@ import com.baomidou.mybatisplus.core.handlers.IJsonTypeHandler;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.MybatisUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.core.toolkit.reflect.PropertyAccessor;
 import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
 import lombok.*;
 import org.apache.ibatis.mapping.ResultMapping;
@@ -68,6 +69,23 @@ public class TableFieldInfo implements Constants {
      * 属性类型
      */
     private final Class<?> propertyType;
+    /**
+     * 属性访问器
+     *
+     * @since 3.5.9
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final PropertyAccessor propertyAccessor;
+    /**
+     * 字段访问器 (直接读写字段, 首次使用时创建)
+     *
+     * @since 3.5.9
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile PropertyAccessor fieldAccessor;
     /**
      * 是否是基本数据类型
      *
@@ -201,6 +219,7 @@ public class TableFieldInfo implements Constants {
         this.version = globalConfig.getAnnotationHandler().isAnnotationPresent(field, Version.class);
         this.property = field.getName();
         this.propertyType = reflector.getGetterType(this.property);
+        this.propertyAccessor = tableInfo.getPropertyAccessor(this.property);
         this.isPrimitive = this.propertyType.isPrimitive();
         this.isCharSequence = StringUtils.isCharSequence(this.propertyType);
         this.fieldFill = tableField.fill();
@@ -331,6 +350,7 @@ public class TableFieldInfo implements Constants {
         this.version = globalConfig.getAnnotationHandler().isAnnotationPresent(field, Version.class);
         this.property = field.getName();
         this.propertyType = reflector.getGetterType(this.property);
+        this.propertyAccessor = tableInfo.getPropertyAccessor(this.property);
         this.isPrimitive = this.propertyType.isPrimitive();
         this.isCharSequence = StringUtils.isCharSequence(this.propertyType);
         this.el = this.property;
@@ -419,6 +439,21 @@ public class TableFieldInfo implements Constants {
         }
     }
 
+    /**
+     * 获取字段访问器, 直接读写字段, 不经过 getter/setter (例如乐观锁字段)
+     *
+     * @return 字段访问器
+     * @since 3.5.9
+     */
+    public PropertyAccessor getFieldAccessor() {
+        PropertyAccessor accessor = this.fieldAccessor;
+        if (accessor == null) {
+            accessor = PropertyAccessor.of(this.field);
+            this.fieldAccessor = accessor;
+        }
+        return accessor;
+    }
+
     /**
      * 获取 insert 时候插入值 sql 脚本片段
      * <p>insert into table (字段) values (值)</p>
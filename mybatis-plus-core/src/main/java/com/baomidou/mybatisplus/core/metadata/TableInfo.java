@@ -18,11 +18,14 @@ package com.baomidou.mybatisplus.core.metadata;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.KeySequence;
 import com.baomidou.mybatisplus.core.toolkit.*;
+import com.baomidou.mybatisplus.core.toolkit.reflect.PropertyAccessor;
 import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import org.apache.ibatis.mapping.ResultFlag;
 import org.apache.ibatis.mapping.ResultMap;
@@ -31,6 +34,7 @@ import org.apache.ibatis.reflection.Reflector;
 import org.apache.ibatis.session.Configuration;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -67,6 +71,12 @@ public class TableInfo implements Constants {
      * 是否是需要自动生成的 resultMap
      */
     private boolean autoInitResultMap;
+    /**
+     * 是否使用快速结果集映射
+     *
+     * @since 3.5.9
+     */
+    private boolean fastResultMapping;
     /**
      * 主键是否有存在字段名与属性名关联
      * <p>true: 表示要进行 as</p>
@@ -184,6 +194,28 @@ public class TableInfo implements Constants {
     @Getter
     private Reflector reflector;
 
+    /**
+     * 属性访问器, 主键与字段在初始化时生成
+     *
+     * @since 3.5.9
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<String, PropertyAccessor> propertyAccessors = new ConcurrentHashMap<>();
+
+    /**
+     * 快速结果集映射器, key 为 resultMap id
+     *
+     * @since 3.5.9
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<String, EntityRowMapper> rowMappers = new ConcurrentHashMap<>();
+
     /**
      * @param configuration 配置对象
      * @param entityType    实体类型
@@ -558,11 +590,7 @@ public class TableInfo implements Constants {
      * @since 3.4.4
      */
     public Object getPropertyValue(Object entity, String property) {
-        try {
-            return this.reflector.getGetInvoker(property).invoke(entity, null);
-        } catch (ReflectiveOperationException e) {
-            throw ExceptionUtils.mpe("Error: Cannot read property in %s.  Cause:", e, entity.getClass().getSimpleName());
-        }
+        return getPropertyAccessor(property).get(entity);
     }
 
     /**
@@ -574,6 +602,10 @@ public class TableInfo implements Constants {
      * @since 3.4.4
      */
     public void setPropertyValue(Object entity, String property, Object... values) {
+        if (values != null && values.length == 1) {
+            getPropertyAccessor(property).set(entity, values[0]);
+            return;
+        }
         try {
             this.reflector.getSetInvoker(property).invoke(entity, values);
         } catch (ReflectiveOperationException e) {
@@ -581,6 +613,39 @@ public class TableInfo implements Constants {
         }
     }
 
+    /**
+     * 获取属性访问器
+     *
+     * @param property 属性名
+     * @return 属性访问器
+     * @since 3.5.9
+     */
+    public PropertyAccessor getPropertyAccessor(String property) {
+        PropertyAccessor accessor = propertyAccessors.get(property);
+        if (accessor == null) {
+            accessor = propertyAccessors.computeIfAbsent(property, p -> PropertyAccessor.of(reflector, p));
+        }
+        return accessor;
+    }
+
+    /**
+     * 获取快速结果集映射器
+     *
+     * @param resultMap 查询使用的 resultMap
+     * @return 未开启快速映射或 resultMap 不支持时返回 null
+     * @since 3.5.9
+     */
+    public EntityRowMapper getRowMapper(ResultMap resultMap) {
+        if (!fastResultMapping || resultMap.getType() != entityType) {
+            return null;
+        }
+        EntityRowMapper rowMapper = rowMappers.get(resultMap.getId());
+        if (rowMapper == null && EntityRowMapper.isSupported(this, resultMap)) {
+            rowMapper = rowMappers.computeIfAbsent(resultMap.getId(), k -> new EntityRowMapper(this, resultMap));
+        }
+        return rowMapper;
+    }
+
     /**
      * 创建实例
      *
@@ -20,6 +20,7 @@ import com.baomidou.mybatisplus.core.config.GlobalConfig;
 import com.baomidou.mybatisplus.core.handlers.AnnotationHandler;
 import com.baomidou.mybatisplus.core.handlers.PostInitTableInfoHandler;
 import com.baomidou.mybatisplus.core.incrementer.IKeyGenerator;
+import com.baomidou.mybatisplus.core.incrementer.PooledKeyGenerator;
 import com.baomidou.mybatisplus.core.toolkit.*;
 import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.apache.ibatis.builder.StaticSqlSource;
@@ -226,6 +227,7 @@ public class TableInfoHelper {
                 tableInfo.setResultMap(table.resultMap());
             }
             tableInfo.setAutoInitResultMap(table.autoResultMap());
+            tableInfo.setFastResultMapping(table.fastResultMapping());
             String[] ep = table.excludeProperty();
             String[] ip = table.properties();
             if (ArrayUtils.isNotEmpty(ip)) {
@@ -362,6 +364,9 @@ public class TableInfoHelper {
         /* 未发现主键注解，提示警告信息 */
         if (!isReadPK) {
             logger.warn(String.format("Can not find table primary key in Class: \"%s\".", clazz.getName()));
+        } else {
+            /* 主键属性访问器 */
+            tableInfo.getPropertyAccessor(tableInfo.getKeyProperty());
         }
     }
 
@@ -608,9 +613,9 @@ public class TableInfoHelper {
             throw new IllegalArgumentException("not configure IKeyGenerator implementation class.");
         }
         IKeyGenerator keyGenerator = null;
+        KeySequence keySequence = tableInfo.getKeySequence();
         if (keyGenerators.size() > 1) {
             // 多个主键生成器
-            KeySequence keySequence = tableInfo.getKeySequence();
             if (null != keySequence && DbType.OTHER != keySequence.dbType()) {
                 keyGenerator = keyGenerators.stream().filter(k -> k.dbType() == keySequence.dbType()).findFirst().orElse(null);
             }
@@ -621,13 +626,18 @@ public class TableInfoHelper {
         }
         Configuration configuration = builderAssistant.getConfiguration();
         String id = builderAssistant.getCurrentNamespace() + StringPool.DOT + baseStatementId + SelectKeyGenerator.SELECT_KEY_SUFFIX;
-        ResultMap resultMap = new ResultMap.Builder(builderAssistant.getConfiguration(), id, tableInfo.getKeyType(), new ArrayList<>()).build();
+        // 池化分配时序列值统一按 Long 读取, 由生成器转换为主键类型
+        boolean pooled = keySequence.allocationSize() > 1;
+        ResultMap resultMap = new ResultMap.Builder(builderAssistant.getConfiguration(), id, pooled ? Long.class : tableInfo.getKeyType(), new ArrayList<>()).build();
         MappedStatement mappedStatement = new MappedStatement.Builder(builderAssistant.getConfiguration(), id,
-            new StaticSqlSource(configuration, keyGenerator.executeSql(tableInfo.getKeySequence().value())), SqlCommandType.SELECT)
+            new StaticSqlSource(configuration, keyGenerator.executeSql(keySequence.value())), SqlCommandType.SELECT)
             .keyProperty(tableInfo.getKeyProperty())
             .resultMaps(Collections.singletonList(resultMap))
             .build();
         configuration.addMappedStatement(mappedStatement);
+        if (pooled) {
+            return new PooledKeyGenerator(mappedStatement, tableInfo, keySequence.allocationSize());
+        }
         return new SelectKeyGenerator(mappedStatement, true);
     }
 
@@ -42,6 +42,13 @@ public class IdWorker {
      */
     public static final DateTimeFormatter MILLISECOND = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * UUIDv7 每个线程的状态: [毫秒时间戳, 毫秒内计数]
+     */
+    private static final ThreadLocal<long[]> UUID_V7_STATE = ThreadLocal.withInitial(() -> new long[2]);
+
     /**
      * 获取唯一ID
      *
@@ -121,4 +128,59 @@ public class IdWorker {
         ThreadLocalRandom random = ThreadLocalRandom.current();
         return new UUID(random.nextLong(), random.nextLong()).toString().replace(StringPool.DASH, StringPool.EMPTY);
     }
+
+    /**
+     * 获取时间有序的 UUIDv7 (RFC 9562)
+     * <p>
+     * 高 48 位为毫秒时间戳, 12 位 rand_a 作为同一线程毫秒内的递增计数(起始值随机), 其余为随机数,
+     * 随机数来源于 ThreadLocalRandom, 多线程生成互不竞争
+     * </p>
+     *
+     * @return UUIDv7
+     * @since 3.5.9
+     */
+    public static UUID getUUIDv7() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] state = UUID_V7_STATE.get();
+        long timestamp = System.currentTimeMillis();
+        long counter;
+        if (timestamp > state[0]) {
+            // 新的毫秒, 计数从低半区随机开始, 给毫秒内递增留出空间
+            counter = random.nextInt(0x800);
+        } else {
+            // 同一毫秒或时钟回拨, 沿用上次时间戳保证单调递增
+            timestamp = state[0];
+            counter = state[1] + 1;
+            if (counter > 0xFFF) {
+                timestamp++;
+                counter = 0;
+            }
+        }
+        state[0] = timestamp;
+        state[1] = counter;
+        long msb = (timestamp << 16) | 0x7000L | counter;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * 获取时间有序的 UUIDv7 去掉"-", 按字符串排序与生成顺序一致
+     *
+     * @return 32 位小写十六进制字符串
+     * @since 3.5.9
+     */
+    public static String get32UUIDv7() {
+        UUID uuid = getUUIDv7();
+        char[] chars = new char[32];
+        toHex(uuid.getMostSignificantBits(), chars, 0);
+        toHex(uuid.getLeastSignificantBits(), chars, 16);
+        return new String(chars);
+    }
+
+    private static void toHex(long value, char[] chars, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
 }
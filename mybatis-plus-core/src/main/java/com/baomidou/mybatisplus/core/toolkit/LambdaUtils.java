@@ -18,12 +18,14 @@ package com.baomidou.mybatisplus.core.toolkit;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.support.*;
+import org.apache.ibatis.reflection.property.PropertyNamer;
 
 import java.lang.invoke.SerializedLambda;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Locale.ENGLISH;
 
@@ -40,6 +42,16 @@ public final class LambdaUtils {
      */
     private static final Map<String, Map<String, ColumnCache>> COLUMN_CACHE_MAP = new ConcurrentHashMap<>();
 
+    /**
+     * lambda 类对应的元信息, 随 lambda 类卸载
+     */
+    private static final ClassValue<AtomicReference<CachedLambdaMeta>> LAMBDA_META_CACHE = new ClassValue<AtomicReference<CachedLambdaMeta>>() {
+        @Override
+        protected AtomicReference<CachedLambdaMeta> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
     /**
      * 该缓存可能会在任意不定的时间被清除
      *
@@ -52,17 +64,57 @@ public final class LambdaUtils {
         if (func instanceof Proxy) {
             return new IdeaProxyLambdaMeta((Proxy) func);
         }
-        // 2. 反射读取
+        // 2. 同一个 lambda 类的元信息不变, 只解析一次
+        AtomicReference<CachedLambdaMeta> reference = LAMBDA_META_CACHE.get(func.getClass());
+        CachedLambdaMeta meta = reference.get();
+        if (meta == null) {
+            meta = new CachedLambdaMeta(resolve(func));
+            reference.set(meta);
+        }
+        return meta;
+    }
+
+    private static <T> LambdaMeta resolve(SFunction<T, ?> func) {
+        // 1. 反射读取
         try {
             Method method = func.getClass().getDeclaredMethod("writeReplace");
             method.setAccessible(true);
             return new ReflectLambdaMeta((SerializedLambda) method.invoke(func), func.getClass().getClassLoader());
         } catch (Throwable e) {
-            // 3. 反射失败使用序列化的方式读取
+            // 2. 反射失败使用序列化的方式读取
             return new ShadowLambdaMeta(com.baomidou.mybatisplus.core.toolkit.support.SerializedLambda.extract(func));
         }
     }
 
+    /**
+     * 获取 lambda 对应属性的列信息
+     *
+     * @param meta      lambda 元信息
+     * @param columnMap 实体字段映射
+     * @return 列信息, 不存在时返回 null
+     * @since 3.5.9
+     */
+    public static ColumnCache getColumnCache(LambdaMeta meta, Map<String, ColumnCache> columnMap) {
+        if (meta instanceof CachedLambdaMeta) {
+            return ((CachedLambdaMeta) meta).getColumnCache(columnMap);
+        }
+        return columnMap.get(formatKey(getPropertyName(meta)));
+    }
+
+    /**
+     * 获取 lambda 实现方法对应的属性名
+     *
+     * @param meta lambda 元信息
+     * @return 属性名
+     * @since 3.5.9
+     */
+    public static String getPropertyName(LambdaMeta meta) {
+        if (meta instanceof CachedLambdaMeta) {
+            return ((CachedLambdaMeta) meta).getPropertyName();
+        }
+        return PropertyNamer.methodToProperty(meta.getImplMethodName());
+    }
+
     /**
      * 格式化 key 将传入的 key 变更为大写格式
      * 为了支持首字母是大写的字段
@@ -17,14 +17,17 @@ package com.baomidou.mybatisplus.core.toolkit;
 
 import com.baomidou.mybatisplus.core.batch.BatchMethod;
 import com.baomidou.mybatisplus.core.batch.BatchSqlSession;
+import com.baomidou.mybatisplus.core.batch.BatchSummary;
 import com.baomidou.mybatisplus.core.batch.MybatisBatch;
 import com.baomidou.mybatisplus.core.batch.ParameterConvert;
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.session.SqlSessionFactory;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiPredicate;
+import java.util.stream.Stream;
 
 /**
  * @author nieqiurong
@@ -284,5 +287,64 @@ public class MybatisBatchUtils {
         return new MybatisBatch<>(sqlSessionFactory, dataList, batchSize).saveOrUpdate(autoCommit, insertMethod, insertPredicate, updateMethod);
     }
 
+    /**
+     * 流式执行批量操作, 按批次拉取数据, 内存占用与数据总量无关
+     *
+     * @param sqlSessionFactory sqlSessionFactory {@link SqlSessionFactory}
+     * @param dataIterator      数据迭代器
+     * @param batchMethod       批量操作方法
+     * @param batchSize         批次数量
+     * @param <T>               泛型
+     * @return 批处理结果
+     * @since 3.5.9
+     */
+    public static <T> List<BatchResult> execute(SqlSessionFactory sqlSessionFactory, Iterator<T> dataIterator, BatchMethod<T> batchMethod, int batchSize) {
+        return new MybatisBatch<>(sqlSessionFactory, dataIterator, batchSize).execute(batchMethod);
+    }
+
+    /**
+     * 流式执行批量操作, 按批次拉取数据, 内存占用与数据总量无关 (流需要调用方自行关闭)
+     *
+     * @param sqlSessionFactory sqlSessionFactory {@link SqlSessionFactory}
+     * @param dataStream        数据流
+     * @param batchMethod       批量操作方法
+     * @param batchSize         批次数量
+     * @param <T>               泛型
+     * @return 批处理结果
+     * @since 3.5.9
+     */
+    public static <T> List<BatchResult> execute(SqlSessionFactory sqlSessionFactory, Stream<T> dataStream, BatchMethod<T> batchMethod, int batchSize) {
+        return new MybatisBatch<>(sqlSessionFactory, dataStream, batchSize).execute(batchMethod);
+    }
+
+    /**
+     * 执行批量操作, 只返回汇总结果, 不持有参数对象
+     *
+     * @param sqlSessionFactory sqlSessionFactory {@link SqlSessionFactory}
+     * @param dataList          数据集列表
+     * @param batchMethod       批量操作方法
+     * @param batchSize         批次数量
+     * @param <T>               泛型
+     * @return 批处理汇总结果
+     * @since 3.5.9
+     */
+    public static <T> BatchSummary executeSummary(SqlSessionFactory sqlSessionFactory, Collection<T> dataList, BatchMethod<T> batchMethod, int batchSize) {
+        return new MybatisBatch<>(sqlSessionFactory, dataList, batchSize).executeSummary(batchMethod);
+    }
+
+    /**
+     * 流式执行批量操作, 只返回汇总结果, 不持有参数对象
+     *
+     * @param sqlSessionFactory sqlSessionFactory {@link SqlSessionFactory}
+     * @param dataIterator      数据迭代器
+     * @param batchMethod       批量操作方法
+     * @param batchSize         批次数量
+     * @param <T>               泛型
+     * @return 批处理汇总结果
+     * @since 3.5.9
+     */
+    public static <T> BatchSummary executeSummary(SqlSessionFactory sqlSessionFactory, Iterator<T> dataIterator, BatchMethod<T> batchMethod, int batchSize) {
+        return new MybatisBatch<>(sqlSessionFactory, dataIterator, batchSize).executeSummary(batchMethod);
+    }
 
 }
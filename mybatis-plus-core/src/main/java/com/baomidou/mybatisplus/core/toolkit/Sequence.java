@@ -23,6 +23,8 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * 分布式高效有序 ID 生产黑科技(sequence)
@@ -72,13 +74,15 @@ public class Sequence {
      */
     private final long datacenterId;
     /**
-     * 并发控制
+     * 机器部分 (数据中心部分 | 机器标识部分)
      */
-    private long sequence = 0L;
+    private final long machineBits;
     /**
-     * 上次生产 ID 时间戳
+     * 并发控制, 上次生产 ID 的时间戳部分 | 序列号部分, 通过 CAS 更新
+     *
+     * @since 3.5.9
      */
-    private long lastTimestamp = -1L;
+    private final AtomicLong state = new AtomicLong();
     /**
      * IP 地址
      */
@@ -89,6 +93,7 @@ public class Sequence {
         long start = System.nanoTime();
         this.datacenterId = getDatacenterId(maxDatacenterId);
         this.workerId = getMaxWorkerId(datacenterId, maxWorkerId);
+        this.machineBits = (datacenterId << datacenterIdShift) | (workerId << workerIdShift);
         long end = System.nanoTime();
         if (end - start > Sequence.MAX_START_INTERVAL_TIME) {
             // 一般这里启动慢,是未指定inetAddress时出现,请查看本机hostname,将本机hostname写入至本地系统hosts文件之中进行解析
@@ -117,6 +122,7 @@ public class Sequence {
             String.format("datacenter Id can't be greater than %d or less than 0", maxDatacenterId));
         this.workerId = workerId;
         this.datacenterId = datacenterId;
+        this.machineBits = (datacenterId << datacenterIdShift) | (workerId << workerIdShift);
         initLog();
     }
 
@@ -179,45 +185,78 @@ public class Sequence {
      *
      * @return 下一个 ID
      */
-    public synchronized long nextId() {
-        long timestamp = timeGen();
-        //闰秒
-        if (timestamp < lastTimestamp) {
-            long offset = lastTimestamp - timestamp;
-            if (offset <= 5) {
-                try {
-                    wait(offset << 1);
-                    timestamp = timeGen();
-                    if (timestamp < lastTimestamp) {
-                        throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", offset));
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
+    public long nextId() {
+        long[] ids = new long[1];
+        reserve(ids, 0, 1);
+        return ids[0];
+    }
+
+    /**
+     * 批量获取 ID, 同一毫秒内的 ID 连续分配
+     *
+     * @param n 数量
+     * @return 递增的 ID
+     * @since 3.5.9
+     */
+    public long[] nextIds(int n) {
+        Assert.isTrue(n > 0, "n must be greater than 0");
+        long[] ids = new long[n];
+        int offset = 0;
+        while (offset < n) {
+            offset += reserve(ids, offset, n - offset);
+        }
+        return ids;
+    }
+
+    /**
+     * 在当前毫秒内预留一段连续序列号 (无锁)
+     *
+     * @param ids    ID 数组
+     * @param offset 写入起始位置
+     * @param n      需要的数量
+     * @return 实际预留数量, 当前毫秒序列号不足时小于 n
+     */
+    private int reserve(long[] ids, int offset, int n) {
+        boolean waited = false;
+        for (; ; ) {
+            long current = state.get();
+            long lastTimestamp = (current >>> timestampLeftShift) + twepoch;
+            long timestamp = timeGen();
+            //闰秒
+            if (timestamp < lastTimestamp) {
+                long backwards = lastTimestamp - timestamp;
+                if (backwards <= 5 && !waited) {
+                    // 不持有锁等待, 不会固定虚拟线程的载体线程
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backwards << 1));
+                    waited = true;
+                    continue;
+                }
+                throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", backwards));
+            }
+            long start;
+            if (lastTimestamp == timestamp) {
+                // 相同毫秒内，序列号自增
+                start = (current & sequenceMask) + 1;
+                if (start > sequenceMask) {
+                    // 同一毫秒的序列数已经达到最大
+                    timestamp = tilNextMillis(lastTimestamp);
+                    start = 0;
                 }
             } else {
-                throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", offset));
+                // 不同毫秒内，序列号置为 1 - 2 随机数
+                start = ThreadLocalRandom.current().nextLong(1, 3);
             }
-        }
-
-        if (lastTimestamp == timestamp) {
-            // 相同毫秒内，序列号自增
-            sequence = (sequence + 1) & sequenceMask;
-            if (sequence == 0) {
-                // 同一毫秒的序列数已经达到最大
-                timestamp = tilNextMillis(lastTimestamp);
+            int count = (int) Math.min(n, sequenceMask - start + 1);
+            long timestampBits = (timestamp - twepoch) << timestampLeftShift;
+            if (state.compareAndSet(current, timestampBits | (start + count - 1))) {
+                // 时间戳部分 | 数据中心部分 | 机器标识部分 | 序列号部分
+                long base = timestampBits | machineBits;
+                for (int i = 0; i < count; i++) {
+                    ids[offset + i] = base | (start + i);
+                }
+                return count;
             }
-        } else {
-            // 不同毫秒内，序列号置为 1 - 2 随机数
-            sequence = ThreadLocalRandom.current().nextLong(1, 3);
         }
-
-        lastTimestamp = timestamp;
-
-        // 时间戳部分 | 数据中心部分 | 机器标识部分 | 序列号部分
-        return ((timestamp - twepoch) << timestampLeftShift)
-            | (datacenterId << datacenterIdShift)
-            | (workerId << workerIdShift)
-            | sequence;
     }
 
     protected long tilNextMillis(long lastTimestamp) {
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.toolkit.reflect;
+
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.property.PropertyNamer;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 属性访问器
+ * <p>
+ * 初始化时通过 {@link LambdaMetafactory} 为公开的 getter/setter 生成函数, 调用时不再反射,
+ * 无法生成时 (没有公开的 getter/setter, 访问受限等) 使用 MyBatis {@link Reflector}
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public final class PropertyAccessor {
+
+    private static final int ALLOWED_MODES = MethodHandles.Lookup.PRIVATE | MethodHandles.Lookup.PROTECTED
+        | MethodHandles.Lookup.PACKAGE | MethodHandles.Lookup.PUBLIC;
+    private static final Method privateLookupInMethod;
+    private static final Constructor<MethodHandles.Lookup> lookupConstructor;
+
+    static {
+        Method privateLookupIn;
+        try {
+            privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException e) {
+            privateLookupIn = null;
+        }
+        privateLookupInMethod = privateLookupIn;
+        Constructor<MethodHandles.Lookup> lookup = null;
+        if (privateLookupInMethod == null) {
+            // JDK 1.8
+            try {
+                lookup = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+                lookup.setAccessible(true);
+            } catch (Exception e) {
+                lookup = null;
+            }
+        }
+        lookupConstructor = lookup;
+    }
+
+    private final Class<?> type;
+    private final String property;
+    private final Function<Object, Object> getter;
+    private final BiConsumer<Object, Object> setter;
+
+    private PropertyAccessor(Class<?> type, String property, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+        this.type = type;
+        this.property = property;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * 创建属性访问器
+     *
+     * @param reflector 类反射信息
+     * @param property  属性名
+     * @return 属性访问器
+     */
+    public static PropertyAccessor of(Reflector reflector, String property) {
+        Class<?> type = reflector.getType();
+        Function<Object, Object> getter = null;
+        BiConsumer<Object, Object> setter = null;
+        if (reflector.hasGetter(property)) {
+            Method method = findMethod(type, property, true, reflector.getGetterType(property));
+            if (method != null) {
+                getter = createGetter(type, method);
+            }
+        }
+        if (reflector.hasSetter(property)) {
+            Method method = findMethod(type, property, false, reflector.getSetterType(property));
+            if (method != null) {
+                setter = createSetter(type, method);
+            }
+        }
+        if (getter == null) {
+            getter = entity -> {
+                try {
+                    return reflector.getGetInvoker(property).invoke(entity, null);
+                } catch (ReflectiveOperationException e) {
+                    throw ExceptionUtils.mpe("Error: Cannot read property in %s.  Cause:", e, entity.getClass().getSimpleName());
+                }
+            };
+        }
+        if (setter == null) {
+            setter = (entity, value) -> {
+                try {
+                    reflector.getSetInvoker(property).invoke(entity, new Object[]{value});
+                } catch (ReflectiveOperationException e) {
+                    throw ExceptionUtils.mpe("Error: Cannot write property in %s.  Cause:", e, entity.getClass().getSimpleName());
+                }
+            };
+        }
+        return new PropertyAccessor(type, property, getter, setter);
+    }
+
+    /**
+     * 创建直接读写字段的属性访问器, 不经过 getter/setter
+     * <p>
+     * 通过 {@link MethodHandles.Lookup#unreflectGetter(Field)} / {@link MethodHandles.Lookup#unreflectSetter(Field)} 生成,
+     * 与 {@link Field#get(Object)} / {@link Field#set(Object, Object)} 语义一致, 无法生成时使用 {@link Field}
+     * </p>
+     *
+     * @param field 字段
+     * @return 属性访问器
+     */
+    public static PropertyAccessor of(Field field) {
+        Class<?> type = field.getDeclaringClass();
+        MethodHandle getterHandle;
+        MethodHandle setterHandle;
+        try {
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            getterHandle = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+            setterHandle = Modifier.isFinal(field.getModifiers()) ? null
+                : lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (Throwable e) {
+            getterHandle = null;
+            setterHandle = null;
+        }
+        final MethodHandle getter = getterHandle;
+        final MethodHandle setter = setterHandle;
+        return new PropertyAccessor(type, field.getName(), entity -> {
+            try {
+                return getter == null ? field.get(entity) : (Object) getter.invokeExact(entity);
+            } catch (Throwable e) {
+                throw ExceptionUtils.mpe("Error: Cannot read property in %s.  Cause:", e, entity.getClass().getSimpleName());
+            }
+        }, (entity, value) -> {
+            try {
+                if (setter == null) {
+                    field.set(entity, value);
+                } else {
+                    setter.invokeExact(entity, value);
+                }
+            } catch (Throwable e) {
+                throw ExceptionUtils.mpe("Error: Cannot write property in %s.  Cause:", e, entity.getClass().getSimpleName());
+            }
+        });
+    }
+
+    /**
+     * 查找公开的 getter/setter, 存在多个候选时优先选择与 {@link Reflector} 类型一致的方法
+     */
+    private static Method findMethod(Class<?> type, String property, boolean getter, Class<?> propertyType) {
+        Method candidate = null;
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge()) {
+                continue;
+            }
+            String name = method.getName();
+            boolean matched = getter ? method.getParameterCount() == 0 && method.getReturnType() != void.class && PropertyNamer.isGetter(name)
+                : method.getParameterCount() == 1 && PropertyNamer.isSetter(name);
+            if (!matched || !property.equals(PropertyNamer.methodToProperty(name))) {
+                continue;
+            }
+            Class<?> methodType = getter ? method.getReturnType() : method.getParameterTypes()[0];
+            if (methodType == propertyType) {
+                return method;
+            }
+            if (candidate == null && methodType.isAssignableFrom(propertyType)) {
+                candidate = method;
+            }
+        }
+        return candidate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetter(Class<?> type, Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookup(type, method);
+            if (lookup == null) {
+                return null;
+            }
+            MethodHandle handle = lookup.unreflect(method);
+            MethodType instantiatedType = MethodType.methodType(method.getReturnType(), method.getDeclaringClass()).wrap();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class), handle, instantiatedType);
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetter(Class<?> type, Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookup(type, method);
+            if (lookup == null) {
+                return null;
+            }
+            MethodHandle handle = lookup.unreflect(method);
+            MethodType instantiatedType = MethodType.methodType(void.class, method.getDeclaringClass(),
+                MethodType.methodType(method.getParameterTypes()[0]).wrap().returnType());
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class), handle, instantiatedType);
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 生成的函数定义在实体类所在的包中, 方法声明类需要可以访问
+     */
+    private static MethodHandles.Lookup lookup(Class<?> type, Method method) throws ReflectiveOperationException {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (!Modifier.isPublic(declaringClass.getModifiers()) && !Objects.equals(declaringClass.getPackage(), type.getPackage())) {
+            return null;
+        }
+        if (privateLookupInMethod != null) {
+            return (MethodHandles.Lookup) privateLookupInMethod.invoke(null, type, MethodHandles.lookup());
+        }
+        return lookupConstructor == null ? null : lookupConstructor.newInstance(type, ALLOWED_MODES);
+    }
+
+    /**
+     * 获取属性值
+     *
+     * @param entity 实体
+     * @return 属性值
+     */
+    public Object get(Object entity) {
+        return getter.apply(entity);
+    }
+
+    /**
+     * 设置属性值
+     *
+     * @param entity 实体
+     * @param value  属性值
+     */
+    public void set(Object entity, Object value) {
+        setter.accept(entity, value);
+    }
+
+    /**
+     * @return 类型化的 getter 函数
+     */
+    @SuppressWarnings("unchecked")
+    public <T, V> Function<T, V> getter() {
+        return (Function<T, V>) getter;
+    }
+
+    /**
+     * @return 类型化的 setter 函数
+     */
+    @SuppressWarnings("unchecked")
+    public <T, V> BiConsumer<T, V> setter() {
+        return (BiConsumer<T, V>) setter;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyAccessor{" + type.getName() + "#" + property + "}";
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.toolkit.support;
+
+import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
+import org.apache.ibatis.reflection.property.PropertyNamer;
+
+import java.util.Map;
+
+/**
+ * 缓存解析结果的 Lambda 元信息
+ * <p>
+ * 同一个 lambda 类的元信息不会改变, 只在首次解析时读取 SerializedLambda, 不持有 lambda 捕获的参数
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public final class CachedLambdaMeta implements LambdaMeta {
+
+    private final String implMethodName;
+    private final Class<?> instantiatedClass;
+    private final RuntimeException instantiatedClassException;
+    /**
+     * 属性名, 首次使用时解析
+     */
+    private String propertyName;
+    /**
+     * 最近一次查找的字段映射与结果
+     */
+    private ColumnLookup columnLookup;
+
+    public CachedLambdaMeta(LambdaMeta meta) {
+        this.implMethodName = meta.getImplMethodName();
+        Class<?> clazz = null;
+        RuntimeException exception = null;
+        try {
+            clazz = meta.getInstantiatedClass();
+        } catch (RuntimeException e) {
+            exception = e;
+        }
+        this.instantiatedClass = clazz;
+        this.instantiatedClassException = exception;
+    }
+
+    @Override
+    public String getImplMethodName() {
+        return implMethodName;
+    }
+
+    @Override
+    public Class<?> getInstantiatedClass() {
+        if (instantiatedClassException != null) {
+            throw instantiatedClassException;
+        }
+        return instantiatedClass;
+    }
+
+    /**
+     * 获取实现方法对应的属性名
+     *
+     * @return 属性名
+     */
+    public String getPropertyName() {
+        String name = propertyName;
+        if (name == null) {
+            name = PropertyNamer.methodToProperty(implMethodName);
+            propertyName = name;
+        }
+        return name;
+    }
+
+    /**
+     * 从字段映射中获取属性对应的列信息, 同一个字段映射只查找一次
+     *
+     * @param columnMap 字段映射
+     * @return 列信息
+     */
+    public ColumnCache getColumnCache(Map<String, ColumnCache> columnMap) {
+        ColumnLookup lookup = columnLookup;
+        if (lookup != null && lookup.columnMap == columnMap) {
+            return lookup.columnCache;
+        }
+        ColumnCache columnCache = columnMap.get(LambdaUtils.formatKey(getPropertyName()));
+        if (columnCache != null) {
+            columnLookup = new ColumnLookup(columnMap, columnCache);
+        }
+        return columnCache;
+    }
+
+    @Override
+    public String toString() {
+        return (instantiatedClass == null ? "?" : instantiatedClass.getSimpleName()) + "::" + implMethodName;
+    }
+
+    private static final class ColumnLookup {
+        private final Map<String, ColumnCache> columnMap;
+        private final ColumnCache columnCache;
+
+        private ColumnLookup(Map<String, ColumnCache> columnMap, ColumnCache columnCache) {
+            this.columnMap = columnMap;
+            this.columnCache = columnCache;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.baomidou.mybatisplus.core.batch;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class BatchSummaryTest {
+
+    private static BatchResult batchResult(MappedStatement mappedStatement, int... updateCounts) {
+        BatchResult batchResult = new BatchResult(mappedStatement, "sql", null);
+        batchResult.setUpdateCounts(updateCounts);
+        return batchResult;
+    }
+
+    @Test
+    void add() {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        MappedStatement insert = new MappedStatement.Builder(configuration, "insert", mock(StaticSqlSource.class), SqlCommandType.INSERT).build();
+        MappedStatement update = new MappedStatement.Builder(configuration, "update", mock(StaticSqlSource.class), SqlCommandType.UPDATE).build();
+
+        BatchSummary summary = new BatchSummary(true);
+        summary.add(Arrays.asList(batchResult(insert, 1, 1, 1), batchResult(update, 2, Statement.SUCCESS_NO_INFO)));
+        assertThat(summary.isSuccess()).isTrue();
+        summary.add(Arrays.asList(batchResult(insert, 1, Statement.EXECUTE_FAILED), batchResult(update, 0)));
+        assertThat(summary.getRows()).isEqualTo(8);
+        assertThat(summary.getUpdateCount("insert")).isEqualTo(4);
+        assertThat(summary.getUpdateCount("update")).isEqualTo(2);
+        assertThat(summary.getUpdateCount()).isEqualTo(6);
+        assertThat(summary.getUnsuccessfulRows()).isEqualTo(2);
+        assertThat(summary.isSuccess()).isFalse();
+        assertThat(summary.getFailedIndexes()).containsExactly(6L);
+
+        BatchSummary withoutFailures = new BatchSummary();
+        withoutFailures.add(Arrays.asList(batchResult(insert, Statement.EXECUTE_FAILED)));
+        assertThat(withoutFailures.getFailedIndexes()).isEmpty();
+        assertThat(withoutFailures.isSuccess()).isFalse();
+    }
+
+    @Test
+    void addBatchExecutorException() {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        MappedStatement insert = new MappedStatement.Builder(configuration, "insert", mock(StaticSqlSource.class), SqlCommandType.INSERT).build();
+        MappedStatement update = new MappedStatement.Builder(configuration, "update", mock(StaticSqlSource.class), SqlCommandType.UPDATE).build();
+
+        BatchSummary summary = new BatchSummary(true);
+        summary.add(Arrays.asList(batchResult(insert, 1, 1)));
+        // 驱动在失败行停止执行, 失败行及之后的行都记为失败
+        summary.add(new BatchExecutorException("error", new BatchUpdateException(new int[]{1}), Arrays.asList(batchResult(insert, 1, 1)),
+            new BatchResult(update, "sql", null)), 6);
+        assertThat(summary.getRows()).isEqualTo(8);
+        assertThat(summary.getUpdateCount("insert")).isEqualTo(4);
+        assertThat(summary.getUpdateCount("update")).isEqualTo(1);
+        assertThat(summary.getFailedIndexes()).containsExactly(5L, 6L, 7L);
+        // 驱动继续执行, 只有返回 EXECUTE_FAILED 的行记为失败
+        summary.add(new BatchExecutorException("error", new BatchUpdateException(new int[]{1, Statement.EXECUTE_FAILED, 1}), Collections.emptyList(),
+            new BatchResult(insert, "sql", null)), 3);
+        assertThat(summary.getRows()).isEqualTo(11);
+        assertThat(summary.getUpdateCount("insert")).isEqualTo(6);
+        assertThat(summary.getUnsuccessfulRows()).isEqualTo(4);
+        assertThat(summary.getFailedIndexes()).containsExactly(5L, 6L, 7L, 9L);
+    }
+}
@@ -0,0 +1,69 @@
+package com.baomidou.mybatisplus.core.conditions;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.PreparedQuery;
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.Data;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class PreparedQueryTest {
+
+    @Test
+    void prepare() {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.addMapper(PreparedUserMapper.class);
+        MappedStatement ms = configuration.getMappedStatement(PreparedUserMapper.class.getName() + ".selectPreparedList");
+
+        LambdaQueryWrapper<PreparedUser> wrapper = Wrappers.<PreparedUser>lambdaQuery()
+            .eq(PreparedUser::getTenantId, PreparedQuery.bind())
+            .in(PreparedUser::getStatus, PreparedQuery.bind())
+            .eq(PreparedUser::getName, "fixed");
+        PreparedQuery<PreparedUser> query = wrapper.prepare();
+        // 模板生成后原条件构造器的修改不影响模板
+        wrapper.eq(PreparedUser::getId, 1);
+
+        BoundSql boundSql = ms.getBoundSql(query.with(1L, Arrays.asList(2, 3)));
+        assertThat(boundSql.getSql()).contains("tenant_id = ?", "status IN (?,?)", "name = ?");
+        assertThat(boundSql.getParameterMappings()).extracting(ParameterMapping::getProperty)
+            .containsExactly("mybatis_plus_prepared_0", "mybatis_plus_prepared_1_0", "mybatis_plus_prepared_1_1", "mybatis_plus_prepared_2");
+        assertThat(boundSql.getAdditionalParameter("mybatis_plus_prepared_0")).isEqualTo(1L);
+        assertThat(boundSql.getAdditionalParameter("mybatis_plus_prepared_1_1")).isEqualTo(3);
+        assertThat(boundSql.getAdditionalParameter("mybatis_plus_prepared_2")).isEqualTo("fixed");
+
+        // 数组参数, 复用模板
+        boundSql = ms.getBoundSql(query.with(2L, new int[]{5}));
+        assertThat(boundSql.getSql()).contains("status IN (?)");
+        assertThat(boundSql.getAdditionalParameter("mybatis_plus_prepared_0")).isEqualTo(2L);
+        assertThat(boundSql.getAdditionalParameter("mybatis_plus_prepared_1_0")).isEqualTo(5);
+
+        assertThatThrownBy(() -> ms.getBoundSql(query.with(1L))).isInstanceOf(MybatisPlusException.class);
+    }
+
+    @Data
+    @TableName("prepared_user")
+    static class PreparedUser {
+        private Long id;
+        private Long tenantId;
+        private Integer status;
+        private String name;
+    }
+
+    interface PreparedUserMapper extends BaseMapper<PreparedUser> {
+    }
+}
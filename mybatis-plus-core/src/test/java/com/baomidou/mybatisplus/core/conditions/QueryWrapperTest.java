@@ -2,6 +2,7 @@ package com.baomidou.mybatisplus.core.conditions;
 
 import com.baomidou.mybatisplus.core.MybatisConfiguration;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.segments.SqlSegmentCache;
 import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import org.apache.ibatis.builder.MapperBuilderAssistant;
@@ -11,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 import java.util.*;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * @author miemie
  * @since 2021-01-27
@@ -188,6 +191,89 @@ class QueryWrapperTest extends BaseWrapperTest {
         }}).getSqlSegment().trim());
     }
 
+    @Test
+    void testSqlSegmentCache() {
+        SqlSegmentCache.clear();
+        SqlSegmentCache.setEnabled(true);
+        try {
+            QueryWrapper<Entity> first = shapeWrapper(1, "a", Arrays.asList(1, 2));
+            logSqlWhere("结构缓存未命中", first,
+                "(id = ? AND (name LIKE ?) AND role_id IN (?,?)) GROUP BY id HAVING count(*) > ? ORDER BY id DESC");
+            assertThat(SqlSegmentCache.getMissCount()).isEqualTo(1);
+
+            // 结构相同只绑定参数, 参数顺序与 sql 片段一致
+            QueryWrapper<Entity> second = shapeWrapper(2, "b", Arrays.asList(3, 4));
+            assertThat(second.getSqlSegment()).isEqualTo(first.getSqlSegment());
+            assertThat(SqlSegmentCache.getHitCount()).isEqualTo(1);
+            Map<String, Object> params = new HashMap<>();
+            params.put("MPGENVAL1", 2);
+            params.put("MPGENVAL2", "b%");
+            params.put("MPGENVAL3", 3);
+            params.put("MPGENVAL4", 4);
+            params.put("MPGENVAL5", 12);
+            assertThat(second.getParamNameValuePairs()).isEqualTo(params);
+
+            // in 参数个数不同则结构不同
+            QueryWrapper<Entity> third = shapeWrapper(3, "c", Collections.singletonList(5));
+            logSqlWhere("结构不同", third,
+                "(id = ? AND (name LIKE ?) AND role_id IN (?)) GROUP BY id HAVING count(*) > ? ORDER BY id DESC");
+            assertThat(SqlSegmentCache.getMissCount()).isEqualTo(2);
+            assertThat(SqlSegmentCache.getHitRate()).isEqualTo(1D / 3);
+
+            // 添加条件后重新生成
+            second.eq("role_id", 6);
+            assertThat(second.getTargetSql()).isEqualTo(
+                "(id = ? AND (name LIKE ?) AND role_id IN (?,?) AND role_id = ?) GROUP BY id HAVING count(*) > ? ORDER BY id DESC");
+            assertThat(second.getParamNameValuePairs()).containsEntry("MPGENVAL6", 2).containsEntry("MPGENVAL10", 6).containsEntry("MPGENVAL11", 12);
+
+            // in 条件的集合添加后被修改, 不使用缓存
+            List<Integer> roleIds = new ArrayList<>(Arrays.asList(7, 8));
+            QueryWrapper<Entity> changed = shapeWrapper(4, "d", roleIds);
+            roleIds.add(9);
+            logSqlWhere("集合被修改", changed,
+                "(id = ? AND (name LIKE ?) AND role_id IN (?,?,?)) GROUP BY id HAVING count(*) > ? ORDER BY id DESC");
+            assertThat(changed.getParamNameValuePairs()).containsEntry("MPGENVAL5", 9).containsEntry("MPGENVAL6", 14);
+        } finally {
+            SqlSegmentCache.setEnabled(false);
+            SqlSegmentCache.clear();
+        }
+    }
+
+    @Test
+    void testSqlSegmentCacheEviction() {
+        SqlSegmentCache.clear();
+        SqlSegmentCache.setEnabled(true);
+        SqlSegmentCache.setMaxSize(2);
+        try {
+            new QueryWrapper<Entity>().eq("id", 1).getSqlSegment();
+            new QueryWrapper<Entity>().eq("name", "a").getSqlSegment();
+            assertThat(SqlSegmentCache.size()).isEqualTo(2);
+            // 旧一代命中后移回新一代
+            new QueryWrapper<Entity>().eq("id", 2).getSqlSegment();
+            assertThat(SqlSegmentCache.getHitCount()).isEqualTo(1);
+            // 容量满时只丢弃最久未使用的一代
+            new QueryWrapper<Entity>().eq("role_id", 3).getSqlSegment();
+            assertThat(SqlSegmentCache.size()).isEqualTo(2);
+            new QueryWrapper<Entity>().eq("id", 4).getSqlSegment();
+            assertThat(SqlSegmentCache.getHitCount()).isEqualTo(2);
+            new QueryWrapper<Entity>().eq("name", "b").getSqlSegment();
+            assertThat(SqlSegmentCache.getHitCount()).isEqualTo(2);
+        } finally {
+            SqlSegmentCache.setMaxSize(1024);
+            SqlSegmentCache.setEnabled(false);
+            SqlSegmentCache.clear();
+        }
+    }
+
+    private QueryWrapper<Entity> shapeWrapper(int id, String name, List<Integer> roleIds) {
+        return new QueryWrapper<Entity>().eq("id", id)
+            .having("count(*) > {0}", id + 10)
+            .and(i -> i.likeRight("name", name))
+            .in("role_id", roleIds)
+            .groupBy("id")
+            .orderByDesc("id");
+    }
+
     private List<Object> getList() {
         List<Object> list = new ArrayList<>();
         for (int i = 0; i < 2; i++) {
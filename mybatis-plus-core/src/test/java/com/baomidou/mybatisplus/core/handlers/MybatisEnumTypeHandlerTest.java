@@ -0,0 +1,83 @@
+package com.baomidou.mybatisplus.core.handlers;
+
+import com.baomidou.mybatisplus.annotation.EnumValue;
+import com.baomidou.mybatisplus.annotation.IEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class MybatisEnumTypeHandlerTest {
+
+    @Getter
+    @AllArgsConstructor
+    enum Grade {
+        PRIMARY(1, "小学"),
+        SECONDARY(2, "中学"),
+        HIGH(3, "高中");
+
+        @EnumValue
+        private final int code;
+        private final String desc;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    enum Level implements IEnum<BigDecimal> {
+        LOW(new BigDecimal("1.50")),
+        HIGH(new BigDecimal("100"));
+
+        private final BigDecimal value;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    enum Status implements IEnum<String> {
+        ENABLE(" enable "),
+        DISABLE("disable");
+
+        private final String value;
+    }
+
+    @Test
+    void valueOf() throws SQLException {
+        MybatisEnumTypeHandler<Grade> gradeHandler = new MybatisEnumTypeHandler<>(Grade.class);
+        assertThat(gradeHandler.getResult(mockResultSet(2), 1)).isEqualTo(Grade.SECONDARY);
+        assertThat(gradeHandler.getResult(mockResultSet(3L), 1)).isEqualTo(Grade.HIGH);
+        assertThat(gradeHandler.getResult(mockResultSet(new BigDecimal("1.00")), 1)).isEqualTo(Grade.PRIMARY);
+        assertThat(gradeHandler.getResult(mockResultSet(1.0D), 1)).isEqualTo(Grade.PRIMARY);
+        assertThat(gradeHandler.getResult(mockResultSet("2"), 1)).isEqualTo(Grade.SECONDARY);
+        assertThat(gradeHandler.getResult(mockResultSet(4), 1)).isNull();
+
+        MybatisEnumTypeHandler<Level> levelHandler = new MybatisEnumTypeHandler<>(Level.class);
+        assertThat(levelHandler.getResult(mockResultSet(new BigDecimal("1.5")), 1)).isEqualTo(Level.LOW);
+        assertThat(levelHandler.getResult(mockResultSet(100), 1)).isEqualTo(Level.HIGH);
+        assertThat(levelHandler.getResult(mockResultSet(new BigDecimal("1E+2")), 1)).isEqualTo(Level.HIGH);
+        assertThat(levelHandler.getResult(mockResultSet("1.50"), 1)).isEqualTo(Level.LOW);
+        // 字符串不按数值比较
+        assertThat(levelHandler.getResult(mockResultSet("1.5"), 1)).isNull();
+
+        MybatisEnumTypeHandler<Status> statusHandler = new MybatisEnumTypeHandler<>(Status.class);
+        assertThat(statusHandler.getResult(mockResultSet("enable"), 1)).isEqualTo(Status.ENABLE);
+        assertThat(statusHandler.getResult(mockResultSet(" disable"), 1)).isEqualTo(Status.DISABLE);
+    }
+
+    private ResultSet mockResultSet(Object value) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(eq(1), any(Class.class))).thenReturn(value);
+        return rs;
+    }
+}
@@ -0,0 +1,129 @@
+package com.baomidou.mybatisplus.core.incrementer;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import lombok.Data;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class PooledKeyGeneratorTest {
+
+    @Data
+    private static class SeqModel {
+
+        @TableId(type = IdType.INPUT)
+        private Long id;
+    }
+
+    /**
+     * 模拟步长为 allocationSize 的数据库序列
+     */
+    private static class CountingKeyGenerator extends PooledKeyGenerator {
+
+        private final AtomicInteger roundtrips = new AtomicInteger();
+        private final AtomicLong sequence;
+        private final int allocationSize;
+
+        CountingKeyGenerator(TableInfo tableInfo, int allocationSize) {
+            super(mock(MappedStatement.class), tableInfo, allocationSize);
+            this.allocationSize = allocationSize;
+            this.sequence = new AtomicLong(1 - allocationSize);
+        }
+
+        @Override
+        protected long nextValue(Executor executor, Object parameter) {
+            roundtrips.incrementAndGet();
+            return sequence.addAndGet(allocationSize);
+        }
+    }
+
+    private static TableInfo tableInfo() {
+        return TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), SeqModel.class);
+    }
+
+    @Test
+    void processBefore() {
+        CountingKeyGenerator keyGenerator = new CountingKeyGenerator(tableInfo(), 50);
+        Executor executor = mock(Executor.class);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            SeqModel model = new SeqModel();
+            keyGenerator.processBefore(executor, null, null, model);
+            ids.add(model.getId());
+        }
+        assertThat(keyGenerator.roundtrips.get()).isEqualTo(3);
+        assertThat(ids).doesNotHaveDuplicates().startsWith(1L, 2L, 3L).endsWith(120L);
+    }
+
+    @Test
+    void processBeforeCollection() {
+        CountingKeyGenerator keyGenerator = new CountingKeyGenerator(tableInfo(), 1000);
+        List<SeqModel> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(new SeqModel());
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put(Constants.LIST, list);
+        keyGenerator.processBefore(mock(Executor.class), null, null, params);
+        // 1000 条记录只查询一次序列
+        assertThat(keyGenerator.roundtrips.get()).isEqualTo(1);
+        assertThat(list).extracting(SeqModel::getId).doesNotContainNull().doesNotHaveDuplicates();
+
+        SeqModel model = new SeqModel();
+        params = new HashMap<>();
+        params.put(Constants.ENTITY, model);
+        keyGenerator.processBefore(mock(Executor.class), null, null, params);
+        assertThat(model.getId()).isEqualTo(1001L);
+        assertThat(keyGenerator.roundtrips.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrent() throws InterruptedException {
+        CountingKeyGenerator keyGenerator = new CountingKeyGenerator(tableInfo(), 20);
+        Executor executor = mock(Executor.class);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8, count = 500;
+        CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < count; i++) {
+                    SeqModel model = new SeqModel();
+                    keyGenerator.processBefore(executor, null, null, model);
+                    ids.add(model.getId());
+                }
+                latch.countDown();
+            });
+        }
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+        assertThat(ids).hasSize(threads * count);
+        assertThat(keyGenerator.roundtrips.get()).isEqualTo(threads * count / 20);
+    }
+}
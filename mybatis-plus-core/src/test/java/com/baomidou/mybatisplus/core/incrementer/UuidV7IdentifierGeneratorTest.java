@@ -0,0 +1,89 @@
+package com.baomidou.mybatisplus.core.incrementer;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class UuidV7IdentifierGeneratorTest {
+
+    @Test
+    void nextUUID() {
+        long now = System.currentTimeMillis();
+        UuidV7IdentifierGenerator generator = new UuidV7IdentifierGenerator();
+        String value = generator.nextUUID(null);
+        assertThat(value).hasSize(32).matches("[0-9a-f]{32}");
+        UUID uuid = UUID.fromString(value.replaceFirst("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})", "$1-$2-$3-$4-$5"));
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(now, System.currentTimeMillis());
+        assertThat(generator.nextId(null)).isNotNull();
+    }
+
+    @Test
+    void ordered() {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            list.add(IdWorker.get32UUIDv7());
+        }
+        // 同一线程内严格递增
+        assertThat(list).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void concurrent() throws InterruptedException {
+        int threads = 8, count = 20_000;
+        Set<String> set = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    set.add(IdWorker.get32UUIDv7());
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        assertThat(set).hasSize(threads * count);
+    }
+
+    @Test
+    @Disabled("性能对比, 不需要参与全局test")
+    void benchmark() throws InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors(), count = 500_000;
+        for (int i = 0; i < 3; i++) {
+            benchmark("随机 UUID", IdWorker::get32UUID, threads, count);
+            benchmark("UUIDv7", IdWorker::get32UUIDv7, threads, count);
+        }
+    }
+
+    private void benchmark(String name, Supplier<String> supplier, int threads, int count) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(threads);
+        long startTime = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    supplier.get();
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        long et = System.nanoTime() - startTime;
+        System.out.printf("%s %s 线程生成 %s 个耗时: %s 毫秒, 吞吐: %.0f 个/毫秒%n", name, threads, (long) threads * count,
+            et / 1_000_000, (double) threads * count * 1_000_000 / et);
+    }
+}
@@ -0,0 +1,169 @@
+package com.baomidou.mybatisplus.core.injector;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.Version;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import lombok.Data;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class PrecompiledSqlInjectorTest {
+
+    private static final String INSERT = WideEntityMapper.class.getName() + ".insert";
+    private static final String UPDATE_BY_ID = WideEntityMapper.class.getName() + ".updateById";
+
+    private final MybatisConfiguration scriptConfiguration = configuration(new DefaultSqlInjector());
+    private final MybatisConfiguration precompiledConfiguration = configuration(new PrecompiledSqlInjector());
+
+    @Test
+    void sameAsScript() {
+        WideEntity entity = new WideEntity();
+        entity.setId(1L);
+        assertSame(INSERT, entity);
+        assertSame(UPDATE_BY_ID, updateParameter(entity));
+
+        // NOT_EMPTY 策略
+        entity.setName("");
+        entity.setAge(18);
+        entity.setRemark("remark");
+        entity.setCounter(3);
+        assertSame(INSERT, entity);
+        assertSame(UPDATE_BY_ID, updateParameter(entity));
+
+        entity.setName("name");
+        entity.setVersion(2);
+        entity.setDeleted(0);
+        assertSame(INSERT, entity);
+        MapperMethod.ParamMap<Object> parameter = updateParameter(entity);
+        parameter.put(Constants.MP_OPTLOCK_VERSION_ORIGINAL, 1);
+        assertSame(UPDATE_BY_ID, parameter);
+
+        BoundSql boundSql = precompiledConfiguration.getMappedStatement(UPDATE_BY_ID).getBoundSql(parameter);
+        assertThat(boundSql.getSql()).contains("counter=counter+1", "AND version=?", "AND deleted=0");
+    }
+
+    /**
+     * 片段组合超过缓存上限后仍与脚本一致
+     */
+    @Test
+    void sameAsScriptBeyondCache() {
+        for (int mask = 0; mask < 1 << 10; mask++) {
+            WideEntity entity = new WideEntity();
+            entity.setId(1L);
+            entity.setName((mask & 1) != 0 ? "name" : null);
+            entity.setAge((mask & 1 << 1) != 0 ? 18 : null);
+            entity.setEmail((mask & 1 << 2) != 0 ? "email" : null);
+            entity.setPhone((mask & 1 << 3) != 0 ? "phone" : null);
+            entity.setAddress((mask & 1 << 4) != 0 ? "address" : null);
+            entity.setRemark((mask & 1 << 5) != 0 ? "remark" : null);
+            entity.setCounter((mask & 1 << 6) != 0 ? 3 : null);
+            entity.setUpdateTime((mask & 1 << 7) != 0 ? LocalDateTime.now() : null);
+            entity.setDeleted((mask & 1 << 8) != 0 ? 0 : null);
+            entity.setVersion((mask & 1 << 9) != 0 ? 1 : null);
+            assertSame(INSERT, entity);
+            assertSame(UPDATE_BY_ID, updateParameter(entity));
+        }
+    }
+
+    @Test
+    @Disabled("性能对比, 不需要参与全局test")
+    void benchmark() {
+        WideEntity entity = new WideEntity();
+        entity.setId(1L);
+        entity.setName("name");
+        entity.setAge(18);
+        entity.setEmail("email");
+        entity.setVersion(1);
+        MapperMethod.ParamMap<Object> parameter = updateParameter(entity);
+        int len = 100_000;
+        assertThat(benchmark(precompiledConfiguration.getMappedStatement(INSERT), entity, len))
+            .isLessThan(benchmark(scriptConfiguration.getMappedStatement(INSERT), entity, len));
+        assertThat(benchmark(precompiledConfiguration.getMappedStatement(UPDATE_BY_ID), parameter, len))
+            .isLessThan(benchmark(scriptConfiguration.getMappedStatement(UPDATE_BY_ID), parameter, len));
+    }
+
+    /**
+     * @return 预热后生成 len 次 sql 的耗时(纳秒)
+     */
+    private long benchmark(MappedStatement ms, Object parameter, int len) {
+        // 预热
+        for (int i = 0; i < len; i++) {
+            ms.getBoundSql(parameter);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < len; i++) {
+            ms.getBoundSql(parameter);
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private void assertSame(String statement, Object parameter) {
+        BoundSql script = scriptConfiguration.getMappedStatement(statement).getBoundSql(parameter);
+        BoundSql precompiled = precompiledConfiguration.getMappedStatement(statement).getBoundSql(parameter);
+        Function<BoundSql, String> sql = boundSql -> boundSql.getSql().replaceAll("\\s", "");
+        assertThat(sql.apply(precompiled)).isEqualTo(sql.apply(script));
+        assertThat(precompiled.getParameterMappings().stream().map(ParameterMapping::getProperty).collect(toList()))
+            .isEqualTo(script.getParameterMappings().stream().map(ParameterMapping::getProperty).collect(toList()));
+    }
+
+    private static MapperMethod.ParamMap<Object> updateParameter(WideEntity entity) {
+        MapperMethod.ParamMap<Object> parameter = new MapperMethod.ParamMap<>();
+        parameter.put(Constants.ENTITY, entity);
+        parameter.put("param1", entity);
+        return parameter;
+    }
+
+    private static MybatisConfiguration configuration(ISqlInjector sqlInjector) {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        GlobalConfigUtils.getGlobalConfig(configuration).setSqlInjector(sqlInjector);
+        configuration.addMapper(WideEntityMapper.class);
+        return configuration;
+    }
+
+    @Data
+    @TableName("wide_entity")
+    static class WideEntity {
+        private Long id;
+        @TableField(insertStrategy = FieldStrategy.NOT_EMPTY, updateStrategy = FieldStrategy.NOT_EMPTY)
+        private String name;
+        private Integer age;
+        private int score;
+        private String email;
+        private String phone;
+        private String address;
+        @TableField(insertStrategy = FieldStrategy.NEVER)
+        private String remark;
+        @TableField(update = "%s+1")
+        private Integer counter;
+        @TableField(fill = FieldFill.INSERT_UPDATE)
+        private LocalDateTime updateTime;
+        @Version
+        private Integer version;
+        @TableLogic
+        private Integer deleted;
+    }
+
+    interface WideEntityMapper extends BaseMapper<WideEntity> {
+    }
+}
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -28,4 +31,42 @@ class SequenceTest {
         System.out.println(timestamp + "---" + time);
         assertThat(now).isAfter(time);
     }
+
+    @Test
+    void nextIds() {
+        Sequence sequence = new Sequence(1, 1);
+        long[] ids = sequence.nextIds(10_000);
+        assertThat(ids).hasSize(10_000);
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+        }
+        assertThat(sequence.nextId()).isGreaterThan(ids[ids.length - 1]);
+    }
+
+    @Test
+    void concurrentNextId() throws InterruptedException {
+        Sequence sequence = new Sequence(1, 1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int len = 20_000;
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            new Thread(() -> {
+                for (int i = 0; i < len; i++) {
+                    if (index % 2 == 0) {
+                        ids.add(sequence.nextId());
+                    } else {
+                        for (long id : sequence.nextIds(10)) {
+                            ids.add(id);
+                        }
+                        i += 9;
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        assertThat(ids).hasSize(threads * len);
+    }
 }
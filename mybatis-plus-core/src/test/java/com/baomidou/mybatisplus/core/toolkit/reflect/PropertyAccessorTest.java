@@ -0,0 +1,116 @@
+package com.baomidou.mybatisplus.core.toolkit.reflect;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.MethodInvoker;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class PropertyAccessorTest {
+
+    private final DefaultReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+
+    @Getter
+    @Setter
+    static class BaseEntity<ID> {
+        private ID id;
+    }
+
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    static class Entity extends BaseEntity<Long> {
+        private String name;
+        private int age;
+        private boolean deleted;
+        /**
+         * 没有 getter/setter, 使用反射
+         */
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private String remark;
+    }
+
+    @Test
+    void accessor() {
+        Reflector reflector = reflectorFactory.findForClass(Entity.class);
+        Entity entity = new Entity();
+
+        PropertyAccessor name = PropertyAccessor.of(reflector, "name");
+        name.set(entity, "miemie");
+        assertThat(entity.getName()).isEqualTo("miemie");
+        assertThat(name.get(entity)).isEqualTo("miemie");
+
+        PropertyAccessor age = PropertyAccessor.of(reflector, "age");
+        age.set(entity, 18);
+        assertThat(age.get(entity)).isEqualTo(18);
+
+        PropertyAccessor deleted = PropertyAccessor.of(reflector, "deleted");
+        deleted.set(entity, true);
+        assertThat(deleted.get(entity)).isEqualTo(true);
+
+        PropertyAccessor id = PropertyAccessor.of(reflector, "id");
+        id.set(entity, 1L);
+        assertThat(entity.getId()).isEqualTo(1L);
+
+        assertThat(reflector.getGetInvoker("remark")).isNotInstanceOf(MethodInvoker.class);
+        PropertyAccessor remark = PropertyAccessor.of(reflector, "remark");
+        remark.set(entity, "remark");
+        assertThat(remark.get(entity)).isEqualTo("remark");
+        assertThat(entity.remark).isEqualTo("remark");
+
+        Function<Entity, String> getter = name.getter();
+        BiConsumer<Entity, String> setter = name.setter();
+        setter.accept(entity, "hello");
+        assertThat(getter.apply(entity)).isEqualTo("hello");
+    }
+
+    static class VersionEntity extends BaseEntity<Long> {
+        private Integer version;
+        private int count;
+
+        /**
+         * getter/setter 带有额外逻辑, 字段访问器不应经过它们
+         */
+        public Integer getVersion() {
+            return version == null ? null : version + 100;
+        }
+
+        public void setVersion(Integer version) {
+            this.version = version == null ? null : version - 100;
+        }
+    }
+
+    @Test
+    void fieldAccessor() throws NoSuchFieldException {
+        VersionEntity entity = new VersionEntity();
+
+        PropertyAccessor version = PropertyAccessor.of(VersionEntity.class.getDeclaredField("version"));
+        version.set(entity, 1);
+        assertThat(entity.version).isEqualTo(1);
+        assertThat(entity.getVersion()).isEqualTo(101);
+        assertThat(version.get(entity)).isEqualTo(1);
+
+        PropertyAccessor count = PropertyAccessor.of(VersionEntity.class.getDeclaredField("count"));
+        count.set(entity, 2);
+        assertThat(count.get(entity)).isEqualTo(2);
+
+        // 父类私有字段
+        PropertyAccessor id = PropertyAccessor.of(BaseEntity.class.getDeclaredField("id"));
+        id.set(entity, 3L);
+        assertThat(entity.getId()).isEqualTo(3L);
+        assertThat(id.get(entity)).isEqualTo(3L);
+    }
+}
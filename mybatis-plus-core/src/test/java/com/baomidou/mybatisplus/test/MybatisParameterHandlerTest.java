@@ -6,8 +6,12 @@ import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.core.MybatisConfiguration;
 import com.baomidou.mybatisplus.core.MybatisParameterHandler;
+import com.baomidou.mybatisplus.core.MybatisXMLLanguageDriver;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
+import com.baomidou.mybatisplus.core.handlers.StrictFill;
 import com.baomidou.mybatisplus.core.incrementer.DefaultIdentifierGenerator;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
@@ -16,6 +20,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
@@ -25,9 +30,11 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -289,6 +296,240 @@ class MybatisParameterHandlerTest {
 
     }
 
+    @Data
+    private static class AssignIdModel {
+
+        @TableId(type = IdType.ASSIGN_ID)
+        private Long id;
+
+        private String name;
+    }
+
+    @Test
+    void testBatchAssignId() {
+        Configuration configuration = new MybatisConfiguration();
+        AtomicInteger batchCount = new AtomicInteger();
+        DefaultIdentifierGenerator generator = new DefaultIdentifierGenerator(1, 1);
+        GlobalConfigUtils.getGlobalConfig(configuration).setIdentifierGenerator(new IdentifierGenerator() {
+            @Override
+            public Number nextId(Object entity) {
+                return generator.nextId(entity);
+            }
+
+            @Override
+            public Number[] nextIds(List<?> entities) {
+                batchCount.incrementAndGet();
+                return generator.nextIds(entities);
+            }
+        });
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(configuration, ""), AssignIdModel.class);
+        MappedStatement mappedStatement = new MappedStatement.Builder(configuration, "***", mock(StaticSqlSource.class), SqlCommandType.INSERT).build();
+
+        List<AssignIdModel> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(new AssignIdModel());
+        }
+        list.get(3).setId(3L);
+        Map<String, Object> params = new HashMap<>();
+        params.put(Constants.LIST, list);
+        new MybatisParameterHandler(mappedStatement, params, mock(BoundSql.class));
+        assertThat(batchCount.get()).isEqualTo(1);
+        assertThat(list).extracting(AssignIdModel::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(list.get(3).getId()).isEqualTo(3L);
+
+        // 单个实体不走批量
+        AssignIdModel model = new AssignIdModel();
+        new MybatisParameterHandler(mappedStatement, model, mock(BoundSql.class));
+        assertThat(model.getId()).isNotNull();
+        assertThat(batchCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testBatchAssignIdWithCustomParameterHandler() {
+        Configuration configuration = new MybatisConfiguration();
+        AtomicInteger batchCount = new AtomicInteger();
+        DefaultIdentifierGenerator generator = new DefaultIdentifierGenerator(1, 1);
+        GlobalConfigUtils.getGlobalConfig(configuration).setIdentifierGenerator(new IdentifierGenerator() {
+            @Override
+            public Number nextId(Object entity) {
+                return generator.nextId(entity);
+            }
+
+            @Override
+            public Number[] nextIds(List<?> entities) {
+                batchCount.incrementAndGet();
+                return generator.nextIds(entities);
+            }
+        });
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(configuration, ""), AssignIdModel.class);
+        MappedStatement mappedStatement = new MappedStatement.Builder(configuration, "***", mock(StaticSqlSource.class), SqlCommandType.INSERT).build();
+
+        List<AssignIdModel> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(new AssignIdModel());
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put(Constants.LIST, list);
+        // 重写逐个分配主键, 不走批量分配
+        AtomicInteger populateCount = new AtomicInteger();
+        new MybatisParameterHandler(mappedStatement, params, mock(BoundSql.class)) {
+            @Override
+            protected void populateKeys(TableInfo tableInfo, MetaObject metaObject, Object entity) {
+                populateCount.incrementAndGet();
+                super.populateKeys(tableInfo, metaObject, entity);
+            }
+        };
+        assertThat(batchCount.get()).isEqualTo(0);
+        assertThat(populateCount.get()).isEqualTo(list.size());
+        assertThat(list).extracting(AssignIdModel::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Data
+    private static class BatchFillModel {
+
+        @TableId(type = IdType.ASSIGN_ID)
+        private Long id;
+
+        @TableField(fill = FieldFill.INSERT)
+        private String insertOperator;
+
+        @TableField(fill = FieldFill.UPDATE)
+        private String updateOperator;
+    }
+
+    @Test
+    void testProcessBatch() {
+        Configuration configuration = new MybatisConfiguration();
+        AtomicInteger fillCount = new AtomicInteger();
+        AtomicInteger batchFillCount = new AtomicInteger();
+        GlobalConfigUtils.getGlobalConfig(configuration).setIdentifierGenerator(new DefaultIdentifierGenerator(1, 1)).setMetaObjectHandler(new MetaObjectHandler() {
+
+            @Override
+            public void insertFill(MetaObject metaObject) {
+                fillCount.incrementAndGet();
+                setFieldValByName("insertOperator", "insert", metaObject);
+            }
+
+            @Override
+            public void updateFill(MetaObject metaObject) {
+                fillCount.incrementAndGet();
+                setFieldValByName("updateOperator", "update", metaObject);
+            }
+
+            @Override
+            public void insertFill(TableInfo tableInfo, List<?> entities) {
+                batchFillCount.incrementAndGet();
+                strictInsertFill(tableInfo, entities, Collections.singletonList(StrictFill.of("insertOperator", String.class, "batchInsert")));
+            }
+        });
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(configuration, ""), BatchFillModel.class);
+        MappedStatement insertStatement = new MappedStatement.Builder(configuration, "***", mock(StaticSqlSource.class), SqlCommandType.INSERT).build();
+        MappedStatement updateStatement = new MappedStatement.Builder(configuration, "***", mock(StaticSqlSource.class), SqlCommandType.UPDATE).build();
+
+        List<BatchFillModel> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(new BatchFillModel());
+        }
+        list.get(2).setInsertOperator("keep");
+        MybatisParameterHandler.processBatch(insertStatement, list,
+            () -> list.forEach(model -> new MybatisParameterHandler(insertStatement, model, mock(BoundSql.class))));
+        assertThat(batchFillCount.get()).isEqualTo(1);
+        assertThat(fillCount.get()).isEqualTo(0);
+        assertThat(list).extracting(BatchFillModel::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(list.get(2).getInsertOperator()).isEqualTo("keep");
+        assertThat(list).filteredOn(model -> model != list.get(2)).extracting(BatchFillModel::getInsertOperator).containsOnly("batchInsert");
+
+        // 更新使用默认实现, 逐个实体填充一次
+        List<Map<String, Object>> parameters = new ArrayList<>();
+        list.forEach(model -> {
+            Map<String, Object> params = new HashMap<>();
+            params.put(Constants.ENTITY, model);
+            parameters.add(params);
+        });
+        MybatisParameterHandler.processBatch(updateStatement, parameters,
+            () -> parameters.forEach(params -> new MybatisParameterHandler(updateStatement, params, mock(BoundSql.class))));
+        assertThat(fillCount.get()).isEqualTo(list.size());
+        assertThat(list).extracting(BatchFillModel::getUpdateOperator).containsOnly("update");
+
+        // 批量范围外恢复逐个处理
+        BatchFillModel model = new BatchFillModel();
+        new MybatisParameterHandler(insertStatement, model, mock(BoundSql.class));
+        assertThat(model.getId()).isNotNull();
+        assertThat(model.getInsertOperator()).isEqualTo("insert");
+    }
+
+    @Test
+    void testProcessBatchWithCustomParameterHandler() {
+        Configuration configuration = new MybatisConfiguration();
+        AtomicInteger fillCount = new AtomicInteger();
+        List<Object> originals = new ArrayList<>();
+        GlobalConfigUtils.getGlobalConfig(configuration).setIdentifierGenerator(new DefaultIdentifierGenerator(1, 1)).setMetaObjectHandler(new MetaObjectHandler() {
+
+            @Override
+            public void insertFill(MetaObject metaObject) {
+                fillCount.incrementAndGet();
+                originals.add(metaObject.getOriginalObject());
+                strictInsertFill(metaObject, "insertOperator", String.class, "insert");
+            }
+
+            @Override
+            public void updateFill(MetaObject metaObject) {
+                fillCount.incrementAndGet();
+                setFieldValByName("updateOperator", "update", metaObject);
+            }
+        });
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(configuration, ""), BatchFillModel.class);
+
+        // 重写批量填充
+        AtomicInteger batchFillCount = new AtomicInteger();
+        MappedStatement batchStatement = new MappedStatement.Builder(configuration, "***", mock(StaticSqlSource.class), SqlCommandType.INSERT)
+            .lang(new MybatisXMLLanguageDriver() {
+                @Override
+                public ParameterHandler createParameterHandler(MappedStatement mappedStatement, Object parameterObject, BoundSql boundSql) {
+                    return new MybatisParameterHandler(mappedStatement, parameterObject, boundSql) {
+                        @Override
+                        protected void insertFill(TableInfo tableInfo, List<Object> entities) {
+                            batchFillCount.incrementAndGet();
+                            super.insertFill(tableInfo, entities);
+                        }
+                    };
+                }
+            }).build();
+        List<BatchFillModel> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(new BatchFillModel());
+        }
+        list.get(2).setInsertOperator("keep");
+        MybatisParameterHandler.processBatch(batchStatement, list,
+            () -> list.forEach(model -> batchStatement.getLang().createParameterHandler(batchStatement, model, mock(BoundSql.class))));
+        assertThat(batchFillCount.get()).isEqualTo(1);
+        assertThat(fillCount.get()).isEqualTo(list.size());
+        assertThat(originals).containsExactlyElementsOf(list);
+        assertThat(list).extracting(BatchFillModel::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(list.get(2).getInsertOperator()).isEqualTo("keep");
+        assertThat(list).filteredOn(model -> model != list.get(2)).extracting(BatchFillModel::getInsertOperator).containsOnly("insert");
+
+        // 重写逐个填充, 保持逐个处理
+        AtomicInteger entityFillCount = new AtomicInteger();
+        MappedStatement entityStatement = new MappedStatement.Builder(configuration, "***", mock(StaticSqlSource.class), SqlCommandType.UPDATE)
+            .lang(new MybatisXMLLanguageDriver() {
+                @Override
+                public ParameterHandler createParameterHandler(MappedStatement mappedStatement, Object parameterObject, BoundSql boundSql) {
+                    return new MybatisParameterHandler(mappedStatement, parameterObject, boundSql) {
+                        @Override
+                        protected void updateFill(MetaObject metaObject, TableInfo tableInfo) {
+                            entityFillCount.incrementAndGet();
+                            super.updateFill(metaObject, tableInfo);
+                        }
+                    };
+                }
+            }).build();
+        MybatisParameterHandler.processBatch(entityStatement, list,
+            () -> list.forEach(model -> entityStatement.getLang().createParameterHandler(entityStatement, model, mock(BoundSql.class))));
+        assertThat(entityFillCount.get()).isEqualTo(list.size());
+        assertThat(list).extracting(BatchFillModel::getUpdateOperator).containsOnly("update");
+    }
+
     @Test
     void testIgnoreMapperStatement() {
         MappedStatement mappedStatement;
@@ -0,0 +1,97 @@
+package com.baomidou.mybatisplus.test;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisResultSetHandler;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import lombok.Data;
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class MybatisResultSetHandlerTest {
+
+    @Test
+    void handleResultSets() throws SQLException {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.addMapper(FastUserMapper.class);
+        MappedStatement ms = configuration.getMappedStatement(FastUserMapper.class.getName() + ".selectList");
+        assertThat(TableInfoHelper.getTableInfo(FastUser.class).getRowMapper(ms.getResultMaps().get(0))).isNotNull();
+
+        ResultSetHandler fast = new MybatisResultSetHandler(null, ms, null, null, null, RowBounds.DEFAULT);
+        ResultSetHandler mybatis = new DefaultResultSetHandler(null, ms, null, null, null, RowBounds.DEFAULT);
+        List<Object> expected = mybatis.handleResultSets(mockStatement());
+        List<Object> actual = fast.handleResultSets(mockStatement());
+        assertThat(actual).hasSize(2).isEqualTo(expected);
+        FastUser user = (FastUser) actual.get(1);
+        assertThat(user.getId()).isEqualTo(2L);
+        assertThat(user.getName()).isNull();
+        assertThat(user.getAge()).isEqualTo(20);
+        assertThat(user.getUserName()).isEqualTo("u2");
+
+        // 相同列结构复用映射关系
+        assertThat(fast.handleResultSets(mockStatement())).isEqualTo(expected);
+
+        // RowBounds
+        actual = new MybatisResultSetHandler(null, ms, null, null, null, new RowBounds(1, 10)).handleResultSets(mockStatement());
+        assertThat(actual).containsExactly(expected.get(1));
+    }
+
+    private Statement mockStatement() throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(4);
+        when(metaData.getColumnLabel(1)).thenReturn("ID");
+        when(metaData.getColumnLabel(2)).thenReturn("NAME");
+        when(metaData.getColumnLabel(3)).thenReturn("AGE");
+        when(metaData.getColumnLabel(4)).thenReturn("USER_NAME");
+        when(metaData.getColumnType(1)).thenReturn(Types.BIGINT);
+        when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+        when(metaData.getColumnType(3)).thenReturn(Types.INTEGER);
+        when(metaData.getColumnType(4)).thenReturn(Types.VARCHAR);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getLong(1)).thenReturn(1L, 2L);
+        when(rs.getLong("ID")).thenReturn(1L, 2L);
+        when(rs.getString(2)).thenReturn("a", null);
+        when(rs.getString("NAME")).thenReturn("a", null);
+        when(rs.getInt(3)).thenReturn(18, 20);
+        when(rs.getInt("AGE")).thenReturn(18, 20);
+        when(rs.getString(4)).thenReturn("u1", "u2");
+        when(rs.getString("USER_NAME")).thenReturn("u1", "u2");
+        Statement statement = mock(Statement.class);
+        when(statement.getResultSet()).thenReturn(rs);
+        return statement;
+    }
+
+    @Data
+    @TableName(value = "fast_user", fastResultMapping = true)
+    static class FastUser {
+        private Long id;
+        private String name;
+        private int age;
+        private String userName;
+    }
+
+    interface FastUserMapper extends BaseMapper<FastUser> {
+    }
+}
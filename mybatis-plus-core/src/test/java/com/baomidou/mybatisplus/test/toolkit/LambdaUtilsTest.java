@@ -12,7 +12,9 @@ import java.lang.invoke.MethodHandleProxies;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
@@ -35,6 +37,25 @@ class LambdaUtilsTest {
         test(function);
     }
 
+    /**
+     * 测试同一个 lambda 类只解析一次
+     */
+    @Test
+    void testExtractCache() {
+        LambdaMeta meta = null;
+        for (int i = 0; i < 2; i++) {
+            SFunction<TestModel, Object> function = TestModel::getName;
+            LambdaMeta current = LambdaUtils.extract(function);
+            if (meta != null) {
+                assertSame(meta, current);
+            }
+            meta = current;
+        }
+        assertEquals("getName", meta.getImplMethodName());
+        assertEquals("name", LambdaUtils.getPropertyName(meta));
+        assertNotSame(meta, LambdaUtils.extract(TestModel::getId));
+    }
+
     private void test(SFunction<TestModel, Object> function) {
         function.apply(new TestModel());
         LambdaMeta meta = LambdaUtils.extract(function);
@@ -23,6 +23,12 @@ import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.type.BaseTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.sql.CallableStatement;
@@ -36,6 +42,8 @@ import java.sql.SQLException;
  */
 public abstract class AbstractJsonTypeHandler<T> extends BaseTypeHandler<T> implements IJsonTypeHandler<T> {
 
+    private static final int BUFFER_SIZE = 1024;
+
     protected final Log log = LogFactory.getLog(this.getClass());
 
     protected final Class<?> type;
@@ -70,31 +78,131 @@ public abstract class AbstractJsonTypeHandler<T> extends BaseTypeHandler<T> impl
         this.genericType = field.getGenericType();
     }
 
+    /**
+     * 是否使用流式读写
+     * <p>
+     * 开启后通过 getCharacterStream / setCharacterStream 读写, 需要实现类重写 {@link #parse(Reader)} 与 {@link #toJson(Object, Writer)}.
+     * 读取时直接解析字符流, 不再创建完整的 json 字符串;
+     * 写入时仍需先序列化到字符缓冲区(setCharacterStream 需要长度), 只省去缓冲区到 String 的复制
+     * </p>
+     *
+     * @return 默认 false
+     * @since 3.5.9
+     */
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * 流式反序列化json, 默认读取为字符串后调用 {@link #parse(String)}
+     *
+     * @param reader json 字符流 (非空白)
+     * @return T
+     * @throws IOException 读取异常
+     * @since 3.5.9
+     */
+    public T parse(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[BUFFER_SIZE];
+        int len;
+        while ((len = reader.read(buffer)) != -1) {
+            builder.append(buffer, 0, len);
+        }
+        return parse(builder.toString());
+    }
+
+    /**
+     * 流式序列化json, 默认写入 {@link #toJson(Object)} 的结果
+     *
+     * @param obj    对象信息
+     * @param writer 输出
+     * @throws IOException 写入异常
+     * @since 3.5.9
+     */
+    public void toJson(T obj, Writer writer) throws IOException {
+        writer.write(toJson(obj));
+    }
+
     @Override
     public void setNonNullParameter(PreparedStatement ps, int i, T parameter, JdbcType jdbcType) throws SQLException {
-        ps.setString(i, toJson(parameter));
+        if (isStreaming()) {
+            JsonCharArrayWriter writer = new JsonCharArrayWriter();
+            try {
+                toJson(parameter, writer);
+            } catch (IOException e) {
+                throw new SQLException("Error writing json of " + getFieldType(), e);
+            }
+            ps.setCharacterStream(i, writer.toReader(), writer.size());
+        } else {
+            ps.setString(i, toJson(parameter));
+        }
     }
 
     @Override
     public T getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        if (isStreaming()) {
+            return parseStream(rs.getCharacterStream(columnName));
+        }
         final String json = rs.getString(columnName);
         return StringUtils.isBlank(json) ? null : parse(json);
     }
 
     @Override
     public T getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        if (isStreaming()) {
+            return parseStream(rs.getCharacterStream(columnIndex));
+        }
         final String json = rs.getString(columnIndex);
         return StringUtils.isBlank(json) ? null : parse(json);
     }
 
     @Override
     public T getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        if (isStreaming()) {
+            return parseStream(cs.getCharacterStream(columnIndex));
+        }
         final String json = cs.getString(columnIndex);
         return StringUtils.isBlank(json) ? null : parse(json);
     }
 
+    /**
+     * 流式读取, 与字符串方式一致, 空白内容返回 null
+     */
+    private T parseStream(Reader reader) throws SQLException {
+        if (reader == null) {
+            return null;
+        }
+        try (PushbackReader json = new PushbackReader(reader)) {
+            int c;
+            do {
+                c = json.read();
+                if (c == -1) {
+                    return null;
+                }
+            } while (Character.isWhitespace(c));
+            json.unread(c);
+            return parse(json);
+        } catch (IOException e) {
+            throw new SQLException("Error reading json of " + getFieldType(), e);
+        }
+    }
+
     public Type getFieldType() {
         return this.genericType != null ? this.genericType : this.type;
     }
 
+    /**
+     * 直接以内部数组作为 setCharacterStream 的输入, 避免复制
+     */
+    private static final class JsonCharArrayWriter extends CharArrayWriter {
+
+        private JsonCharArrayWriter() {
+            super(BUFFER_SIZE);
+        }
+
+        private Reader toReader() {
+            return new CharArrayReader(buf, 0, count);
+        }
+    }
+
 }
@@ -21,6 +21,7 @@ import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.MappedJdbcTypes;
 import org.apache.ibatis.type.MappedTypes;
 
+import java.io.Reader;
 import java.lang.reflect.Field;
 
 /**
@@ -33,6 +34,8 @@ import java.lang.reflect.Field;
 @MappedJdbcTypes(JdbcType.VARCHAR)
 public class Fastjson2TypeHandler extends AbstractJsonTypeHandler<Object> {
 
+    private static boolean STREAMING;
+
     public Fastjson2TypeHandler(Class<?> type) {
         super(type);
     }
@@ -46,10 +49,31 @@ public class Fastjson2TypeHandler extends AbstractJsonTypeHandler<Object> {
         return JSON.parseObject(json, this.getFieldType());
     }
 
+    @Override
+    public Object parse(Reader reader) {
+        return JSON.parseObject(reader, this.getFieldType());
+    }
+
     @Override
     public String toJson(Object obj) {
         return JSON.toJSONString(obj, JSONWriter.Feature.WriteMapNullValue,
             JSONWriter.Feature.WriteNullListAsEmpty, JSONWriter.Feature.WriteNullStringAsEmpty);
     }
 
+    @Override
+    public boolean isStreaming() {
+        return STREAMING;
+    }
+
+    /**
+     * 开启或关闭流式读写, 反序列化直接读取字符流
+     *
+     * @param streaming 是否流式读写
+     * @see AbstractJsonTypeHandler#isStreaming()
+     * @since 3.5.9
+     */
+    public static void setStreaming(boolean streaming) {
+        Fastjson2TypeHandler.STREAMING = streaming;
+    }
+
 }
@@ -25,6 +25,9 @@ import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.MappedJdbcTypes;
 import org.apache.ibatis.type.MappedTypes;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Field;
 
 /**
@@ -39,6 +42,8 @@ public class JacksonTypeHandler extends AbstractJsonTypeHandler<Object> {
 
     private static ObjectMapper OBJECT_MAPPER;
 
+    private static boolean STREAMING;
+
     public JacksonTypeHandler(Class<?> type) {
         super(type);
     }
@@ -60,6 +65,19 @@ public class JacksonTypeHandler extends AbstractJsonTypeHandler<Object> {
         }
     }
 
+    @Override
+    public Object parse(Reader reader) throws IOException {
+        ObjectMapper objectMapper = getObjectMapper();
+        TypeFactory typeFactory = objectMapper.getTypeFactory();
+        JavaType javaType = typeFactory.constructType(getFieldType());
+        try {
+            return objectMapper.readValue(reader, javaType);
+        } catch (JacksonException e) {
+            log.error("deserialize json stream to " + javaType + " error ", e);
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public String toJson(Object obj) {
         try {
@@ -70,6 +88,21 @@ public class JacksonTypeHandler extends AbstractJsonTypeHandler<Object> {
         }
     }
 
+    @Override
+    public void toJson(Object obj, Writer writer) throws IOException {
+        try {
+            getObjectMapper().writeValue(writer, obj);
+        } catch (JacksonException e) {
+            log.error("serialize " + obj + " to json error ", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return STREAMING;
+    }
+
     public static ObjectMapper getObjectMapper() {
         if (null == OBJECT_MAPPER) {
             OBJECT_MAPPER = new ObjectMapper();
@@ -82,4 +115,15 @@ public class JacksonTypeHandler extends AbstractJsonTypeHandler<Object> {
         JacksonTypeHandler.OBJECT_MAPPER = objectMapper;
     }
 
+    /**
+     * 开启或关闭流式读写
+     *
+     * @param streaming 是否流式读写
+     * @see AbstractJsonTypeHandler#isStreaming()
+     * @since 3.5.9
+     */
+    public static void setStreaming(boolean streaming) {
+        JacksonTypeHandler.STREAMING = streaming;
+    }
+
 }
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.injector.methods;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.core.batch.MultiRowSqlSource;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 批量插入或更新, 使用数据库原生多行语法, 每批次一条语句
+ * <p>
+ * MySQL: INSERT ... VALUES (...),(...) ON DUPLICATE KEY UPDATE<br>
+ * PostgreSQL/SQLite: INSERT ... VALUES (...),(...) ON CONFLICT (主键) DO UPDATE<br>
+ * Oracle/H2: MERGE INTO ... USING (SELECT ... FROM DUAL UNION ALL ...)<br>
+ * SQL Server: MERGE INTO ... USING (VALUES (...),(...))
+ * </p>
+ * <p>
+ * 插入字段为主键与 insertStrategy 不为 NEVER 的字段, 更新字段排除主键、逻辑删除字段、乐观锁字段、只有插入填充的字段与 updateStrategy 为 NEVER 的字段,
+ * updateStrategy 为 NOT_NULL 的字段值为 null 时保留原值, NOT_EMPTY 的字符串字段值为 null 或空字符串时保留原值
+ * </p>
+ * <p>
+ * 通过 BaseMapper#insertOrUpdate(Collection) 或 MybatisBatch#upsert 执行时同时执行插入填充与更新填充 (新插入的行也会写入更新填充字段),
+ * 直接调用时只执行插入填充, 更新填充字段值为 null 时保留原值
+ * </p>
+ * <p>
+ * 乐观锁字段只在插入时写入, 更新已有行时不校验也不修改版本号, 需要乐观锁时请使用 updateById
+ * </p>
+ * <p>
+ * MySQL 使用 VALUES(列名) 引用插入值, MySQL 8.0.20 起该写法已废弃 (仍可使用, 会产生警告),
+ * 行别名写法 (INSERT ... AS 别名) 需要 8.0.19+ 且 MariaDB 不支持, 需要时可重写 {@link #sqlScript(TableInfo, List, List)}
+ * </p>
+ * <p>
+ * 每条语句行数受数据库绑定参数上限限制 (maxParameters / 每行参数个数), 注入后 BaseMapper#insertOrUpdate(Collection) 自动使用本方法,
+ * 自己的通用 mapper 如下使用:
+ * <pre>
+ * int upsertBatch(@Param("list") List&lt;T&gt; entityList);
+ * </pre>
+ * </p>
+ *
+ * <li> 注意: 主键需由程序生成 (ASSIGN_ID/ASSIGN_UUID/INPUT), 自增主键只支持 MySQL 且不回写主键值 </li>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class UpsertBatch extends AbstractMethod {
+
+    private static final String TARGET = "t";
+
+    private static final String SOURCE = "s";
+
+    /**
+     * 数据库类型
+     */
+    private final DbType dbType;
+
+    /**
+     * 单条语句最大绑定参数个数
+     */
+    private final int maxParameters;
+
+    /**
+     * 字段筛选条件
+     */
+    private final Predicate<TableFieldInfo> predicate;
+
+    public UpsertBatch(DbType dbType) {
+        this(dbType, null);
+    }
+
+    /**
+     * @param dbType    数据库类型
+     * @param predicate 字段筛选条件
+     */
+    public UpsertBatch(DbType dbType, Predicate<TableFieldInfo> predicate) {
+        this(SqlMethod.UPSERT_BATCH.getMethod(), dbType, maxParameters(dbType), predicate);
+    }
+
+    /**
+     * @param name          方法名
+     * @param dbType        数据库类型
+     * @param maxParameters 单条语句最大绑定参数个数
+     * @param predicate     字段筛选条件
+     */
+    public UpsertBatch(String name, DbType dbType, int maxParameters, Predicate<TableFieldInfo> predicate) {
+        super(name);
+        Assert.isTrue(maxParameters > 0, "maxParameters must be greater than zero");
+        this.dbType = dbType;
+        this.maxParameters = maxParameters;
+        this.predicate = predicate;
+        // 提前校验方言
+        dialect(dbType);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        if (!tableInfo.havePK()) {
+            logger.warn(String.format("%s ,Not found @TableId annotation, Cannot use Mybatis-Plus 'upsertBatch' Method.", modelClass));
+            return null;
+        }
+        List<TableFieldInfo> insertFields = tableInfo.getFieldList().stream()
+            .filter(i -> i.getInsertStrategy() != FieldStrategy.NEVER)
+            .filter(i -> predicate == null || predicate.test(i))
+            .collect(Collectors.toList());
+        List<TableFieldInfo> updateFields = insertFields.stream()
+            .filter(i -> !i.isLogicDelete() && !i.isVersion() && i.getUpdateStrategy() != FieldStrategy.NEVER)
+            // 只有插入填充的字段 (例如创建时间) 不更新
+            .filter(i -> !i.isWithInsertFill() || i.isWithUpdateFill())
+            .collect(Collectors.toList());
+        String sql = String.format(SqlMethod.UPSERT_BATCH.getSql(), sqlScript(tableInfo, insertFields, updateFields));
+        int maxRows = maxParameters / (insertFields.size() + 1);
+        SqlSource sqlSource = new MultiRowSqlSource(super.createSqlSource(configuration, sql, modelClass), maxRows);
+        KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
+        String keyProperty = null;
+        String keyColumn = null;
+        if (null != tableInfo.getKeySequence()) {
+            keyGenerator = TableInfoHelper.genKeyGenerator(this.methodName, tableInfo, builderAssistant);
+            keyProperty = tableInfo.getKeyProperty();
+            keyColumn = tableInfo.getKeyColumn();
+        }
+        return this.addInsertMappedStatement(mapperClass, modelClass, methodName, sqlSource, keyGenerator, keyProperty, keyColumn);
+    }
+
+    /**
+     * 生成 sql 脚本
+     *
+     * @param tableInfo    表信息
+     * @param insertFields 插入字段 (不含主键)
+     * @param updateFields 更新字段 (不含主键)
+     * @return sql 脚本
+     */
+    protected String sqlScript(TableInfo tableInfo, List<TableFieldInfo> insertFields, List<TableFieldInfo> updateFields) {
+        String tableName = tableInfo.getTableName();
+        String keyColumn = tableInfo.getKeyColumn();
+        String columns = keyColumn + insertFields.stream().map(i -> COMMA + i.getColumn()).collect(Collectors.joining());
+        String values = SqlScriptUtils.safeParam(ENTITY_DOT + tableInfo.getKeyProperty())
+            + insertFields.stream().map(i -> COMMA + insertValue(i)).collect(Collectors.joining());
+        switch (dialect(dbType)) {
+            case MYSQL: {
+                String rows = SqlScriptUtils.convertForeach(LEFT_BRACKET + values + RIGHT_BRACKET, "list", null, ENTITY, COMMA);
+                // VALUES(列名) 自 MySQL 8.0.20 起废弃, 为兼容 5.7 与 MariaDB 仍使用该写法
+                String set = updateFields.isEmpty() ? keyColumn + EQUALS + keyColumn : updateFields.stream()
+                    .map(i -> i.getColumn() + EQUALS + updateValue(i, "VALUES(" + i.getColumn() + RIGHT_BRACKET, i.getColumn()))
+                    .collect(Collectors.joining(COMMA));
+                return "INSERT INTO " + tableName + " (" + columns + ") VALUES " + rows + NEWLINE + "ON DUPLICATE KEY UPDATE " + set;
+            }
+            case POSTGRE_SQL: {
+                String rows = SqlScriptUtils.convertForeach(LEFT_BRACKET + values + RIGHT_BRACKET, "list", null, ENTITY, COMMA);
+                String conflict = "ON CONFLICT (" + keyColumn + ") ";
+                if (updateFields.isEmpty()) {
+                    return "INSERT INTO " + tableName + " (" + columns + ") VALUES " + rows + NEWLINE + conflict + "DO NOTHING";
+                }
+                String set = updateFields.stream()
+                    .map(i -> i.getColumn() + EQUALS + updateValue(i, "EXCLUDED." + i.getColumn(), tableName + DOT + i.getColumn()))
+                    .collect(Collectors.joining(COMMA));
+                return "INSERT INTO " + tableName + " (" + columns + ") VALUES " + rows + NEWLINE + conflict + "DO UPDATE SET " + set;
+            }
+            case ORACLE: {
+                String select = "SELECT " + SqlScriptUtils.safeParam(ENTITY_DOT + tableInfo.getKeyProperty()) + " " + keyColumn
+                    + insertFields.stream().map(i -> COMMA + insertValue(i) + " " + i.getColumn())
+                    .collect(Collectors.joining()) + " FROM DUAL";
+                String source = "(" + SqlScriptUtils.convertForeach(select, "list", null, ENTITY, " UNION ALL ") + ") " + SOURCE;
+                return merge(tableName + " " + TARGET, source, keyColumn, columns, insertFields, updateFields);
+            }
+            default: {
+                String rows = SqlScriptUtils.convertForeach(LEFT_BRACKET + values + RIGHT_BRACKET, "list", null, ENTITY, COMMA);
+                String source = "(VALUES " + rows + ") AS " + SOURCE + " (" + columns + ")";
+                // SQL Server 的 MERGE 语句必须以分号结束
+                return merge(tableName + " AS " + TARGET, source, keyColumn, columns, insertFields, updateFields) + SEMICOLON;
+            }
+        }
+    }
+
+    private String merge(String target, String source, String keyColumn, String columns,
+                         List<TableFieldInfo> insertFields, List<TableFieldInfo> updateFields) {
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(target).append(" USING ").append(source)
+            .append(NEWLINE).append("ON (").append(TARGET).append(DOT).append(keyColumn).append(EQUALS)
+            .append(SOURCE).append(DOT).append(keyColumn).append(RIGHT_BRACKET).append(NEWLINE);
+        if (!updateFields.isEmpty()) {
+            sql.append("WHEN MATCHED THEN UPDATE SET ").append(updateFields.stream()
+                    .map(i -> i.getColumn() + EQUALS + updateValue(i, SOURCE + DOT + i.getColumn(), TARGET + DOT + i.getColumn()))
+                    .collect(Collectors.joining(COMMA)))
+                .append(NEWLINE);
+        }
+        String values = SOURCE + DOT + keyColumn + insertFields.stream().map(i -> COMMA + SOURCE + DOT + i.getColumn()).collect(Collectors.joining());
+        return sql.append("WHEN NOT MATCHED THEN INSERT (").append(columns).append(") VALUES (").append(values).append(RIGHT_BRACKET).toString();
+    }
+
+    /**
+     * 插入值, 所有行插入相同的列, 逻辑删除字段值为 null 时使用未删除值 (普通插入时省略该列使用数据库默认值)
+     */
+    private String insertValue(TableFieldInfo fieldInfo) {
+        String value = SqlScriptUtils.safeParam(ENTITY_DOT + fieldInfo.getEl());
+        String notDeleteValue = fieldInfo.getLogicNotDeleteValue();
+        if (!fieldInfo.isLogicDelete() || NULL.equalsIgnoreCase(notDeleteValue)) {
+            return value;
+        }
+        return "COALESCE(" + value + COMMA + String.format(fieldInfo.isCharSequence() ? "'%s'" : "%s", notDeleteValue) + RIGHT_BRACKET;
+    }
+
+    /**
+     * 更新值, NOT_NULL 策略的字段新值为 null 时保留原值, NOT_EMPTY 策略的字符串字段新值为 null 或空字符串时保留原值
+     */
+    private String updateValue(TableFieldInfo fieldInfo, String newValue, String oldValue) {
+        FieldStrategy updateStrategy = fieldInfo.getUpdateStrategy();
+        if (updateStrategy == FieldStrategy.IGNORED || updateStrategy == FieldStrategy.ALWAYS) {
+            return newValue;
+        }
+        if (updateStrategy == FieldStrategy.NOT_EMPTY && fieldInfo.isCharSequence()) {
+            newValue = "NULLIF(" + newValue + COMMA + "''" + RIGHT_BRACKET;
+        }
+        return "COALESCE(" + newValue + COMMA + oldValue + RIGHT_BRACKET;
+    }
+
+    /**
+     * 单条语句默认最大绑定参数个数
+     *
+     * @param dbType 数据库类型
+     * @return 最大绑定参数个数
+     */
+    public static int maxParameters(DbType dbType) {
+        Assert.notNull(dbType, "dbType must not be null");
+        switch (dbType) {
+            case SQL_SERVER:
+            case SQL_SERVER2005:
+                // 上限 2100, 预留部分给驱动
+                return 2000;
+            case POSTGRE_SQL:
+            case KINGBASE_ES:
+            case OPENGAUSS:
+            case GAUSS:
+            case SQLITE:
+                return 32766;
+            default:
+                return 65535;
+        }
+    }
+
+    /**
+     * 方言归类
+     */
+    private static DbType dialect(DbType dbType) {
+        Assert.notNull(dbType, "dbType must not be null");
+        switch (dbType) {
+            case MYSQL:
+            case MARIADB:
+            case OCEAN_BASE:
+                return DbType.MYSQL;
+            case POSTGRE_SQL:
+            case KINGBASE_ES:
+            case OPENGAUSS:
+            case GAUSS:
+            case SQLITE:
+                return DbType.POSTGRE_SQL;
+            case ORACLE:
+            case ORACLE_12C:
+            case DM:
+            case H2:
+                return DbType.ORACLE;
+            case SQL_SERVER:
+            case SQL_SERVER2005:
+                return DbType.SQL_SERVER;
+            default:
+                throw ExceptionUtils.mpe("UpsertBatch does not support dbType: %s", dbType);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package com.baomidou.mybatisplus.extension.plugins;
 
 import com.baomidou.mybatisplus.core.toolkit.ClassUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
 import com.baomidou.mybatisplus.extension.toolkit.PropertyMapper;
@@ -31,6 +32,7 @@ import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
 import java.sql.Connection;
+import java.sql.Statement;
 import java.util.*;
 
 /**
@@ -71,14 +73,35 @@ public class MybatisPlusInterceptor implements Interceptor {
                     // 几乎不可能走进这里面,除非使用Executor的代理对象调用query[args[6]]
                     boundSql = (BoundSql) args[5];
                 }
-                for (InnerInterceptor query : interceptors) {
-                    if (!query.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql)) {
-                        return Collections.emptyList();
+                boolean completed = false;
+                try {
+                    SharedSqlContext context = SharedSqlContext.open(boundSql);
+                    try {
+                        for (InnerInterceptor query : interceptors) {
+                            context.enter(query);
+                            if (!query.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql)) {
+                                return Collections.emptyList();
+                            }
+                            query.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+                        }
+                        context.flush();
+                    } finally {
+                        context.close();
+                    }
+                    CacheKey cacheKey = executor.createCacheKey(ms, parameter, rowBounds, boundSql);
+                    List<Object> result = executor.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
+                    for (InnerInterceptor query : interceptors) {
+                        query.afterQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql, result);
+                    }
+                    completed = true;
+                    return result;
+                } finally {
+                    if (!completed) {
+                        for (InnerInterceptor query : interceptors) {
+                            query.afterQueryAborted(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+                        }
                     }
-                    query.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
                 }
-                CacheKey cacheKey = executor.createCacheKey(ms, parameter, rowBounds, boundSql);
-                return executor.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
             } else if (isUpdate) {
                 for (InnerInterceptor update : interceptors) {
                     if (!update.willDoUpdate(executor, ms, parameter)) {
@@ -90,17 +113,40 @@ public class MybatisPlusInterceptor implements Interceptor {
         } else {
             // StatementHandler
             final StatementHandler sh = (StatementHandler) target;
-            // 目前只有StatementHandler.getBoundSql方法args才为null
-            if (null == args) {
-                for (InnerInterceptor innerInterceptor : interceptors) {
-                    innerInterceptor.beforeGetBoundSql(sh);
+            SharedSqlContext context = this.openSharedSqlContext(sh);
+            try {
+                // 目前只有StatementHandler.getBoundSql方法args才为null
+                if (null == args) {
+                    for (InnerInterceptor innerInterceptor : interceptors) {
+                        if (context != null) {
+                            context.enter(innerInterceptor);
+                        }
+                        innerInterceptor.beforeGetBoundSql(sh);
+                    }
+                } else {
+                    Connection connections = (Connection) args[0];
+                    Integer transactionTimeout = (Integer) args[1];
+                    for (InnerInterceptor innerInterceptor : interceptors) {
+                        if (context != null) {
+                            context.enter(innerInterceptor);
+                        }
+                        innerInterceptor.beforePrepare(sh, connections, transactionTimeout);
+                    }
+                }
+                if (context != null) {
+                    context.flush();
+                }
+            } finally {
+                if (context != null) {
+                    context.close();
                 }
-            } else {
-                Connection connections = (Connection) args[0];
-                Integer transactionTimeout = (Integer) args[1];
+            }
+            if (null != args) {
+                Statement statement = (Statement) invocation.proceed();
                 for (InnerInterceptor innerInterceptor : interceptors) {
-                    innerInterceptor.beforePrepare(sh, connections, transactionTimeout);
+                    statement = innerInterceptor.afterPrepare(sh, statement);
                 }
+                return statement;
             }
         }
         return invocation.proceed();
@@ -114,6 +160,21 @@ public class MybatisPlusInterceptor implements Interceptor {
         return target;
     }
 
+    /**
+     * 存在支持共享解析结果的拦截器时才开启上下文, 避免无谓的反射获取 BoundSql
+     *
+     * @param sh StatementHandler
+     * @return 上下文
+     */
+    protected SharedSqlContext openSharedSqlContext(StatementHandler sh) {
+        for (InnerInterceptor innerInterceptor : interceptors) {
+            if (innerInterceptor.supportSharedSql()) {
+                return SharedSqlContext.open(PluginUtils.mpStatementHandler(sh).boundSql());
+            }
+        }
+        return null;
+    }
+
     public void addInnerInterceptor(InnerInterceptor innerInterceptor) {
         this.interceptors.add(innerInterceptor);
     }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import org.apache.ibatis.mapping.BoundSql;
+
+import java.util.function.Function;
+
+/**
+ * 单次拦截内共享的 SQL 解析结果
+ * <p>
+ * 由 {@link MybatisPlusInterceptor} 针对当前 {@link BoundSql} 创建,
+ * {@link InnerInterceptor#supportSharedSql()} 为 true 的拦截器直接修改同一份解析结果(不回写 sql),
+ * 在交给其他拦截器或执行 SQL 之前才渲染一次 sql.
+ * </p>
+ * 解析结果仅在其对应的 sql 与当前 sql 一致时才会被复用, sql 被其他方式修改后会自动失效.
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public final class SharedSqlContext {
+
+    private static final ThreadLocal<SharedSqlContext> CONTEXT = new ThreadLocal<>();
+
+    /**
+     * 外层上下文(例如 count 查询执行时嵌套的 StatementHandler 拦截)
+     */
+    private final SharedSqlContext previous;
+    private final BoundSql boundSql;
+    /**
+     * 当前执行的拦截器是否支持共享解析结果
+     */
+    private boolean sharing;
+    /**
+     * 解析结果对应的 sql
+     */
+    private String sql;
+    private Object parsed;
+    private Function<Object, String> renderer;
+    /**
+     * 解析结果是否已修改但尚未渲染
+     */
+    private boolean modified;
+
+    private SharedSqlContext(SharedSqlContext previous, BoundSql boundSql) {
+        this.previous = previous;
+        this.boundSql = boundSql;
+    }
+
+    /**
+     * 为当前线程开启上下文, 必须在 finally 中调用 {@link #close()}
+     *
+     * @param boundSql BoundSql
+     * @return 上下文
+     */
+    public static SharedSqlContext open(BoundSql boundSql) {
+        SharedSqlContext context = new SharedSqlContext(CONTEXT.get(), boundSql);
+        CONTEXT.set(context);
+        return context;
+    }
+
+    /**
+     * 获取当前线程的上下文
+     *
+     * @return 上下文, 未开启时为 null
+     */
+    public static SharedSqlContext current() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * 关闭上下文并恢复外层上下文
+     */
+    public void close() {
+        if (previous == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(previous);
+        }
+    }
+
+    /**
+     * 切换到下一个拦截器, 不支持共享解析结果的拦截器执行前会先渲染 sql
+     *
+     * @param interceptor 拦截器
+     */
+    public void enter(InnerInterceptor interceptor) {
+        this.sharing = interceptor.supportSharedSql();
+        if (!sharing) {
+            flush();
+        }
+    }
+
+    /**
+     * 当前拦截器是否可以延迟渲染
+     */
+    public boolean isSharing() {
+        return sharing;
+    }
+
+    /**
+     * 指定 sql 是否为当前 {@link BoundSql} 的 sql
+     *
+     * @param sql sql
+     * @return 是否一致
+     */
+    public boolean matches(String sql) {
+        return sql != null && sql.equals(boundSql.getSql());
+    }
+
+    /**
+     * 获取指定 sql 的解析结果
+     *
+     * @param sql sql
+     * @return 解析结果, sql 与解析结果不一致时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String sql) {
+        if (parsed != null && sql != null && sql.equals(this.sql)) {
+            return (T) parsed;
+        }
+        return null;
+    }
+
+    /**
+     * 存入解析结果
+     *
+     * @param sql      解析结果对应的 sql
+     * @param parsed   解析结果
+     * @param renderer 解析结果渲染为 sql 的方式
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void put(String sql, T parsed, Function<T, String> renderer) {
+        this.sql = sql;
+        this.parsed = parsed;
+        this.renderer = (Function<Object, String>) renderer;
+        this.modified = false;
+    }
+
+    /**
+     * 标记解析结果已被修改, 等待 {@link #flush()} 时渲染
+     */
+    public void modified() {
+        this.modified = true;
+    }
+
+    /**
+     * 若解析结果有修改则渲染并写回 {@link BoundSql}
+     *
+     * @return 当前 sql
+     */
+    public String flush() {
+        if (modified) {
+            PluginUtils.mpBoundSql(boundSql).sql(render());
+        }
+        return boundSql.getSql();
+    }
+
+    /**
+     * 渲染解析结果, 不写回 {@link BoundSql}
+     * <p>
+     * 渲染后的 sql 被写回 BoundSql 之前解析结果不会被复用
+     *
+     * @return 渲染后的 sql
+     */
+    public String render() {
+        modified = false;
+        sql = renderer.apply(parsed);
+        return sql;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.SharedSqlContext;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.BatchExecutor;
 import org.apache.ibatis.executor.Executor;
@@ -27,7 +29,9 @@ import org.apache.ibatis.session.RowBounds;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -70,6 +74,39 @@ public interface InnerInterceptor {
         // do nothing
     }
 
+    /**
+     * {@link Executor#query(MappedStatement, Object, RowBounds, ResultHandler, CacheKey, BoundSql)} 操作后置处理
+     * <p>
+     * 结果可能来自缓存
+     *
+     * @param executor      Executor(可能是代理对象)
+     * @param ms            MappedStatement
+     * @param parameter     parameter
+     * @param rowBounds     rowBounds
+     * @param resultHandler resultHandler
+     * @param boundSql      boundSql
+     * @param result        查询结果
+     * @since 3.5.9
+     */
+    default void afterQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql, List<?> result) throws SQLException {
+        // do nothing
+    }
+
+    /**
+     * 查询未正常完成 (被拦截器中止或者抛出异常) 时调用, 用于释放 {@link #willDoQuery}/{@link #beforeQuery} 中申请的资源
+     *
+     * @param executor      Executor(可能是代理对象)
+     * @param ms            MappedStatement
+     * @param parameter     parameter
+     * @param rowBounds     rowBounds
+     * @param resultHandler resultHandler
+     * @param boundSql      boundSql
+     * @since 3.5.9
+     */
+    default void afterQueryAborted(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+        // do nothing
+    }
+
     /**
      * 判断是否执行 {@link Executor#update(MappedStatement, Object)}
      * <p>
@@ -120,6 +157,33 @@ public interface InnerInterceptor {
         // do nothing
     }
 
+    /**
+     * {@link StatementHandler#prepare(Connection, Integer)} 操作后置处理
+     * <p>
+     * 可以包装返回的 Statement
+     *
+     * @param sh        StatementHandler(可能是代理对象)
+     * @param statement Statement
+     * @return Statement
+     * @since 3.5.9
+     */
+    default Statement afterPrepare(StatementHandler sh, Statement statement) {
+        return statement;
+    }
+
+    /**
+     * 是否直接修改 {@link SharedSqlContext} 中共享的解析结果
+     * <p>
+     * 返回 true 的拦截器修改解析结果后不必回写 sql, 由 {@link MybatisPlusInterceptor} 统一渲染;
+     * 返回 false 的拦截器执行前会先渲染 sql, 保证读取到的 sql 是最新的
+     *
+     * @return 是否支持共享解析结果
+     * @since 3.5.9
+     */
+    default boolean supportSharedSql() {
+        return false;
+    }
+
     default void setProperties(Properties properties) {
         // do nothing
     }
@@ -31,11 +31,11 @@ import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.reflect.PropertyAccessor;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
 
-import java.lang.reflect.Field;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -124,39 +124,35 @@ public class OptimisticLockerInnerInterceptor implements InnerInterceptor {
                 return;
             }
 
-            try {
-                Field versionField = fieldInfo.getField();
-                // 旧的 version 值
-                Object originalVersionVal = versionField.get(et);
-                if (originalVersionVal == null) {
-                    if (null != exception) {
-                        /**
-                         * 自定义异常处理
-                         */
-                        throw exception;
-                    }
-                    return;
+            PropertyAccessor versionAccessor = fieldInfo.getFieldAccessor();
+            // 旧的 version 值
+            Object originalVersionVal = versionAccessor.get(et);
+            if (originalVersionVal == null) {
+                if (null != exception) {
+                    /**
+                     * 自定义异常处理
+                     */
+                    throw exception;
                 }
-                String versionColumn = fieldInfo.getColumn();
-                // 新的 version 值
-                Object updatedVersionVal = this.getUpdatedVersionVal(fieldInfo.getPropertyType(), originalVersionVal);
-                String methodName = msId.substring(msId.lastIndexOf(StringPool.DOT) + 1);
-                if ("update".equals(methodName)) {
-                    AbstractWrapper<?, ?, ?> aw = (AbstractWrapper<?, ?, ?>) map.getOrDefault(Constants.WRAPPER, null);
-                    if (aw == null) {
-                        UpdateWrapper<?> uw = new UpdateWrapper<>();
-                        uw.eq(versionColumn, originalVersionVal);
-                        map.put(Constants.WRAPPER, uw);
-                    } else {
-                        aw.apply(versionColumn + " = {0}", originalVersionVal);
-                    }
+                return;
+            }
+            String versionColumn = fieldInfo.getColumn();
+            // 新的 version 值
+            Object updatedVersionVal = this.getUpdatedVersionVal(fieldInfo.getPropertyType(), originalVersionVal);
+            String methodName = msId.substring(msId.lastIndexOf(StringPool.DOT) + 1);
+            if ("update".equals(methodName)) {
+                AbstractWrapper<?, ?, ?> aw = (AbstractWrapper<?, ?, ?>) map.getOrDefault(Constants.WRAPPER, null);
+                if (aw == null) {
+                    UpdateWrapper<?> uw = new UpdateWrapper<>();
+                    uw.eq(versionColumn, originalVersionVal);
+                    map.put(Constants.WRAPPER, uw);
                 } else {
-                    map.put(Constants.MP_OPTLOCK_VERSION_ORIGINAL, originalVersionVal);
+                    aw.apply(versionColumn + " = {0}", originalVersionVal);
                 }
-                versionField.set(et, updatedVersionVal);
-            } catch (IllegalAccessException e) {
-                throw ExceptionUtils.mpe(e);
+            } else {
+                map.put(Constants.MP_OPTLOCK_VERSION_ORIGINAL, originalVersionVal);
             }
+            versionAccessor.set(et, updatedVersionVal);
         }
 
         // update(LambdaUpdateWrapper) or update(UpdateWrapper)
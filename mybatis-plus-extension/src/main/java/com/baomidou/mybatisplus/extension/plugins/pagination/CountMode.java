@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.pagination;
+
+/**
+ * 分页总数获取方式
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public enum CountMode {
+    /**
+     * 精确 count 查询
+     */
+    EXACT,
+    /**
+     * 使用数据库执行计划估算, 方言不支持或者无法解析时使用精确 count 查询
+     */
+    ESTIMATED,
+    /**
+     * 缓存精确 count 查询结果, 相同 sql 与参数在有效期内不再查询
+     */
+    CACHED
+}
@@ -39,7 +39,7 @@ public class DialectFactory {
             }
             // mysql same type
             else if (dbType.mysqlSameType()) {
-                dialect = new MySqlDialect();
+                dialect = new MySqlDialect(dbType);
             }
             // oracle same type
             else if (dbType.oracleSameType()) {
@@ -47,14 +47,14 @@ public class DialectFactory {
             }
             // postgresql same type
             else if (dbType.postgresqlSameType()) {
-                dialect = new PostgreDialect();
+                dialect = new PostgreDialect(dbType);
             }
             // other types
             else if (dbType == DbType.ORACLE_12C
                 || dbType == DbType.FIREBIRD
                 || dbType == DbType.SQL_SERVER
                 || dbType == DbType.DERBY) {
-                dialect = new Oracle12cDialect();
+                dialect = new Oracle12cDialect(dbType);
             } else if (dbType == DbType.DB2) {
                 dialect = new DB2Dialect();
             } else if (dbType == DbType.SQL_SERVER2005) {
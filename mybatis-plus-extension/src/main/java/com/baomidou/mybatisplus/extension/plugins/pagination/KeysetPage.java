@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.pagination;
+
+import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
+import com.baomidou.mybatisplus.core.toolkit.support.ColumnCache;
+import com.baomidou.mybatisplus.core.toolkit.support.LambdaMeta;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * keyset(seek) 分页模型
+ * <p>
+ * 不使用 OFFSET, 而是以上一页最后一条记录的排序字段值作为条件: WHERE (k1, k2) > (?, ?) ORDER BY k1, k2 LIMIT n,
+ * 翻页深度不影响查询性能, 适用于无限滚动等只需要下一页的场景.
+ * </p>
+ * <p>
+ * 排序字段即 {@link #orders()}, 组合起来必须唯一且不为 null (通常以主键结尾), 默认不进行 count 查询
+ * </p>
+ * <pre>
+ *     KeysetPage&lt;User&gt; page = new KeysetPage&lt;User&gt;(20).asc(User::getCreateTime).asc(User::getId);
+ *     userMapper.selectPage(page, Wrappers.&lt;User&gt;lambdaQuery().eq(User::getStatus, 1));
+ *     KeysetPage&lt;User&gt; nextPage = page.next();
+ * </pre>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class KeysetPage<T> extends Page<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 上一页最后一条记录的排序字段值, 与 orders 一一对应, 为空时查询第一页
+     */
+    private List<Object> lastKeys;
+    /**
+     * 通过 lambda 添加的排序字段取值方式, 用于 {@link #next()}, 反序列化后为 null
+     */
+    private transient List<SFunction<T, ?>> keyGetters;
+
+    public KeysetPage() {
+        this(10);
+    }
+
+    public KeysetPage(long size) {
+        super(1, size, false);
+    }
+
+    public KeysetPage(long size, Object... lastKeys) {
+        this(size);
+        setLastKeyValues(lastKeys);
+    }
+
+    public KeysetPage(long size, List<?> lastKeys) {
+        this(size);
+        setLastKeys(lastKeys);
+    }
+
+    /**
+     * 添加正序排序字段
+     *
+     * @param column 字段
+     * @return this
+     */
+    public KeysetPage<T> asc(SFunction<T, ?> column) {
+        return addKey(column, true);
+    }
+
+    /**
+     * 添加倒序排序字段
+     *
+     * @param column 字段
+     * @return this
+     */
+    public KeysetPage<T> desc(SFunction<T, ?> column) {
+        return addKey(column, false);
+    }
+
+    protected KeysetPage<T> addKey(SFunction<T, ?> column, boolean asc) {
+        LambdaMeta meta = LambdaUtils.extract(column);
+        Class<?> instantiatedClass = meta.getInstantiatedClass();
+        Map<String, ColumnCache> columnMap = LambdaUtils.getColumnMap(instantiatedClass);
+        Assert.notNull(columnMap, "can not find lambda cache for this entity [%s]", instantiatedClass.getName());
+        ColumnCache columnCache = LambdaUtils.getColumnCache(meta, columnMap);
+        Assert.notNull(columnCache, "can not find lambda cache for this property [%s] of entity [%s]",
+            LambdaUtils.getPropertyName(meta), instantiatedClass.getName());
+        addOrder(asc ? OrderItem.asc(columnCache.getColumn()) : OrderItem.desc(columnCache.getColumn()));
+        keyGetters().add(column);
+        return this;
+    }
+
+    /**
+     * keyset 分页不使用偏移量
+     */
+    @Override
+    public long offset() {
+        return 0L;
+    }
+
+    /**
+     * 当前页记录数达到每页条数时认为存在下一页
+     */
+    @Override
+    public boolean hasNext() {
+        return getSize() > 0 && getRecords().size() >= getSize();
+    }
+
+    /**
+     * 根据当前页最后一条记录生成下一页, 排序字段需全部通过 lambda 添加
+     *
+     * @return 下一页
+     */
+    public KeysetPage<T> next() {
+        List<SFunction<T, ?>> getters = keyGetters();
+        Assert.isTrue(getters.size() == orders().size(), "next page requires all orders added by lambda, please use setLastKeys");
+        KeysetPage<T> next = new KeysetPage<>(getSize());
+        next.addOrder(orders());
+        next.keyGetters().addAll(getters);
+        next.setSearchCount(searchCount());
+        next.setMaxLimit(maxLimit());
+        List<T> records = getRecords();
+        if (CollectionUtils.isEmpty(records)) {
+            next.lastKeys = lastKeys;
+        } else {
+            T last = records.get(records.size() - 1);
+            List<Object> keys = new ArrayList<>(getters.size());
+            getters.forEach(getter -> keys.add(getter.apply(last)));
+            next.lastKeys = keys;
+        }
+        return next;
+    }
+
+    private List<SFunction<T, ?>> keyGetters() {
+        if (keyGetters == null) {
+            keyGetters = new ArrayList<>();
+        }
+        return keyGetters;
+    }
+
+    public List<Object> getLastKeys() {
+        return lastKeys;
+    }
+
+    public KeysetPage<T> setLastKeys(List<?> lastKeys) {
+        this.lastKeys = lastKeys == null ? null : new ArrayList<>(lastKeys);
+        return this;
+    }
+
+    /**
+     * 按排序字段顺序设置上一页最后一条记录的值
+     *
+     * @param lastKeys 排序字段值
+     * @return this
+     */
+    public KeysetPage<T> setLastKeyValues(Object... lastKeys) {
+        this.lastKeys = lastKeys == null || lastKeys.length == 0 ? Collections.emptyList() : Arrays.asList(lastKeys);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPage{lastKeys=" + lastKeys + "} " + super.toString();
+    }
+}
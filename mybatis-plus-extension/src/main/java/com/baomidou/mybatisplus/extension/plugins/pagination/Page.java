@@ -83,6 +83,26 @@ public class Page<T> implements IPage<T> {
      */
     @Setter
     private String countId;
+    /**
+     * {@link #windowCount()}
+     */
+    @Setter
+    private boolean windowCount = false;
+    /**
+     * {@link #deferredJoin()}
+     */
+    @Setter
+    private boolean deferredJoin = false;
+    /**
+     * 总数获取方式
+     */
+    @Setter
+    private CountMode countMode = CountMode.EXACT;
+    /**
+     * 实际得到总数的方式, 例如估算失败时为 {@link CountMode#EXACT}
+     */
+    @Setter
+    private CountMode totalCountMode;
 
     public Page() {
     }
@@ -256,6 +276,24 @@ public class Page<T> implements IPage<T> {
         return optimizeJoinOfCountSql;
     }
 
+    @Override
+    public boolean windowCount() {
+        return windowCount;
+    }
+
+    @Override
+    public boolean deferredJoin() {
+        return deferredJoin;
+    }
+
+    public CountMode countMode() {
+        return countMode;
+    }
+
+    public CountMode getTotalCountMode() {
+        return totalCountMode;
+    }
+
     public Page<T> setSearchCount(boolean searchCount) {
         this.searchCount = searchCount;
         return this;
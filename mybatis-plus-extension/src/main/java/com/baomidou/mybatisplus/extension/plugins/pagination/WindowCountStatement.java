@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.pagination;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.function.LongConsumer;
+
+/**
+ * 窗口函数 count 查询的 Statement 包装
+ * <p>
+ * 分页 sql 最后一列为 COUNT(*) OVER(), 读取第一行时取出总数, 并对结果映射隐藏该列
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public final class WindowCountStatement {
+
+    private WindowCountStatement() {
+    }
+
+    /**
+     * 包装 Statement
+     *
+     * @param statement     Statement
+     * @param totalConsumer 读取到总数后的回调
+     * @return 包装后的 Statement
+     */
+    public static Statement wrap(Statement statement, LongConsumer totalConsumer) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(WindowCountStatement.class.getClassLoader(), new Class[]{type},
+            (proxy, method, args) -> {
+                Object result = invoke(statement, method, args);
+                if (result instanceof ResultSet && ("getResultSet".equals(method.getName()) || "executeQuery".equals(method.getName()))) {
+                    return wrap((ResultSet) result, totalConsumer);
+                }
+                return result;
+            });
+    }
+
+    private static ResultSet wrap(ResultSet resultSet, LongConsumer totalConsumer) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean first = true;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "getMetaData":
+                        return wrap(resultSet.getMetaData());
+                    case "next":
+                        boolean next = resultSet.next();
+                        if (next && first) {
+                            first = false;
+                            totalConsumer.accept(resultSet.getLong(resultSet.getMetaData().getColumnCount()));
+                        }
+                        return next;
+                    default:
+                        return WindowCountStatement.invoke(resultSet, method, args);
+                }
+            }
+        };
+        return (ResultSet) Proxy.newProxyInstance(WindowCountStatement.class.getClassLoader(), new Class[]{ResultSet.class}, handler);
+    }
+
+    private static ResultSetMetaData wrap(ResultSetMetaData metaData) {
+        return (ResultSetMetaData) Proxy.newProxyInstance(WindowCountStatement.class.getClassLoader(), new Class[]{ResultSetMetaData.class},
+            (proxy, method, args) -> {
+                if ("getColumnCount".equals(method.getName())) {
+                    return metaData.getColumnCount() - 1;
+                }
+                return invoke(metaData, method, args);
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -18,6 +18,9 @@ package com.baomidou.mybatisplus.extension.plugins.pagination.dialects;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 数据库 分页语句组装接口
  *
@@ -41,4 +44,50 @@ public interface IDialect {
      * @return 分页模型
      */
     DialectModel buildPaginationSql(String originalSql, long offset, long limit);
+
+    /**
+     * 是否支持行值比较, 例如: (a, b) &gt; (?, ?)
+     * <p>
+     * keyset 分页多个同向排序字段时使用, 不支持则展开为 a &gt; ? OR (a = ? AND b &gt; ?)
+     *
+     * @return 是否支持
+     * @since 3.5.9
+     */
+    default boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * 是否支持在分页语句中使用窗口函数 COUNT(*) OVER() 获取总数
+     * <p>
+     * 分页语句不能额外增加查询列, 数据库需要支持窗口函数(例如 mysql 8.0+)
+     *
+     * @return 是否支持
+     * @since 3.5.9
+     */
+    default boolean supportsWindowCount() {
+        return false;
+    }
+
+    /**
+     * 组装执行计划语句, 用于估算查询结果总数
+     *
+     * @param originalSql 原始语句
+     * @return 执行计划语句, 不支持时返回 null
+     * @since 3.5.9
+     */
+    default String buildEstimateCountSql(String originalSql) {
+        return null;
+    }
+
+    /**
+     * 从执行计划结果中解析估算总数
+     *
+     * @param plan 执行计划结果
+     * @return 估算总数, 无法解析时返回 -1
+     * @since 3.5.9
+     */
+    default long parseEstimateCount(List<Map<String, Object>> plan) {
+        return -1;
+    }
 }
@@ -15,9 +15,14 @@
  */
 package com.baomidou.mybatisplus.extension.plugins.pagination.dialects;
 
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * MYSQL 数据库分页语句组装实现
  *
@@ -26,6 +31,23 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
  */
 public class MySqlDialect implements IDialect {
 
+    /**
+     * 实际数据库类型, 同一方言下各数据库支持的语法不同
+     */
+    private final DbType dbType;
+
+    public MySqlDialect() {
+        this(DbType.MYSQL);
+    }
+
+    /**
+     * @param dbType 数据库类型
+     * @since 3.5.9
+     */
+    public MySqlDialect(DbType dbType) {
+        this.dbType = dbType;
+    }
+
     @Override
     public DialectModel buildPaginationSql(String originalSql, long offset, long limit) {
         StringBuilder sql = new StringBuilder(originalSql).append(" LIMIT ").append(FIRST_MARK);
@@ -36,4 +58,42 @@ public class MySqlDialect implements IDialect {
             return new DialectModel(sql.toString(), limit).setConsumer(true);
         }
     }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return dbType == DbType.MYSQL || dbType == DbType.MARIADB || dbType == DbType.OCEAN_BASE || dbType == DbType.GOLDENDB;
+    }
+
+    /**
+     * 窗口函数需要 mysql 8.0+ 或 mariadb 10.2+
+     */
+    @Override
+    public boolean supportsWindowCount() {
+        return dbType == DbType.MYSQL || dbType == DbType.MARIADB || dbType == DbType.OCEAN_BASE || dbType == DbType.GOLDENDB;
+    }
+
+    /**
+     * 只有 mysql 与 mariadb 的执行计划格式可以解析
+     */
+    @Override
+    public String buildEstimateCountSql(String originalSql) {
+        return dbType == DbType.MYSQL || dbType == DbType.MARIADB ? "EXPLAIN " + originalSql : null;
+    }
+
+    /**
+     * 取驱动表(第一行)的 rows * filtered
+     */
+    @Override
+    public long parseEstimateCount(List<Map<String, Object>> plan) {
+        if (CollectionUtils.isEmpty(plan) || plan.get(0) == null) {
+            return -1;
+        }
+        Object rows = plan.get(0).get("rows");
+        if (!(rows instanceof Number)) {
+            return -1;
+        }
+        Object filtered = plan.get(0).get("filtered");
+        double percent = filtered instanceof Number ? ((Number) filtered).doubleValue() : 100D;
+        return (long) (((Number) rows).doubleValue() * percent / 100D);
+    }
 }
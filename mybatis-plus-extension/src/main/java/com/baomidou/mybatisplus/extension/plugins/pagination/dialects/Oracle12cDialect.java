@@ -15,6 +15,7 @@
  */
 package com.baomidou.mybatisplus.extension.plugins.pagination.dialects;
 
+import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
 
 /**
@@ -25,9 +26,31 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
  */
 public class Oracle12cDialect implements IDialect {
 
+    /**
+     * 实际数据库类型, 同一方言下各数据库支持的语法不同
+     */
+    private final DbType dbType;
+
+    public Oracle12cDialect() {
+        this(DbType.ORACLE_12C);
+    }
+
+    /**
+     * @param dbType 数据库类型
+     * @since 3.5.9
+     */
+    public Oracle12cDialect(DbType dbType) {
+        this.dbType = dbType;
+    }
+
     @Override
     public DialectModel buildPaginationSql(String originalSql, long offset, long limit) {
         String sql = originalSql + " OFFSET " + FIRST_MARK + " ROWS FETCH NEXT " + SECOND_MARK + " ROWS ONLY";
         return new DialectModel(sql, offset, limit).setConsumerChain();
     }
+
+    @Override
+    public boolean supportsWindowCount() {
+        return dbType == DbType.ORACLE_12C || dbType == DbType.SQL_SERVER;
+    }
 }
@@ -15,8 +15,15 @@
  */
 package com.baomidou.mybatisplus.extension.plugins.pagination.dialects;
 
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
 
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Postgre 数据库分页语句组装实现
  *
@@ -25,6 +32,25 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
  */
 public class PostgreDialect implements IDialect {
 
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    /**
+     * 实际数据库类型, 同一方言下各数据库支持的语法不同
+     */
+    private final DbType dbType;
+
+    public PostgreDialect() {
+        this(DbType.POSTGRE_SQL);
+    }
+
+    /**
+     * @param dbType 数据库类型
+     * @since 3.5.9
+     */
+    public PostgreDialect(DbType dbType) {
+        this.dbType = dbType;
+    }
+
     @Override
     public DialectModel buildPaginationSql(String originalSql, long offset, long limit) {
         StringBuilder sql = new StringBuilder(originalSql).append(" LIMIT ").append(FIRST_MARK);
@@ -35,4 +61,79 @@ public class PostgreDialect implements IDialect {
             return new DialectModel(sql.toString(), limit).setConsumer(true);
         }
     }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        switch (dbType) {
+            case POSTGRE_SQL:
+            case KINGBASE_ES:
+            case OPENGAUSS:
+            case HIGH_GO:
+            case UXDB:
+            case VASTBASE:
+            case GBASE8S_PG:
+            case GBASE_8C:
+            case H2:
+            case HSQL:
+            case SQLITE:
+            case DUCKDB:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public boolean supportsWindowCount() {
+        switch (dbType) {
+            case POSTGRE_SQL:
+            case KINGBASE_ES:
+            case OPENGAUSS:
+            case HIGH_GO:
+            case UXDB:
+            case VASTBASE:
+            case GBASE8S_PG:
+            case GBASE_8C:
+            case H2:
+            case SQLITE:
+            case DUCKDB:
+            case REDSHIFT:
+            case VERTICA:
+            case SAP_HANA:
+            case IMPALA:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 只有 postgresql 及兼容其执行计划格式的数据库可以解析
+     */
+    @Override
+    public String buildEstimateCountSql(String originalSql) {
+        switch (dbType) {
+            case POSTGRE_SQL:
+            case KINGBASE_ES:
+            case OPENGAUSS:
+            case HIGH_GO:
+            case VASTBASE:
+                return "EXPLAIN " + originalSql;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 取根节点的估算行数, 例如: Seq Scan on t  (cost=0.00..35.50 rows=2550 width=4)
+     */
+    @Override
+    public long parseEstimateCount(List<Map<String, Object>> plan) {
+        if (CollectionUtils.isEmpty(plan) || CollectionUtils.isEmpty(plan.get(0))) {
+            return -1;
+        }
+        Object root = plan.get(0).values().iterator().next();
+        Matcher matcher = root == null ? null : PLAN_ROWS.matcher(root.toString());
+        return matcher != null && matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
 }
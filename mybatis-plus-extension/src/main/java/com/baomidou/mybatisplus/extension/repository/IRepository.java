@@ -1,6 +1,7 @@
 package com.baomidou.mybatisplus.extension.repository;
 
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.PreparedQuery;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Assert;
@@ -312,6 +313,18 @@ public interface IRepository<T> {
         return getBaseMapper().selectList(page, queryWrapper);
     }
 
+    /**
+     * 根据预编译查询模板查询列表
+     *
+     * @param query  预编译查询模板
+     * @param values 按照 {@link PreparedQuery#bind()} 顺序传入的参数
+     * @return 列表数据
+     * @since 3.5.9
+     */
+    default List<T> list(PreparedQuery<T> query, Object... values) {
+        return getBaseMapper().selectList(query, values);
+    }
+
     /**
      * 查询所有
      *
@@ -0,0 +1,67 @@
+package com.baomidou.mybatisplus.test.extension.incrementer;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 基于 H2 的插入局部性测试
+ * <p>
+ * 按主键顺序读取记录, 统计插入序号递增的比例, 比例越高说明新记录越集中在索引末尾
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+class UuidV7InsertLocalityTest {
+
+    private static final int ROWS = 5_000;
+
+    @Test
+    void locality() throws SQLException {
+        double random = tailAppendRatio("random_uuid", IdWorker::get32UUID);
+        double v7 = tailAppendRatio("uuid_v7", IdWorker::get32UUIDv7);
+        // 单线程生成的 UUIDv7 严格递增, 每次插入都位于索引末尾
+        assertThat(v7).isEqualTo(1.0D);
+        // 随机 UUID 插入位置随机, 顺序追加比例约为 0.5
+        assertThat(random).isLessThan(0.6D);
+        assertThat(v7 - random).isGreaterThan(0.4D);
+    }
+
+    private double tailAppendRatio(String table, Supplier<String> supplier) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + table, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE " + table + " (id CHAR(32) PRIMARY KEY, seq INT NOT NULL)");
+            }
+            try (PreparedStatement ps = connection.prepareStatement("INSERT INTO " + table + " (id, seq) VALUES (?, ?)")) {
+                for (int i = 0; i < ROWS; i++) {
+                    ps.setString(1, supplier.get());
+                    ps.setInt(2, i);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            int ordered = 0, last = -1;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT seq FROM " + table + " ORDER BY id")) {
+                while (rs.next()) {
+                    int seq = rs.getInt(1);
+                    if (seq > last) {
+                        ordered++;
+                    }
+                    last = seq;
+                }
+            }
+            return (double) ordered / ROWS;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.baomidou.mybatisplus.test.extension.plugins.pagination;
+
+import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.extension.plugins.pagination.KeysetPage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class KeysetPageTest {
+
+    @Test
+    void lastKeys() {
+        List<Long> keys = Arrays.asList(1L, 2L);
+        assertThat(new KeysetPage<>(10).setLastKeys(keys).getLastKeys()).containsExactly(1L, 2L);
+        assertThat(new KeysetPage<>(10, keys).getLastKeys()).containsExactly(1L, 2L);
+        assertThat(new KeysetPage<>(10).setLastKeyValues("a", 1L).getLastKeys()).containsExactly("a", 1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deserialize() throws Exception {
+        KeysetPage<Object> page = new KeysetPage<>(10, 5L);
+        page.addOrder(OrderItem.asc("id"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(page);
+        }
+        KeysetPage<Object> copy;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            copy = (KeysetPage<Object>) ois.readObject();
+        }
+        assertThat(copy.getLastKeys()).containsExactly(5L);
+        // 排序字段取值方式不参与序列化, 不能直接生成下一页
+        assertThatThrownBy(copy::next).hasMessageContaining("next page requires all orders added by lambda");
+    }
+}
@@ -0,0 +1,66 @@
+package com.baomidou.mybatisplus.test.extension.plugins.pagination;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.WindowCountStatement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+@ExtendWith(MockitoExtension.class)
+class WindowCountStatementTest {
+
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData metaData;
+
+    @Test
+    void wrap() throws Exception {
+        when(preparedStatement.getResultSet()).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getLong(3)).thenReturn(25L);
+
+        AtomicLong total = new AtomicLong(-1);
+        Statement statement = WindowCountStatement.wrap(preparedStatement, total::set);
+        assertThat(statement).isInstanceOf(PreparedStatement.class);
+        ResultSet rs = statement.getResultSet();
+        // 隐藏最后一列
+        assertThat(rs.getMetaData().getColumnCount()).isEqualTo(2);
+        assertThat(rs.next()).isTrue();
+        assertThat(total.get()).isEqualTo(25L);
+        assertThat(rs.next()).isTrue();
+        assertThat(rs.next()).isFalse();
+        // 只读取第一行
+        verify(resultSet, times(1)).getLong(3);
+    }
+
+    @Test
+    void empty() throws Exception {
+        when(preparedStatement.getResultSet()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+
+        AtomicLong total = new AtomicLong(-1);
+        ResultSet rs = WindowCountStatement.wrap(preparedStatement, total::set).getResultSet();
+        assertThat(rs.next()).isFalse();
+        assertThat(total.get()).isEqualTo(-1);
+    }
+}
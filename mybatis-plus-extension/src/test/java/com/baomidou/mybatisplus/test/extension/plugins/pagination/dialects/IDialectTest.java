@@ -1,12 +1,19 @@
 package com.baomidou.mybatisplus.test.extension.plugins.pagination.dialects;
 
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.extension.plugins.pagination.DialectFactory;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
 import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.IDialect;
+import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.MySqlDialect;
+import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.OracleDialect;
+import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.PostgreDialect;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.util.ReflectionUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -51,4 +58,45 @@ class IDialectTest {
             }).isEqualTo(1);
         });
     }
+
+    @Test
+    void supportsRowValueComparison() {
+        assertThat(DialectFactory.getDialect(DbType.MYSQL).supportsRowValueComparison()).isTrue();
+        assertThat(DialectFactory.getDialect(DbType.POSTGRE_SQL).supportsRowValueComparison()).isTrue();
+        assertThat(DialectFactory.getDialect(DbType.H2).supportsRowValueComparison()).isTrue();
+        // 同方言但不支持行值比较
+        assertThat(DialectFactory.getDialect(DbType.CUBRID).supportsRowValueComparison()).isFalse();
+        assertThat(DialectFactory.getDialect(DbType.SAP_HANA).supportsRowValueComparison()).isFalse();
+        assertThat(DialectFactory.getDialect(DbType.IMPALA).supportsRowValueComparison()).isFalse();
+        assertThat(DialectFactory.getDialect(DbType.PHOENIX).supportsRowValueComparison()).isFalse();
+    }
+
+    @Test
+    void supportsWindowCount() {
+        assertThat(DialectFactory.getDialect(DbType.MYSQL).supportsWindowCount()).isTrue();
+        assertThat(DialectFactory.getDialect(DbType.POSTGRE_SQL).supportsWindowCount()).isTrue();
+        assertThat(DialectFactory.getDialect(DbType.SQL_SERVER).supportsWindowCount()).isTrue();
+        // 同方言但不支持窗口函数
+        assertThat(DialectFactory.getDialect(DbType.CUBRID).supportsWindowCount()).isFalse();
+        assertThat(DialectFactory.getDialect(DbType.DERBY).supportsWindowCount()).isFalse();
+        assertThat(DialectFactory.getDialect(DbType.FIREBIRD).supportsWindowCount()).isFalse();
+        assertThat(DialectFactory.getDialect(DbType.HSQL).supportsWindowCount()).isFalse();
+    }
+
+    @Test
+    void parseEstimateCount() {
+        Map<String, Object> mysqlPlan = new HashMap<>();
+        mysqlPlan.put("rows", 1000L);
+        mysqlPlan.put("filtered", 10.0D);
+        assertThat(new MySqlDialect().parseEstimateCount(Collections.singletonList(mysqlPlan))).isEqualTo(100L);
+        assertThat(new MySqlDialect().parseEstimateCount(Collections.emptyList())).isEqualTo(-1L);
+
+        Map<String, Object> postgrePlan = new HashMap<>();
+        postgrePlan.put("QUERY PLAN", "Seq Scan on t  (cost=0.00..35.50 rows=2550 width=4)");
+        assertThat(new PostgreDialect().parseEstimateCount(Collections.singletonList(postgrePlan))).isEqualTo(2550L);
+        postgrePlan.put("QUERY PLAN", "SELECT ID FROM PUBLIC.T /* PUBLIC.T.tableScan */");
+        assertThat(new PostgreDialect().parseEstimateCount(Collections.singletonList(postgrePlan))).isEqualTo(-1L);
+
+        assertThat(new OracleDialect().buildEstimateCountSql("select * from table")).isNull();
+    }
 }
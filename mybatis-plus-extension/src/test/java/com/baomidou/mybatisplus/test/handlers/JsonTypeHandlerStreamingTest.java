@@ -0,0 +1,169 @@
+package com.baomidou.mybatisplus.test.handlers;
+
+import com.baomidou.mybatisplus.extension.handlers.AbstractJsonTypeHandler;
+import com.baomidou.mybatisplus.extension.handlers.Fastjson2TypeHandler;
+import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
+import com.baomidou.mybatisplus.test.model.UserBean;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.CharArrayWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+@ExtendWith(MockitoExtension.class)
+class JsonTypeHandlerStreamingTest extends BaseTypeHandlerTest {
+
+    private static final String JSON = "{\"id\":123,\"name\":\"测试\"}";
+
+    @AfterEach
+    void reset() {
+        JacksonTypeHandler.setStreaming(false);
+        Fastjson2TypeHandler.setStreaming(false);
+    }
+
+    @Test
+    @Override
+    public void setParameter() throws Exception {
+        JacksonTypeHandler.setStreaming(true);
+        Fastjson2TypeHandler.setStreaming(true);
+        assertSetParameter(new JacksonTypeHandler(UserBean.class), 1);
+        assertSetParameter(new Fastjson2TypeHandler(UserBean.class), 2);
+    }
+
+    private void assertSetParameter(AbstractJsonTypeHandler<Object> handler, int index) throws Exception {
+        handler.setParameter(preparedStatement, index, new UserBean(123L, "测试"), JdbcType.VARCHAR);
+        ArgumentCaptor<Reader> captor = ArgumentCaptor.forClass(Reader.class);
+        verify(preparedStatement).setCharacterStream(eq(index), captor.capture(), anyInt());
+        CharArrayWriter writer = new CharArrayWriter();
+        char[] buffer = new char[64];
+        int len;
+        while ((len = captor.getValue().read(buffer)) != -1) {
+            writer.write(buffer, 0, len);
+        }
+        assertThat(writer.toString()).isEqualTo(JSON);
+    }
+
+    @Test
+    @Override
+    public void getResultFromResultSetByColumnName() throws Exception {
+        JacksonTypeHandler.setStreaming(true);
+        JacksonTypeHandler handler = new JacksonTypeHandler(UserBean.class);
+        when(resultSet.getCharacterStream("column")).thenReturn(null, new StringReader(" \n "), new StringReader(" " + JSON));
+        assertThat(handler.getResult(resultSet, "column")).isNull();
+        assertThat(handler.getResult(resultSet, "column")).isNull();
+        assertThat(handler.getResult(resultSet, "column")).isEqualTo(new UserBean(123L, "测试"));
+    }
+
+    @Test
+    @Override
+    public void getResultFromResultSetByColumnIndex() throws Exception {
+        Fastjson2TypeHandler.setStreaming(true);
+        Fastjson2TypeHandler handler = new Fastjson2TypeHandler(UserBean.class);
+        when(resultSet.getCharacterStream(1)).thenReturn(new StringReader(""), new StringReader(JSON));
+        assertThat(handler.getResult(resultSet, 1)).isNull();
+        assertThat(handler.getResult(resultSet, 1)).isEqualTo(new UserBean(123L, "测试"));
+    }
+
+    @Test
+    @Override
+    public void getResultFromCallableStatement() throws Exception {
+        JacksonTypeHandler.setStreaming(true);
+        JacksonTypeHandler handler = new JacksonTypeHandler(Holder.class, Holder.class.getDeclaredField("users"));
+        when(callableStatement.getCharacterStream(1)).thenReturn(new StringReader("[" + JSON + "]"));
+        assertThat(handler.getResult(callableStatement, 1)).isEqualTo(List.of(new UserBean(123L, "测试")));
+        // 未开启时不使用字符流
+        JacksonTypeHandler.setStreaming(false);
+        when(callableStatement.getString(2)).thenReturn("[]");
+        assertThat(handler.getResult(callableStatement, 2)).isEqualTo(List.of());
+    }
+
+    @Test
+    void objectMapperConfigChange() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JacksonTypeHandler.setObjectMapper(objectMapper);
+        try {
+            JacksonTypeHandler handler = new JacksonTypeHandler(UserBean.class);
+            assertThat(handler.toJson(new UserBean(123L, "测试"))).isEqualTo(JSON);
+            // 使用后修改配置同样生效
+            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+            assertThat(handler.toJson(new UserBean(123L, "测试"))).contains("\n");
+            CharArrayWriter writer = new CharArrayWriter();
+            handler.toJson(new UserBean(123L, "测试"), writer);
+            assertThat(writer.toString()).contains("\n");
+        } finally {
+            JacksonTypeHandler.setObjectMapper(new ObjectMapper());
+        }
+    }
+
+    @Test
+    @Disabled("不需要参与全局test")
+    void benchmark() throws Exception {
+        List<UserBean> list = new ArrayList<>();
+        for (long i = 0; i < 5_000; i++) {
+            list.add(new UserBean(i, "name-" + i + "-abcdefghijklmnopqrstuvwxyz"));
+        }
+        String json = new JacksonTypeHandler(List.class).toJson(list);
+        System.out.println("json 长度: " + json.length());
+        int len = 200;
+        benchmark(new JacksonTypeHandler(Holder.class, Holder.class.getDeclaredField("users")), list, json, len);
+        benchmark(new Fastjson2TypeHandler(Holder.class, Holder.class.getDeclaredField("users")), list, json, len);
+    }
+
+    private void benchmark(AbstractJsonTypeHandler<Object> handler, List<UserBean> list, String json, int len) throws Exception {
+        String name = handler.getClass().getSimpleName();
+        // 预热
+        for (int i = 0; i < len; i++) {
+            handler.parse(json);
+            handler.parse(new StringReader(json));
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < len; i++) {
+            handler.parse(json);
+        }
+        long et = System.nanoTime() - startTime;
+        System.out.printf("%s 字符串反序列化耗时: %s 毫秒%n", name, et / 1_000_000);
+        startTime = System.nanoTime();
+        for (int i = 0; i < len; i++) {
+            handler.parse(new StringReader(json));
+        }
+        et = System.nanoTime() - startTime;
+        System.out.printf("%s 字符流反序列化耗时: %s 毫秒%n", name, et / 1_000_000);
+        startTime = System.nanoTime();
+        for (int i = 0; i < len; i++) {
+            handler.toJson(list);
+        }
+        et = System.nanoTime() - startTime;
+        System.out.printf("%s 字符串序列化耗时: %s 毫秒%n", name, et / 1_000_000);
+        startTime = System.nanoTime();
+        for (int i = 0; i < len; i++) {
+            handler.toJson(list, new CharArrayWriter(json.length()));
+        }
+        et = System.nanoTime() - startTime;
+        System.out.printf("%s 字符流序列化耗时: %s 毫秒%n", name, et / 1_000_000);
+    }
+
+    static class Holder {
+        private List<UserBean> users;
+    }
+}
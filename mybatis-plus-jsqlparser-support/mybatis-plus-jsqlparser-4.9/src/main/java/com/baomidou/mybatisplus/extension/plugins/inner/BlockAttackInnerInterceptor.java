@@ -48,6 +48,16 @@ import java.sql.Connection;
  */
 public class BlockAttackInnerInterceptor extends JsqlParserSupport implements InnerInterceptor {
 
+    @Override
+    public boolean supportSharedSql() {
+        return true;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+
     @Override
     public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
         PluginUtils.MPStatementHandler handler = PluginUtils.mpStatementHandler(sh);
@@ -18,37 +18,71 @@ package com.baomidou.mybatisplus.extension.plugins.inner;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.*;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import com.baomidou.mybatisplus.extension.plugins.SharedSqlContext;
+import com.baomidou.mybatisplus.extension.plugins.pagination.CountMode;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectFactory;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
+import com.baomidou.mybatisplus.extension.plugins.pagination.KeysetPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.plugins.pagination.WindowCountStatement;
 import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.IDialect;
 import com.baomidou.mybatisplus.extension.toolkit.JdbcUtils;
 import com.baomidou.mybatisplus.extension.toolkit.PropertyMapper;
 import com.baomidou.mybatisplus.extension.toolkit.SqlParserUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.Alias;
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThan;
+import net.sf.jsqlparser.expression.operators.relational.MinorThan;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.select.*;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -70,6 +104,26 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         new SelectItem<>(new Column().withColumnName("COUNT(*)")).withAlias(new Alias("total"))
     );
     protected static final Map<String, MappedStatement> countMsCache = new ConcurrentHashMap<>();
+    /**
+     * keyset 分页条件参数名前缀
+     */
+    protected static final String KEYSET_PARAMETER_PREFIX = "mybatis_plus_keyset_";
+    /**
+     * 窗口函数 count 查询列
+     */
+    protected static final String WINDOW_COUNT_COLUMN = "COUNT(*) OVER()";
+    /**
+     * 窗口函数 count 查询状态参数名
+     */
+    protected static final String WINDOW_COUNT_PARAMETER = "mybatis_plus_window_count";
+    /**
+     * 并发 count 查询结果参数名
+     */
+    protected static final String CONCURRENT_COUNT_PARAMETER = "mybatis_plus_concurrent_count";
+    /**
+     * 延迟关联分页子查询别名
+     */
+    protected static final String DEFERRED_JOIN_ALIAS = "mp_dj";
     protected final Log logger = LogFactory.getLog(this.getClass());
 
 
@@ -100,6 +154,47 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
      * @since 3.4.2
      */
     protected boolean optimizeJoin = true;
+    /**
+     * 自动优化的 countSql 缓存数量上限, 小于等于 0 时不缓存
+     * <p>
+     * countSql 只取决于原始 sql 与优化参数, 缓存后相同 sql 无需再次解析
+     *
+     * @since 3.5.9
+     */
+    protected long countSqlCacheSize = 1024;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile Cache<String, String> countSqlCache;
+    /**
+     * {@link CountMode#CACHED} 缓存有效期(秒)
+     *
+     * @since 3.5.9
+     */
+    protected long countCacheSeconds = 60;
+    /**
+     * {@link CountMode#CACHED} 缓存数量上限
+     *
+     * @since 3.5.9
+     */
+    protected long countCacheSize = 1024;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile Cache<CacheKey, Long> countCache;
+    /**
+     * count 查询与分页查询并发执行
+     * <p>
+     * count 查询在独立线程中使用同一数据源的新连接(自动提交)执行, 分页查询结束后合并结果;
+     * 当前连接处于事务中(autoCommit=false)时不生效, 依赖线程上下文切换数据源的场景请勿开启
+     *
+     * @since 3.5.9
+     */
+    protected boolean concurrentCount;
+    /**
+     * 并发 count 查询使用的线程池, 默认支持时使用虚拟线程
+     *
+     * @since 3.5.9
+     */
+    private volatile ExecutorService countExecutorService;
 
     public PaginationInnerInterceptor(DbType dbType) {
         this.dbType = dbType;
@@ -119,6 +214,27 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             return true;
         }
 
+        CountMode countMode = page instanceof Page ? ((Page<?>) page).countMode() : CountMode.EXACT;
+        // 使用执行计划估算总数
+        if (countMode == CountMode.ESTIMATED) {
+            long estimate = estimateTotal(executor, ms, parameter, rowBounds, boundSql);
+            if (estimate >= 0) {
+                page.setTotal(estimate);
+                setTotalCountMode(page, CountMode.ESTIMATED);
+                // 估算值可能存在偏差, 不根据总数中断查询
+                return true;
+            }
+            countMode = CountMode.EXACT;
+        }
+
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        // 分页查询中使用窗口函数获取总数, 查询后处理
+        if (countMode == CountMode.EXACT && useWindowCount(executor, page, boundSql.getSql())) {
+            boundSql.setAdditionalParameter(WINDOW_COUNT_PARAMETER, new WindowCount(boundSql, mpBoundSql.parameterMappings()));
+            setTotalCountMode(page, CountMode.EXACT);
+            return true;
+        }
+
         BoundSql countSql;
         MappedStatement countMs = buildCountMappedStatement(ms, page.countId());
         if (countMs != null) {
@@ -126,11 +242,211 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         } else {
             countMs = buildAutoCountMappedStatement(ms);
             String countSqlStr = autoCountSql(page, boundSql.getSql());
-            PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
             countSql = new BoundSql(countMs.getConfiguration(), countSqlStr, mpBoundSql.parameterMappings(), parameter);
             PluginUtils.setAdditionalParameter(countSql, mpBoundSql.additionalParameters());
         }
 
+        // 缓存 count 查询结果
+        if (countMode == CountMode.CACHED) {
+            CacheKey cacheKey = executor.createCacheKey(countMs, parameter, rowBounds, countSql);
+            Cache<CacheKey, Long> cache = getCountCache();
+            Long total = cache.getIfPresent(cacheKey);
+            if (total != null) {
+                setTotalCountMode(page, CountMode.CACHED);
+            } else {
+                total = queryTotal(executor, countMs, parameter, rowBounds, resultHandler, countSql);
+                cache.put(cacheKey, total);
+                setTotalCountMode(page, CountMode.EXACT);
+            }
+            page.setTotal(total);
+            return continuePage(page);
+        }
+
+        setTotalCountMode(page, CountMode.EXACT);
+        // 并发执行 count 查询, 分页查询后合并结果
+        if (useConcurrentCount(executor, ms)) {
+            final MappedStatement finalCountMs = countMs;
+            final BoundSql finalCountSql = countSql;
+            Future<Long> future = getCountExecutorService().submit(() -> queryTotalConcurrently(finalCountMs, parameter, rowBounds, finalCountSql));
+            boundSql.setAdditionalParameter(CONCURRENT_COUNT_PARAMETER, future);
+            return true;
+        }
+
+        page.setTotal(queryTotal(executor, countMs, parameter, rowBounds, resultHandler, countSql));
+        return continuePage(page);
+    }
+
+    /**
+     * 使用执行计划估算总数
+     *
+     * @param executor  Executor
+     * @param ms        MappedStatement
+     * @param parameter 参数
+     * @param rowBounds rowBounds
+     * @param boundSql  boundSql
+     * @return 估算总数, 不支持或失败时返回 -1
+     * @since 3.5.9
+     */
+    protected long estimateTotal(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, BoundSql boundSql) {
+        IDialect dialect = findIDialect(executor);
+        String estimateSqlStr = dialect.buildEstimateCountSql(boundSql.getSql());
+        if (estimateSqlStr == null) {
+            return -1;
+        }
+        Connection connection = null;
+        Savepoint savepoint = null;
+        try {
+            // 事务中执行失败会导致事务中止(例如 postgresql), 使用保存点回滚后再降级为 count 查询
+            connection = executor.getTransaction().getConnection();
+            if (!connection.getAutoCommit()) {
+                savepoint = connection.setSavepoint();
+            }
+            MappedStatement estimateMs = buildEstimateMappedStatement(ms);
+            PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+            BoundSql estimateSql = new BoundSql(estimateMs.getConfiguration(), estimateSqlStr, mpBoundSql.parameterMappings(), parameter);
+            PluginUtils.setAdditionalParameter(estimateSql, mpBoundSql.additionalParameters());
+            CacheKey cacheKey = executor.createCacheKey(estimateMs, parameter, rowBounds, estimateSql);
+            List<Map<String, Object>> plan = executor.query(estimateMs, parameter, rowBounds, Executor.NO_RESULT_HANDLER, cacheKey, estimateSql);
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
+            }
+            return dialect.parseEstimateCount(plan);
+        } catch (Exception e) {
+            logger.warn("estimate total has error, use exact count instead, sql:\"" + estimateSqlStr + "\", exception:\n" + e);
+            if (savepoint != null) {
+                try {
+                    connection.rollback(savepoint);
+                } catch (SQLException ex) {
+                    logger.warn("rollback to savepoint has error, exception:\n" + ex);
+                }
+            }
+        }
+        return -1;
+    }
+
+    protected void setTotalCountMode(IPage<?> page, CountMode countMode) {
+        if (page instanceof Page) {
+            ((Page<?>) page).setTotalCountMode(countMode);
+        }
+    }
+
+    /**
+     * 是否并发执行 count 查询
+     *
+     * @param executor Executor
+     * @param ms       MappedStatement
+     * @return 是否并发
+     * @since 3.5.9
+     */
+    protected boolean useConcurrentCount(Executor executor, MappedStatement ms) throws SQLException {
+        if (!concurrentCount || overflow) {
+            return false;
+        }
+        Environment environment = ms.getConfiguration().getEnvironment();
+        if (environment == null || environment.getDataSource() == null) {
+            return false;
+        }
+        // 事务中未提交的修改对其他连接不可见
+        return executor.getTransaction().getConnection().getAutoCommit();
+    }
+
+    /**
+     * 使用新连接执行 count 查询
+     *
+     * @param countMs   count 查询的 MappedStatement
+     * @param parameter 参数
+     * @param rowBounds rowBounds
+     * @param countSql  count 查询的 BoundSql
+     * @return 总数
+     * @since 3.5.9
+     */
+    protected long queryTotalConcurrently(MappedStatement countMs, Object parameter, RowBounds rowBounds, BoundSql countSql) throws SQLException {
+        Configuration configuration = countMs.getConfiguration();
+        Transaction transaction = new JdbcTransaction(configuration.getEnvironment().getDataSource(), null, true);
+        Executor countExecutor = new SimpleExecutor(configuration, transaction);
+        try {
+            return queryTotal(countExecutor, countMs, parameter, rowBounds, Executor.NO_RESULT_HANDLER, countSql);
+        } finally {
+            countExecutor.close(false);
+        }
+    }
+
+    /**
+     * 等待并发 count 查询结果
+     *
+     * @param future count 查询
+     * @return 总数
+     * @since 3.5.9
+     */
+    protected long waitTotal(Future<?> future) throws SQLException {
+        try {
+            return (Long) future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ExceptionUtils.mpe("interrupted while waiting for count query", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw ExceptionUtils.mpe("failed to execute count query", cause);
+        }
+    }
+
+    public ExecutorService getCountExecutorService() {
+        ExecutorService executorService = countExecutorService;
+        if (executorService == null) {
+            synchronized (this) {
+                executorService = countExecutorService;
+                if (executorService == null) {
+                    executorService = defaultCountExecutorService();
+                    countExecutorService = executorService;
+                }
+            }
+        }
+        return executorService;
+    }
+
+    /**
+     * 默认并发 count 查询线程池, 支持虚拟线程(jdk21+)时优先使用
+     */
+    protected static ExecutorService defaultCountExecutorService() {
+        return DefaultCountExecutorHolder.INSTANCE;
+    }
+
+    private static class DefaultCountExecutorHolder {
+
+        private static final ExecutorService INSTANCE = create();
+
+        private static ExecutorService create() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (Exception e) {
+                return Executors.newCachedThreadPool(r -> {
+                    Thread thread = new Thread(r);
+                    thread.setName("mybatis-plus-count-" + thread.getId());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
+    /**
+     * 执行 count 查询
+     *
+     * @param executor      Executor
+     * @param countMs       count 查询的 MappedStatement
+     * @param parameter     参数
+     * @param rowBounds     rowBounds
+     * @param resultHandler resultHandler
+     * @param countSql      count 查询的 BoundSql
+     * @return 总数
+     * @since 3.5.9
+     */
+    protected long queryTotal(Executor executor, MappedStatement countMs, Object parameter, RowBounds rowBounds,
+                              ResultHandler resultHandler, BoundSql countSql) throws SQLException {
         CacheKey cacheKey = executor.createCacheKey(countMs, parameter, rowBounds, countSql);
         List<Object> result = executor.query(countMs, parameter, rowBounds, resultHandler, cacheKey, countSql);
         long total = 0;
@@ -141,8 +457,7 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
                 total = Long.parseLong(o.toString());
             }
         }
-        page.setTotal(total);
-        return continuePage(page);
+        return total;
     }
 
     @Override
@@ -161,11 +476,31 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             buildSql = this.concatOrderBy(buildSql, orders);
         }
 
+        // 处理窗口函数 count 列拼接
+        WindowCount windowCount = getAdditionalParameter(boundSql, WINDOW_COUNT_PARAMETER, WindowCount.class);
+        if (windowCount != null) {
+            buildSql = this.concatWindowCount(buildSql, windowCount);
+        }
+
+        final Configuration configuration = ms.getConfiguration();
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        List<ParameterMapping> mappings = mpBoundSql.parameterMappings();
+        Map<String, Object> additionalParameter = mpBoundSql.additionalParameters();
+
+        // 处理 keyset 分页条件拼接
+        boolean addKeyset = false;
+        if (page instanceof KeysetPage && CollectionUtils.isNotEmpty(((KeysetPage<?>) page).getLastKeys())) {
+            addKeyset = true;
+            buildSql = this.concatKeyset(buildSql, (KeysetPage<?>) page, findIDialect(executor), configuration,
+                mappings, additionalParameter);
+        }
+
         // size 小于 0 且不限制返回值则不构造分页sql
         Long _limit = page.maxLimit() != null ? page.maxLimit() : maxLimit;
         if (page.getSize() < 0 && null == _limit) {
-            if (addOrdered) {
-                PluginUtils.mpBoundSql(boundSql).sql(buildSql);
+            if (addOrdered || addKeyset) {
+                mpBoundSql.sql(buildSql);
+                mpBoundSql.parameterMappings(mappings);
             }
             return;
         }
@@ -173,17 +508,268 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         handlerLimit(page, _limit);
         IDialect dialect = findIDialect(executor);
 
-        final Configuration configuration = ms.getConfiguration();
-        DialectModel model = dialect.buildPaginationSql(buildSql, page.offset(), page.getSize());
-        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
-
-        List<ParameterMapping> mappings = mpBoundSql.parameterMappings();
-        Map<String, Object> additionalParameter = mpBoundSql.additionalParameters();
+        // 深分页延迟关联: 子查询只分页查询主键, 再关联回表
+        DeferredJoin deferredJoin = null;
+        if (windowCount == null && !addKeyset && page.deferredJoin() && page.offset() > 0) {
+            deferredJoin = this.buildDeferredJoin(ms, buildSql);
+        }
+        DialectModel model = dialect.buildPaginationSql(deferredJoin == null ? buildSql : deferredJoin.innerSql,
+            page.offset(), page.getSize());
         model.consumers(mappings, configuration, additionalParameter);
-        mpBoundSql.sql(model.getDialectSql());
+        mpBoundSql.sql(deferredJoin == null ? model.getDialectSql() : deferredJoin.wrap(model.getDialectSql()));
         mpBoundSql.parameterMappings(mappings);
     }
 
+    /**
+     * 分页查询未正常完成时取消并发 count 查询, 避免其继续占用连接
+     */
+    @Override
+    public void afterQueryAborted(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+        Future<?> future = getAdditionalParameter(boundSql, CONCURRENT_COUNT_PARAMETER, Future.class);
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * 分页查询结束后设置并发 count 查询或窗口函数获取的总数
+     * <p>
+     * 窗口函数在结果来自缓存或者当前页没有数据时无法获取总数, 降级使用 count 查询
+     */
+    @Override
+    public void afterQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql, List<?> result) throws SQLException {
+        Future<?> future = getAdditionalParameter(boundSql, CONCURRENT_COUNT_PARAMETER, Future.class);
+        if (future != null) {
+            long total = waitTotal(future);
+            ParameterUtils.findPage(parameter).ifPresent(page -> page.setTotal(total));
+            return;
+        }
+        WindowCount windowCount = getAdditionalParameter(boundSql, WINDOW_COUNT_PARAMETER, WindowCount.class);
+        IPage<?> page = windowCount == null ? null : ParameterUtils.findPage(parameter).orElse(null);
+        if (page == null) {
+            return;
+        }
+        if (windowCount.total != null) {
+            page.setTotal(windowCount.total);
+        } else if (CollectionUtils.isEmpty(result) && page.offset() == 0) {
+            page.setTotal(0);
+        } else {
+            MappedStatement countMs = buildAutoCountMappedStatement(ms);
+            String countSqlStr = autoCountSql(page, windowCount.sql);
+            BoundSql countSql = new BoundSql(countMs.getConfiguration(), countSqlStr, windowCount.parameterMappings, parameter);
+            PluginUtils.setAdditionalParameter(countSql, PluginUtils.mpBoundSql(boundSql).additionalParameters());
+            page.setTotal(queryTotal(executor, countMs, parameter, rowBounds, resultHandler, countSql));
+        }
+    }
+
+    /**
+     * 包装拼接了窗口函数 count 列的分页查询, 读取总数并隐藏该列
+     */
+    @Override
+    public Statement afterPrepare(StatementHandler sh, Statement statement) {
+        IPage<?> page = ParameterUtils.findPage(sh.getParameterHandler().getParameterObject()).orElse(null);
+        if (page == null || !page.windowCount()) {
+            return statement;
+        }
+        BoundSql boundSql = PluginUtils.mpStatementHandler(sh).boundSql();
+        WindowCount windowCount = getAdditionalParameter(boundSql, WINDOW_COUNT_PARAMETER, WindowCount.class);
+        // count 查询会复制附加参数, 只处理分页查询本身
+        if (windowCount != null && windowCount.applied && windowCount.boundSql == boundSql) {
+            return WindowCountStatement.wrap(statement, total -> windowCount.total = total);
+        }
+        return statement;
+    }
+
+    /**
+     * 是否使用窗口函数获取总数
+     *
+     * @param executor Executor
+     * @param page     分页对象
+     * @param sql      原始sql
+     * @return 是否使用
+     * @since 3.5.9
+     */
+    protected boolean useWindowCount(Executor executor, IPage<?> page, String sql) {
+        if (!page.windowCount() || overflow || page instanceof KeysetPage || StringUtils.isNotBlank(page.countId())
+            || !findIDialect(executor).supportsWindowCount()) {
+            return false;
+        }
+        try {
+            SharedSqlContext context = SharedSqlContext.current();
+            Object shared = context == null ? null : context.get(sql);
+            Select select = shared instanceof Select ? (Select) shared : (Select) JsqlParserGlobal.parse(sql);
+            if (!(select instanceof PlainSelect) || null != ((PlainSelect) select).getDistinct()) {
+                return false;
+            }
+            for (SelectItem<?> item : ((PlainSelect) select).getSelectItems()) {
+                // 部分数据库不支持 * 与其他列一起查询
+                Expression expression = item.getExpression();
+                if (expression instanceof AllColumns && !(expression instanceof AllTableColumns)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (JSQLParserException e) {
+            logger.warn("failed to use window count, exception:\n" + e.getCause());
+        } catch (Exception e) {
+            logger.warn("failed to use window count, exception:\n" + e);
+        }
+        return false;
+    }
+
+    /**
+     * 查询SQL拼接窗口函数 count 列, 作为最后一列
+     *
+     * @param originalSql 需要拼接的SQL
+     * @param windowCount 窗口函数 count 查询状态
+     * @return 拼接后的SQL
+     * @since 3.5.9
+     */
+    protected String concatWindowCount(String originalSql, WindowCount windowCount) {
+        try {
+            SharedSqlContext context = SharedSqlContext.current();
+            Object shared = context == null ? null : context.get(originalSql);
+            Select select = shared instanceof Select ? (Select) shared : (Select) JsqlParserGlobal.parse(originalSql);
+            if (select instanceof PlainSelect) {
+                ((PlainSelect) select).getSelectItems().add(new SelectItem<>(new Column().withColumnName(WINDOW_COUNT_COLUMN)));
+                windowCount.applied = true;
+                return shared == select ? context.render() : select.toString();
+            }
+        } catch (JSQLParserException e) {
+            logger.warn("failed to concat window count, exception:\n" + e.getCause());
+        } catch (Exception e) {
+            logger.warn("failed to concat window count, exception:\n" + e);
+        }
+        return originalSql;
+    }
+
+    /**
+     * 构建延迟关联分页
+     * <p>
+     * SELECT t.* FROM t INNER JOIN (SELECT t.id FROM t WHERE ... ORDER BY ... LIMIT ?,?) mp_dj ON t.id = mp_dj.id ORDER BY ...
+     * <p>
+     * 仅支持单表有主键, 查询列与排序均为普通字段, 且参数全部位于 where 中的查询, 否则返回 null 使用普通分页
+     *
+     * @param ms  MappedStatement
+     * @param sql 原始sql
+     * @return 延迟关联分页, 不支持时返回 null
+     * @since 3.5.9
+     */
+    protected DeferredJoin buildDeferredJoin(MappedStatement ms, String sql) {
+        try {
+            // 不使用共享的语法树, 改写后的sql与原始sql结构不同
+            Select select = (Select) JsqlParserGlobal.parse(sql);
+            if (!(select instanceof PlainSelect)) {
+                return null;
+            }
+            PlainSelect plainSelect = (PlainSelect) select;
+            if (!(plainSelect.getFromItem() instanceof Table) || CollectionUtils.isNotEmpty(plainSelect.getJoins())
+                || null != plainSelect.getDistinct() || null != plainSelect.getGroupBy() || null != plainSelect.getHaving()
+                || null != plainSelect.getLimit() || null != plainSelect.getOffset() || null != plainSelect.getFetch()
+                || CollectionUtils.isEmpty(plainSelect.getOrderByElements())) {
+                return null;
+            }
+            Table table = (Table) plainSelect.getFromItem();
+            TableInfo tableInfo = findTableInfo(ms, table);
+            if (tableInfo == null || StringUtils.isBlank(tableInfo.getKeyColumn())) {
+                return null;
+            }
+            Table qualifier = new Table(table.getAlias() != null ? table.getAlias().getName() : table.getFullyQualifiedName());
+            List<String> selectItems = new ArrayList<>();
+            Set<String> aliases = new HashSet<>();
+            for (SelectItem<?> item : plainSelect.getSelectItems()) {
+                if (item.getAlias() != null) {
+                    aliases.add(SqlParserUtils.removeWrapperSymbol(item.getAlias().getName()).toLowerCase());
+                }
+                Expression expression = item.getExpression();
+                if (expression instanceof AllTableColumns) {
+                    selectItems.add(item.toString());
+                } else if (expression instanceof AllColumns) {
+                    selectItems.add(new AllTableColumns(qualifier).toString());
+                } else if (expression instanceof Column && countParameters(item) == 0) {
+                    qualifyColumn((Column) expression, qualifier);
+                    selectItems.add(item.toString());
+                } else {
+                    return null;
+                }
+            }
+            List<String> orderBy = new ArrayList<>();
+            for (OrderByElement element : plainSelect.getOrderByElements()) {
+                // 排序只支持主表的普通字段, 查询列别名或表达式使用普通分页
+                if (!(element.getExpression() instanceof Column)
+                    || !isTableColumn(tableInfo, (Column) element.getExpression(), qualifier, aliases)) {
+                    return null;
+                }
+                qualifyColumn((Column) element.getExpression(), qualifier);
+                orderBy.add(element.toString());
+            }
+            String keyColumn = tableInfo.getKeyColumn();
+            String qualifiedKeyColumn = qualifier.getFullyQualifiedName() + StringPool.DOT + keyColumn;
+            plainSelect.setSelectItems(Collections.<SelectItem<?>>singletonList(new SelectItem<>(new Column(qualifiedKeyColumn))));
+            return new DeferredJoin(plainSelect.toString(),
+                "SELECT " + String.join(", ", selectItems) + " FROM " + table + " INNER JOIN (",
+                ") " + DEFERRED_JOIN_ALIAS + " ON " + qualifiedKeyColumn + " = " + DEFERRED_JOIN_ALIAS + StringPool.DOT + keyColumn
+                    + " ORDER BY " + String.join(", ", orderBy));
+        } catch (JSQLParserException e) {
+            logger.warn("failed to build deferred join, exception:\n" + e.getCause());
+        } catch (Exception e) {
+            logger.warn("failed to build deferred join, exception:\n" + e);
+        }
+        return null;
+    }
+
+    /**
+     * 查找查询表对应的实体信息, 优先按表名查找, 其次使用结果类型
+     *
+     * @param ms    MappedStatement
+     * @param table 查询表
+     * @return 实体信息
+     */
+    protected TableInfo findTableInfo(MappedStatement ms, Table table) {
+        String tableName = SqlParserUtils.removeWrapperSymbol(table.getFullyQualifiedName());
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(tableName);
+        if (tableInfo == null && ms.getResultMaps().size() == 1) {
+            TableInfo resultTableInfo = TableInfoHelper.getTableInfo(ms.getResultMaps().get(0).getType());
+            if (resultTableInfo != null && resultTableInfo.getTableName().equalsIgnoreCase(tableName)) {
+                tableInfo = resultTableInfo;
+            }
+        }
+        return tableInfo;
+    }
+
+    /**
+     * 是否主表的普通字段 (非查询列别名)
+     */
+    private boolean isTableColumn(TableInfo tableInfo, Column column, Table qualifier, Set<String> aliases) {
+        Table table = column.getTable();
+        if (table != null && StringUtils.isNotBlank(table.getName())
+            && !SqlParserUtils.removeWrapperSymbol(table.getFullyQualifiedName()).equalsIgnoreCase(SqlParserUtils.removeWrapperSymbol(qualifier.getFullyQualifiedName()))) {
+            return false;
+        }
+        String columnName = SqlParserUtils.removeWrapperSymbol(column.getColumnName());
+        if ((table == null || StringUtils.isBlank(table.getName())) && aliases.contains(columnName.toLowerCase())) {
+            return false;
+        }
+        if (columnName.equalsIgnoreCase(SqlParserUtils.removeWrapperSymbol(tableInfo.getKeyColumn()))) {
+            return true;
+        }
+        return tableInfo.getFieldList().stream().anyMatch(i -> columnName.equalsIgnoreCase(SqlParserUtils.removeWrapperSymbol(i.getColumn())));
+    }
+
+    private void qualifyColumn(Column column, Table qualifier) {
+        if (column.getTable() == null || StringUtils.isBlank(column.getTable().getName())) {
+            column.setTable(qualifier);
+        }
+    }
+
+    protected <T> T getAdditionalParameter(BoundSql boundSql, String name, Class<T> type) {
+        if (boundSql.hasAdditionalParameter(name)) {
+            Object value = boundSql.getAdditionalParameter(name);
+            return type.isInstance(value) ? type.cast(value) : null;
+        }
+        return null;
+    }
+
     /**
      * 获取分页方言类的逻辑
      *
@@ -224,6 +810,28 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         return null;
     }
 
+    /**
+     * 构建 mp 自用的执行计划 MappedStatement
+     *
+     * @param ms MappedStatement
+     * @return MappedStatement
+     * @since 3.5.9
+     */
+    protected MappedStatement buildEstimateMappedStatement(MappedStatement ms) {
+        final String estimateId = ms.getId() + "_mpEstimate";
+        final Configuration configuration = ms.getConfiguration();
+        return CollectionUtils.computeIfAbsent(countMsCache, estimateId, key -> {
+            MappedStatement.Builder builder = new MappedStatement.Builder(configuration, key, ms.getSqlSource(), ms.getSqlCommandType());
+            builder.resource(ms.getResource());
+            builder.statementType(ms.getStatementType());
+            builder.timeout(ms.getTimeout());
+            builder.parameterMap(ms.getParameterMap());
+            builder.resultMaps(Collections.singletonList(new ResultMap.Builder(configuration, Constants.MYBATIS_PLUS, HashMap.class, Collections.emptyList()).build()));
+            builder.useCache(false);
+            return builder.build();
+        });
+    }
+
     /**
      * 构建 mp 自用自动的 MappedStatement
      *
@@ -260,6 +868,24 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         if (!page.optimizeCountSql()) {
             return lowLevelCountSql(sql);
         }
+        Cache<String, String> cache = getCountSqlCache();
+        if (cache == null) {
+            return optimizeCountSql(page, sql);
+        }
+        // 优化结果只与 sql 和是否优化 join 有关
+        String key = (optimizeJoin && page.optimizeJoinOfCountSql() ? "1:" : "0:") + sql;
+        return cache.get(key, k -> optimizeCountSql(page, sql));
+    }
+
+    /**
+     * 解析并优化 countSql
+     *
+     * @param page 参数
+     * @param sql  sql
+     * @return countSql
+     * @since 3.5.9
+     */
+    protected String optimizeCountSql(IPage<?> page, String sql) {
         try {
             Select select = (Select) JsqlParserGlobal.parse(sql);
             // https://github.com/baomidou/mybatis-plus/issues/3920  分页增加union语法支持
@@ -360,6 +986,105 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         return lowLevelCountSql(sql);
     }
 
+    /**
+     * 获取 countSql 缓存, 首次使用时创建
+     *
+     * @return 未开启缓存时为 null
+     */
+    protected Cache<String, String> getCountSqlCache() {
+        if (countSqlCacheSize <= 0) {
+            return null;
+        }
+        Cache<String, String> cache = countSqlCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = countSqlCache;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder().maximumSize(countSqlCacheSize).recordStats().build();
+                    countSqlCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * 设置 countSql 缓存数量上限, 会清空已有缓存
+     *
+     * @param countSqlCacheSize 缓存数量上限
+     */
+    public void setCountSqlCacheSize(long countSqlCacheSize) {
+        synchronized (this) {
+            this.countSqlCacheSize = countSqlCacheSize;
+            this.countSqlCache = null;
+        }
+    }
+
+    /**
+     * 获取 count 结果缓存, 首次使用时创建
+     *
+     * @return count 结果缓存
+     * @since 3.5.9
+     */
+    protected Cache<CacheKey, Long> getCountCache() {
+        Cache<CacheKey, Long> cache = countCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = countCache;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder().maximumSize(countCacheSize)
+                        .expireAfterWrite(countCacheSeconds, TimeUnit.SECONDS).build();
+                    countCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * 设置 count 结果缓存有效期(秒), 会清空已有缓存
+     *
+     * @param countCacheSeconds 有效期
+     */
+    public void setCountCacheSeconds(long countCacheSeconds) {
+        synchronized (this) {
+            this.countCacheSeconds = countCacheSeconds;
+            this.countCache = null;
+        }
+    }
+
+    /**
+     * 设置 count 结果缓存数量上限, 会清空已有缓存
+     *
+     * @param countCacheSize 缓存数量上限
+     */
+    public void setCountCacheSize(long countCacheSize) {
+        synchronized (this) {
+            this.countCacheSize = countCacheSize;
+            this.countCache = null;
+        }
+    }
+
+    /**
+     * countSql 缓存命中次数
+     *
+     * @since 3.5.9
+     */
+    public long countSqlCacheHitCount() {
+        Cache<String, String> cache = countSqlCache;
+        return cache == null ? 0 : cache.stats().hitCount();
+    }
+
+    /**
+     * countSql 缓存未命中次数
+     *
+     * @since 3.5.9
+     */
+    public long countSqlCacheMissCount() {
+        Cache<String, String> cache = countSqlCache;
+        return cache == null ? 0 : cache.stats().missCount();
+    }
+
     /**
      * 无法进行count优化时,降级使用此方法
      *
@@ -378,19 +1103,22 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
      */
     public String concatOrderBy(String originalSql, List<OrderItem> orderList) {
         try {
-            Select selectBody = (Select) JsqlParserGlobal.parse(originalSql);
+            // 优先使用前置拦截器已解析的结果, 避免重复解析
+            SharedSqlContext context = SharedSqlContext.current();
+            Object shared = context == null ? null : context.get(originalSql);
+            Select selectBody = shared instanceof Select ? (Select) shared : (Select) JsqlParserGlobal.parse(originalSql);
             if (selectBody instanceof PlainSelect) {
                 PlainSelect plainSelect = (PlainSelect) selectBody;
                 List<OrderByElement> orderByElements = plainSelect.getOrderByElements();
                 List<OrderByElement> orderByElementsReturn = addOrderByElements(orderList, orderByElements);
                 plainSelect.setOrderByElements(orderByElementsReturn);
-                return plainSelect.toString();
+                return shared == selectBody ? context.render() : plainSelect.toString();
             } else if (selectBody instanceof SetOperationList) {
                 SetOperationList setOperationList = (SetOperationList) selectBody;
                 List<OrderByElement> orderByElements = setOperationList.getOrderByElements();
                 List<OrderByElement> orderByElementsReturn = addOrderByElements(orderList, orderByElements);
                 setOperationList.setOrderByElements(orderByElementsReturn);
-                return setOperationList.toString();
+                return shared == selectBody ? context.render() : setOperationList.toString();
             } else if (selectBody instanceof WithItem) {
                 // todo: don't known how to resole
                 return originalSql;
@@ -405,6 +1133,148 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         return originalSql;
     }
 
+    /**
+     * 查询SQL拼接 keyset 分页条件
+     * <p>
+     * 以上一页最后一条记录的排序字段值作为条件追加到 where 中, 参数插入到 where 之后的参数之前
+     *
+     * @param originalSql          需要拼接的SQL
+     * @param page                 keyset 分页对象
+     * @param dialect              分页方言
+     * @param configuration        Configuration
+     * @param mappings             参数映射
+     * @param additionalParameters 附加参数
+     * @return 拼接后的SQL
+     * @since 3.5.9
+     */
+    protected String concatKeyset(String originalSql, KeysetPage<?> page, IDialect dialect, Configuration configuration,
+                                  List<ParameterMapping> mappings, Map<String, Object> additionalParameters) {
+        List<OrderItem> orders = page.orders();
+        List<Object> lastKeys = page.getLastKeys();
+        Assert.isTrue(CollectionUtils.isNotEmpty(orders) && orders.size() == lastKeys.size(),
+            "keyset page lastKeys size must be equal to orders size");
+        Select select;
+        SharedSqlContext context = SharedSqlContext.current();
+        Object shared = context == null ? null : context.get(originalSql);
+        try {
+            select = shared instanceof Select ? (Select) shared : (Select) JsqlParserGlobal.parse(originalSql);
+        } catch (JSQLParserException e) {
+            throw ExceptionUtils.mpe("failed to concat keyset condition, sql: %s", e.getCause(), originalSql);
+        }
+        if (!(select instanceof PlainSelect)) {
+            throw ExceptionUtils.mpe("keyset page only support plain select, sql: %s", originalSql);
+        }
+        PlainSelect plainSelect = (PlainSelect) select;
+        // where 之后的参数个数
+        int after = countParameters(plainSelect.getGroupBy()) + countParameters(plainSelect.getHaving())
+            + countParameters(plainSelect.getLimit()) + countParameters(plainSelect.getOffset())
+            + countParameters(plainSelect.getFetch());
+        if (plainSelect.getOrderByElements() != null) {
+            for (OrderByElement element : plainSelect.getOrderByElements()) {
+                after += countParameters(element);
+            }
+        }
+        int index = mappings.size() - after;
+        Assert.isTrue(index >= 0, "failed to locate keyset parameters, sql: %s", originalSql);
+
+        List<Object> values = new ArrayList<>();
+        Expression expression = buildKeysetExpression(orders, lastKeys, dialect, values);
+        if (expression instanceof OrExpression) {
+            expression = new Parenthesis(expression);
+        }
+        Expression where = plainSelect.getWhere();
+        if (where == null) {
+            plainSelect.setWhere(expression);
+        } else if (where instanceof OrExpression) {
+            plainSelect.setWhere(new AndExpression(new Parenthesis(where), expression));
+        } else {
+            plainSelect.setWhere(new AndExpression(where, expression));
+        }
+
+        List<ParameterMapping> keysetMappings = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            String property = KEYSET_PARAMETER_PREFIX + i;
+            additionalParameters.put(property, values.get(i));
+            keysetMappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+        }
+        mappings.addAll(index, keysetMappings);
+        return shared == select ? context.render() : select.toString();
+    }
+
+    /**
+     * 构建 keyset 条件
+     * <p>
+     * 同向排序且方言支持时使用行值比较: (a, b) &gt; (?, ?), 否则展开为: a &gt; ? OR (a = ? AND b &gt; ?)
+     *
+     * @param orders   排序字段
+     * @param lastKeys 上一页最后一条记录的排序字段值
+     * @param dialect  分页方言
+     * @param values   按占位符顺序收集的参数值
+     * @return 条件表达式
+     * @since 3.5.9
+     */
+    protected Expression buildKeysetExpression(List<OrderItem> orders, List<Object> lastKeys, IDialect dialect, List<Object> values) {
+        boolean asc = orders.get(0).isAsc();
+        if (orders.size() > 1 && dialect.supportsRowValueComparison() && orders.stream().allMatch(i -> i.isAsc() == asc)) {
+            ParenthesedExpressionList<Expression> columns = new ParenthesedExpressionList<>();
+            ParenthesedExpressionList<Expression> parameters = new ParenthesedExpressionList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                columns.add(new Column(orders.get(i).getColumn()));
+                parameters.add(new JdbcParameter());
+                values.add(lastKeys.get(i));
+            }
+            return keysetCompare(columns, parameters, asc);
+        }
+        Expression expression = null;
+        for (int i = 0; i < orders.size(); i++) {
+            Expression term = null;
+            for (int j = 0; j < i; j++) {
+                EqualsTo equalsTo = new EqualsTo(new Column(orders.get(j).getColumn()), new JdbcParameter());
+                values.add(lastKeys.get(j));
+                term = term == null ? equalsTo : new AndExpression(term, equalsTo);
+            }
+            OrderItem order = orders.get(i);
+            Expression compare = keysetCompare(new Column(order.getColumn()), new JdbcParameter(), order.isAsc());
+            values.add(lastKeys.get(i));
+            term = term == null ? compare : new Parenthesis(new AndExpression(term, compare));
+            expression = expression == null ? term : new OrExpression(expression, term);
+        }
+        return expression;
+    }
+
+    private Expression keysetCompare(Expression left, Expression right, boolean asc) {
+        ComparisonOperator operator = asc ? new GreaterThan() : new MinorThan();
+        operator.setLeftExpression(left);
+        operator.setRightExpression(right);
+        return operator;
+    }
+
+    /**
+     * 统计SQL片段中的参数占位符数量, 忽略引号中的 ?
+     *
+     * @param part SQL片段
+     * @return 数量
+     */
+    protected int countParameters(Object part) {
+        if (part == null) {
+            return 0;
+        }
+        int count = 0;
+        char quote = 0;
+        for (char c : part.toString().toCharArray()) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
     protected List<OrderByElement> addOrderByElements(List<OrderItem> orderList, List<OrderByElement> orderByElements) {
         List<OrderByElement> additionalOrderBy = orderList.stream()
             .filter(item -> StringUtils.isNotBlank(item.getColumn()))
@@ -473,6 +1343,46 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             .whenNotBlank("dbType", DbType::getDbType, this::setDbType)
             .whenNotBlank("dialect", ClassUtils::newInstance, this::setDialect)
             .whenNotBlank("maxLimit", Long::parseLong, this::setMaxLimit)
-            .whenNotBlank("optimizeJoin", Boolean::parseBoolean, this::setOptimizeJoin);
+            .whenNotBlank("optimizeJoin", Boolean::parseBoolean, this::setOptimizeJoin)
+            .whenNotBlank("countSqlCacheSize", Long::parseLong, this::setCountSqlCacheSize)
+            .whenNotBlank("concurrentCount", Boolean::parseBoolean, this::setConcurrentCount)
+            .whenNotBlank("countCacheSeconds", Long::parseLong, this::setCountCacheSeconds)
+            .whenNotBlank("countCacheSize", Long::parseLong, this::setCountCacheSize);
+    }
+
+    /**
+     * 延迟关联分页, 分页子查询关联回表
+     */
+    protected static class DeferredJoin {
+        private final String innerSql;
+        private final String prefix;
+        private final String suffix;
+
+        protected DeferredJoin(String innerSql, String prefix, String suffix) {
+            this.innerSql = innerSql;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        protected String wrap(String pageSql) {
+            return prefix + pageSql + suffix;
+        }
+    }
+
+    /**
+     * 窗口函数 count 查询状态, 保存原始 sql 用于降级 count 查询
+     */
+    protected static class WindowCount {
+        private final BoundSql boundSql;
+        private final String sql;
+        private final List<ParameterMapping> parameterMappings;
+        private boolean applied;
+        private Long total;
+
+        protected WindowCount(BoundSql boundSql, List<ParameterMapping> parameterMappings) {
+            this.boundSql = boundSql;
+            this.sql = boundSql.getSql();
+            this.parameterMappings = parameterMappings;
+        }
     }
 }
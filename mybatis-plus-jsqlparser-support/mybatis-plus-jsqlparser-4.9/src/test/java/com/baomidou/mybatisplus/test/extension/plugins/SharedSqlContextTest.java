@@ -0,0 +1,134 @@
+package com.baomidou.mybatisplus.test.extension.plugins;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import com.baomidou.mybatisplus.extension.plugins.SharedSqlContext;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.BlockAttackInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class SharedSqlContextTest {
+
+    private final AtomicInteger parseCount = new AtomicInteger();
+
+    private final TenantLineInnerInterceptor tenant = new TenantLineInnerInterceptor(new TenantLineHandler() {
+        @Override
+        public Expression getTenantId() {
+            return new LongValue(1);
+        }
+    });
+
+    private final DataPermissionInterceptor dataPermission = new DataPermissionInterceptor((where, id) -> {
+        EqualsTo equalsTo = new EqualsTo(new Column("status"), new LongValue(1));
+        return where == null ? equalsTo : new AndExpression(where, equalsTo);
+    });
+
+    @AfterEach
+    void reset() {
+        JsqlParserGlobal.setParserSingleFunc(sql -> CCJSqlParserUtil.parse(sql, JsqlParserGlobal.executorService, null));
+        JsqlParserGlobal.setParserMultiFunc(sql -> CCJSqlParserUtil.parseStatements(sql, JsqlParserGlobal.executorService, null));
+    }
+
+    @Test
+    void sharedSelect() {
+        String sql = "select * from entity where id = ?";
+        String expected = dataPermission.parserSingle(tenant.parserSingle(sql, null), null);
+
+        countParse();
+        BoundSql boundSql = new BoundSql(new Configuration(), sql, Collections.emptyList(), null);
+        SharedSqlContext context = SharedSqlContext.open(boundSql);
+        try {
+            PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+            context.enter(tenant);
+            mpBs.sql(tenant.parserSingle(mpBs.sql(), null));
+            context.enter(dataPermission);
+            mpBs.sql(dataPermission.parserSingle(mpBs.sql(), null));
+            // 延迟渲染, sql 尚未改变
+            assertThat(boundSql.getSql()).isEqualTo(sql);
+            context.flush();
+        } finally {
+            context.close();
+        }
+        assertThat(boundSql.getSql()).isEqualTo(expected);
+        assertThat(parseCount.get()).isEqualTo(1);
+        assertThat(SharedSqlContext.current()).isNull();
+    }
+
+    @Test
+    void sharedUpdate() {
+        String sql = "update entity set name = ? where id = ?";
+        BlockAttackInnerInterceptor blockAttack = new BlockAttackInnerInterceptor();
+        String expected = tenant.parserMulti(sql, null);
+
+        countParse();
+        BoundSql boundSql = new BoundSql(new Configuration(), sql, Collections.emptyList(), null);
+        SharedSqlContext context = SharedSqlContext.open(boundSql);
+        try {
+            PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+            context.enter(tenant);
+            mpBs.sql(tenant.parserMulti(mpBs.sql(), null));
+            context.enter(blockAttack);
+            blockAttack.parserMulti(mpBs.sql(), null);
+            context.flush();
+        } finally {
+            context.close();
+        }
+        assertThat(boundSql.getSql()).isEqualTo(expected);
+        assertThat(parseCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void flushBeforeNotSharedInterceptor() {
+        String sql = "select * from entity";
+        BoundSql boundSql = new BoundSql(new Configuration(), sql, Collections.emptyList(), null);
+        SharedSqlContext context = SharedSqlContext.open(boundSql);
+        try {
+            PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+            context.enter(tenant);
+            mpBs.sql(tenant.parserSingle(mpBs.sql(), null));
+            assertThat(boundSql.getSql()).isEqualTo(sql);
+            // 不支持共享解析结果的拦截器需要读取到最新 sql
+            context.enter(new InnerInterceptor() {
+            });
+            assertThat(boundSql.getSql()).isEqualTo("SELECT * FROM entity WHERE tenant_id = 1");
+            // sql 被改写后解析结果失效
+            mpBs.sql("select * from entity_2");
+            assertThat((Object) context.get(boundSql.getSql())).isNull();
+        } finally {
+            context.close();
+        }
+    }
+
+    private void countParse() {
+        parseCount.set(0);
+        JsqlParserGlobal.setParserSingleFunc(s -> {
+            parseCount.incrementAndGet();
+            return CCJSqlParserUtil.parse(s, JsqlParserGlobal.executorService, null);
+        });
+        JsqlParserGlobal.setParserMultiFunc(s -> {
+            parseCount.incrementAndGet();
+            return CCJSqlParserUtil.parseStatements(s, JsqlParserGlobal.executorService, null);
+        });
+    }
+}
@@ -1,13 +1,57 @@
 package com.baomidou.mybatisplus.test.extension.plugins.inner;
 
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.CountMode;
+import com.baomidou.mybatisplus.extension.plugins.pagination.DialectFactory;
+import com.baomidou.mybatisplus.extension.plugins.pagination.KeysetPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.IDialect;
+import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.MySqlDialect;
+import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.Oracle12cDialect;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author miemie
@@ -99,6 +143,255 @@ class PaginationInnerInterceptorTest {
             "SELECT COUNT(*) AS total FROM order_info LEFT JOIN (SELECT count(1) FROM order_info WHERE create_time BETWEEN ? AND ?) tt ON 1 = 1 WHERE equipment_id = ?");
     }
 
+    @Test
+    void countSqlCache() {
+        PaginationInnerInterceptor cacheInterceptor = new PaginationInnerInterceptor();
+        String sql = "select * from user u LEFT JOIN role r ON r.id = u.role_id WHERE u.xx = ? ORDER BY u.id";
+        assertThat(cacheInterceptor.autoCountSql(new Page<>(), sql)).isEqualTo("SELECT COUNT(*) AS total FROM user u WHERE u.xx = ?");
+        assertThat(cacheInterceptor.autoCountSql(new Page<>(), sql)).isEqualTo("SELECT COUNT(*) AS total FROM user u WHERE u.xx = ?");
+        assertThat(cacheInterceptor.countSqlCacheMissCount()).isEqualTo(1);
+        assertThat(cacheInterceptor.countSqlCacheHitCount()).isEqualTo(1);
+
+        // 不优化 join 时缓存结果不同
+        Page<Object> page = new Page<>();
+        page.setOptimizeJoinOfCountSql(false);
+        assertThat(cacheInterceptor.autoCountSql(page, sql)).isEqualTo("SELECT COUNT(*) AS total FROM user u LEFT JOIN role r ON r.id = u.role_id WHERE u.xx = ?");
+        assertThat(cacheInterceptor.countSqlCacheMissCount()).isEqualTo(2);
+
+        // 关闭缓存
+        cacheInterceptor.setCountSqlCacheSize(0);
+        assertThat(cacheInterceptor.autoCountSql(new Page<>(), sql)).isEqualTo("SELECT COUNT(*) AS total FROM user u WHERE u.xx = ?");
+        assertThat(cacheInterceptor.countSqlCacheHitCount()).isEqualTo(0);
+    }
+
+    @Test
+    void keyset() {
+        KeysetPage<Object> page = new KeysetPage<>(10);
+        page.addOrder(OrderItem.asc("create_time"), OrderItem.asc("id"));
+        // 首页不拼接条件
+        assertsKeyset(new MySqlDialect(), page, "select * from user where status = ?",
+            "SELECT * FROM user WHERE status = ? ORDER BY create_time ASC, id ASC LIMIT ?",
+            "status", "mybatis_plus_first");
+
+        page.setLastKeyValues("2024-10-18", 5L);
+        assertsKeyset(new MySqlDialect(), page, "select * from user where status = ?",
+            "SELECT * FROM user WHERE status = ? AND (create_time, id) > (?, ?) ORDER BY create_time ASC, id ASC LIMIT ?",
+            "status", "mybatis_plus_keyset_0", "mybatis_plus_keyset_1", "mybatis_plus_first");
+
+        // 不支持行值比较的方言展开条件, where 之后的参数保持在最后
+        assertsKeyset(new Oracle12cDialect(), page, "select type, max(id) from user where status = ? or deleted = ? group by type having count(*) > ?",
+            "SELECT type, max(id) FROM user WHERE (status = ? OR deleted = ?) AND (create_time > ? OR (create_time = ? AND id > ?)) " +
+                "GROUP BY type HAVING count(*) > ? ORDER BY create_time ASC, id ASC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY",
+            "status", "deleted", "mybatis_plus_keyset_0", "mybatis_plus_keyset_1", "mybatis_plus_keyset_2", "count",
+            "mybatis_plus_first", "mybatis_plus_second");
+
+        // 排序方向不同时无法使用行值比较
+        KeysetPage<Object> descPage = new KeysetPage<>(10, 1, 5L);
+        descPage.addOrder(OrderItem.desc("type"), OrderItem.asc("id"));
+        assertsKeyset(new MySqlDialect(), descPage, "select * from user",
+            "SELECT * FROM user WHERE (type < ? OR (type = ? AND id > ?)) ORDER BY type DESC, id ASC LIMIT ?",
+            "mybatis_plus_keyset_0", "mybatis_plus_keyset_1", "mybatis_plus_keyset_2", "mybatis_plus_first");
+    }
+
+    @Test
+    void deferredJoin() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), DeferredUser.class);
+        Page<Object> page = new Page<>(3, 10);
+        page.setDeferredJoin(true);
+        assertsDeferredJoin(page, "select * from deferred_user where status = ? order by create_time desc",
+            "SELECT deferred_user.* FROM deferred_user INNER JOIN (SELECT deferred_user.id FROM deferred_user WHERE status = ? " +
+                "ORDER BY deferred_user.create_time DESC LIMIT ?,?) mp_dj ON deferred_user.id = mp_dj.id ORDER BY deferred_user.create_time DESC");
+        assertsDeferredJoin(page, "select u.id, name as n from deferred_user u where status = ? order by u.create_time",
+            "SELECT u.id, u.name AS n FROM deferred_user u INNER JOIN (SELECT u.id FROM deferred_user u WHERE status = ? " +
+                "ORDER BY u.create_time LIMIT ?,?) mp_dj ON u.id = mp_dj.id ORDER BY u.create_time");
+
+        // 不满足条件时使用普通分页
+        assertsDeferredJoin(page, "select type, count(*) from deferred_user where status = ? group by type order by type",
+            "select type, count(*) from deferred_user where status = ? group by type order by type LIMIT ?,?");
+        assertsDeferredJoin(page, "select * from unknown where status = ? order by id",
+            "select * from unknown where status = ? order by id LIMIT ?,?");
+        // 排序使用查询列别名、其他表字段或非表字段
+        assertsDeferredJoin(page, "select id, name as n from deferred_user where status = ? order by n",
+            "select id, name as n from deferred_user where status = ? order by n LIMIT ?,?");
+        assertsDeferredJoin(page, "select u.id from deferred_user u where status = ? order by x.name",
+            "select u.id from deferred_user u where status = ? order by x.name LIMIT ?,?");
+        assertsDeferredJoin(page, "select id from deferred_user where status = ? order by score",
+            "select id from deferred_user where status = ? order by score LIMIT ?,?");
+        // 第一页无需延迟关联
+        page.setCurrent(1);
+        assertsDeferredJoin(page, "select * from deferred_user where status = ? order by id",
+            "select * from deferred_user where status = ? order by id LIMIT ?");
+    }
+
+    @Test
+    void windowCount() throws SQLException {
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "window",
+            new StaticSqlSource(configuration, ""), SqlCommandType.SELECT).build();
+        List<ParameterMapping> mappings = new ArrayList<>();
+        mappings.add(new ParameterMapping.Builder(configuration, "status", Object.class).build());
+        Page<Object> page = new Page<>(2, 10);
+        page.setWindowCount(true);
+        PaginationInnerInterceptor windowInterceptor = new PaginationInnerInterceptor(new MySqlDialect());
+        Executor executor = mock(Executor.class);
+
+        // 不进行 count 查询, 拼接窗口函数列
+        BoundSql boundSql = new BoundSql(configuration, "select id, name from user where status = ?", mappings, page);
+        assertThat(windowInterceptor.willDoQuery(executor, ms, page, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql)).isTrue();
+        windowInterceptor.beforeQuery(executor, ms, page, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql);
+        assertThat(boundSql.getSql()).isEqualTo("SELECT id, name, COUNT(*) OVER() FROM user WHERE status = ? LIMIT ?,?");
+        verify(executor, never()).query(any(), any(), any(), any(), any(), any());
+
+        // 未读取到总数(例如结果来自缓存)时降级使用 count 查询
+        windowInterceptor.afterQuery(executor, ms, page, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql, Collections.singletonList(new Object()));
+        ArgumentCaptor<BoundSql> captor = ArgumentCaptor.forClass(BoundSql.class);
+        verify(executor).query(any(), any(), any(), any(), any(), captor.capture());
+        assertThat(captor.getValue().getSql()).isEqualTo("SELECT COUNT(*) AS total FROM user WHERE status = ?");
+        assertThat(captor.getValue().getParameterMappings()).hasSize(1);
+
+        // 不满足条件时直接 count 查询
+        BoundSql allColumns = new BoundSql(configuration, "select * from user where status = ?", mappings, page);
+        assertThat(windowInterceptor.willDoQuery(executor, ms, page, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, allColumns)).isFalse();
+        verify(executor, times(2)).query(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void concurrentCount() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:concurrentCount;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE t_count (id BIGINT PRIMARY KEY, status INT)");
+            statement.execute("INSERT INTO t_count VALUES (1, 1), (2, 1), (3, 0)");
+        }
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        MappedStatement ms = new MappedStatement.Builder(configuration, "concurrentCount",
+            new StaticSqlSource(configuration, ""), SqlCommandType.SELECT).build();
+        List<ParameterMapping> mappings = new ArrayList<>();
+        mappings.add(new ParameterMapping.Builder(configuration, "status", Object.class).build());
+        Page<Object> page = new Page<>(1, 10);
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("page", page);
+        parameter.put("status", 1);
+        PaginationInnerInterceptor concurrentInterceptor = new PaginationInnerInterceptor(new MySqlDialect());
+        concurrentInterceptor.setConcurrentCount(true);
+
+        Transaction transaction = new JdbcTransaction(dataSource, null, true);
+        Executor executor = mock(Executor.class);
+        when(executor.getTransaction()).thenReturn(transaction);
+        try {
+            BoundSql boundSql = new BoundSql(configuration, "select id from t_count where status = ?", mappings, parameter);
+            assertThat(concurrentInterceptor.willDoQuery(executor, ms, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql)).isTrue();
+            concurrentInterceptor.afterQuery(executor, ms, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql, Collections.emptyList());
+            assertThat(page.getTotal()).isEqualTo(2);
+            // count 查询不使用当前会话
+            verify(executor, never()).query(any(), any(), any(), any(), any(), any());
+
+            // 分页查询异常时取消 count 查询
+            BoundSql abortedSql = new BoundSql(configuration, "select id from t_count where status = ?", mappings, parameter);
+            assertThat(concurrentInterceptor.willDoQuery(executor, ms, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, abortedSql)).isTrue();
+            concurrentInterceptor.afterQueryAborted(executor, ms, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, abortedSql);
+            assertThat(((Future<?>) abortedSql.getAdditionalParameter("mybatis_plus_concurrent_count")).isDone()).isTrue();
+            assertThat(concurrentInterceptor.getCountExecutorService()).isSameAs(new PaginationInnerInterceptor().getCountExecutorService());
+        } finally {
+            transaction.close();
+        }
+    }
+
+    @Test
+    void countMode() throws SQLException {
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "countMode",
+            new StaticSqlSource(configuration, ""), SqlCommandType.SELECT).build();
+        String sql = "select id from user where status = ?";
+        PaginationInnerInterceptor countInterceptor = new PaginationInnerInterceptor(new MySqlDialect());
+        Executor executor = mock(Executor.class);
+        when(executor.createCacheKey(any(), any(), any(), any())).thenReturn(new CacheKey(new Object[]{"count"}));
+        when(executor.query(any(), any(), any(), any(), any(), any())).thenReturn(Collections.singletonList((Object) 5L));
+
+        // 缓存命中时不再查询
+        for (CountMode expected : Arrays.asList(CountMode.EXACT, CountMode.CACHED)) {
+            Page<Object> page = new Page<>(1, 10);
+            page.setCountMode(CountMode.CACHED);
+            BoundSql boundSql = new BoundSql(configuration, sql, Collections.emptyList(), page);
+            assertThat(countInterceptor.willDoQuery(executor, ms, page, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql)).isTrue();
+            assertThat(page.getTotal()).isEqualTo(5);
+            assertThat(page.getTotalCountMode()).isEqualTo(expected);
+        }
+        verify(executor, times(1)).query(any(), any(), any(), any(), any(), any());
+
+        // 执行计划估算, 事务中使用保存点
+        Transaction transaction = mock(Transaction.class);
+        Connection connection = mock(Connection.class);
+        Savepoint savepoint = mock(Savepoint.class);
+        when(executor.getTransaction()).thenReturn(transaction);
+        when(transaction.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        Map<String, Object> plan = new HashMap<>();
+        plan.put("rows", 1000L);
+        plan.put("filtered", 50.0D);
+        when(executor.query(any(), any(), any(), any(), any(), any())).thenReturn(Collections.singletonList((Object) plan));
+        Page<Object> page = new Page<>(1, 10);
+        page.setCountMode(CountMode.ESTIMATED);
+        BoundSql boundSql = new BoundSql(configuration, sql, Collections.emptyList(), page);
+        assertThat(countInterceptor.willDoQuery(executor, ms, page, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql)).isTrue();
+        assertThat(page.getTotal()).isEqualTo(500);
+        assertThat(page.getTotalCountMode()).isEqualTo(CountMode.ESTIMATED);
+        ArgumentCaptor<BoundSql> captor = ArgumentCaptor.forClass(BoundSql.class);
+        verify(executor, times(2)).query(any(), any(), any(), any(), any(), captor.capture());
+        assertThat(captor.getValue().getSql()).isEqualTo("EXPLAIN " + sql);
+        verify(connection).releaseSavepoint(savepoint);
+
+        // 执行计划失败时回滚到保存点后使用 count 查询
+        when(executor.query(any(), any(), any(), any(), any(), any()))
+            .thenThrow(new SQLException("explain failed"))
+            .thenReturn(Collections.singletonList((Object) 7L));
+        Page<Object> failPage = new Page<>(1, 10);
+        failPage.setCountMode(CountMode.ESTIMATED);
+        BoundSql failSql = new BoundSql(configuration, sql, Collections.emptyList(), failPage);
+        assertThat(countInterceptor.willDoQuery(executor, ms, failPage, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, failSql)).isTrue();
+        assertThat(failPage.getTotal()).isEqualTo(7);
+        assertThat(failPage.getTotalCountMode()).isEqualTo(CountMode.EXACT);
+        verify(connection).rollback(savepoint);
+
+        // 同方言但执行计划格式不同的数据库不估算
+        assertThat(DialectFactory.getDialect(DbType.H2).buildEstimateCountSql(sql)).isNull();
+        assertThat(DialectFactory.getDialect(DbType.CLICK_HOUSE).buildEstimateCountSql(sql)).isNull();
+    }
+
+    void assertsKeyset(IDialect dialect, KeysetPage<?> page, String sql, String targetSql, String... properties) {
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "keyset",
+            new StaticSqlSource(configuration, sql), SqlCommandType.SELECT).build();
+        List<ParameterMapping> mappings = new ArrayList<>();
+        for (String property : properties) {
+            if (!property.startsWith("mybatis_plus_")) {
+                mappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+            }
+        }
+        BoundSql boundSql = new BoundSql(configuration, sql, mappings, page);
+        new PaginationInnerInterceptor(dialect).beforeQuery(null, ms, page, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql);
+        assertThat(boundSql.getSql()).isEqualTo(targetSql);
+        assertThat(boundSql.getParameterMappings().stream().map(ParameterMapping::getProperty).collect(Collectors.toList()))
+            .containsExactly(properties);
+        if (page.getLastKeys() != null) {
+            assertThat(boundSql.getAdditionalParameter("mybatis_plus_keyset_0")).isEqualTo(page.getLastKeys().get(0));
+        }
+    }
+
+    void assertsDeferredJoin(Page<?> page, String sql, String targetSql) {
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "deferredJoin",
+            new StaticSqlSource(configuration, sql), SqlCommandType.SELECT).build();
+        List<ParameterMapping> mappings = new ArrayList<>();
+        mappings.add(new ParameterMapping.Builder(configuration, "status", Object.class).build());
+        BoundSql boundSql = new BoundSql(configuration, sql, mappings, page);
+        new PaginationInnerInterceptor(new MySqlDialect()).beforeQuery(null, ms, page, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql);
+        assertThat(boundSql.getSql()).isEqualTo(targetSql);
+        assertThat(boundSql.getParameterMappings().get(0).getProperty()).isEqualTo("status");
+    }
+
     void assertsCountSql(String sql, String targetSql) {
         assertThat(interceptor.autoCountSql(new Page<>(), sql)).isEqualTo(targetSql);
     }
@@ -106,4 +399,12 @@ class PaginationInnerInterceptorTest {
     void assertsConcatOrderBy(String sql, String targetSql, OrderItem... orderItems) {
         assertThat(interceptor.concatOrderBy(sql, Arrays.asList(orderItems))).isEqualTo(targetSql);
     }
+
+    @TableName("deferred_user")
+    static class DeferredUser {
+        private Long id;
+        private String name;
+        private Integer status;
+        private LocalDateTime createTime;
+    }
 }
@@ -17,6 +17,7 @@ package com.baomidou.mybatisplus.extension.parser;
 
 import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.extension.plugins.SharedSqlContext;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.Statements;
@@ -45,6 +46,10 @@ public abstract class JsqlParserSupport {
             logger.debug("original SQL: " + sql);
         }
         try {
+            SharedSqlContext context = SharedSqlContext.current();
+            if (context != null && context.matches(sql)) {
+                return parserShared(context, sql, obj, false);
+            }
             Statement statement = JsqlParserGlobal.parse(sql);
             return processParser(statement, 0, sql, obj);
         } catch (JSQLParserException e) {
@@ -57,6 +62,10 @@ public abstract class JsqlParserSupport {
             logger.debug("original SQL: " + sql);
         }
         try {
+            SharedSqlContext context = SharedSqlContext.current();
+            if (context != null && context.matches(sql)) {
+                return parserShared(context, sql, obj, true);
+            }
             // fixed github pull/295
             StringBuilder sb = new StringBuilder();
             Statements statements = JsqlParserGlobal.parseStatements(sql);
@@ -74,6 +83,66 @@ public abstract class JsqlParserSupport {
         }
     }
 
+    /**
+     * 使用 {@link SharedSqlContext} 中共享的解析结果处理 SQL
+     * <p>
+     * 当前拦截器支持共享解析结果时只修改解析结果, 由 {@link SharedSqlContext#flush()} 统一渲染,
+     * 否则立即渲染并更新共享的解析结果
+     *
+     * @param context 上下文
+     * @param sql     当前 BoundSql 的 sql
+     * @param obj     参数
+     * @param multi   是否多语句
+     * @return sql
+     * @since 3.5.9
+     */
+    protected String parserShared(SharedSqlContext context, String sql, Object obj, boolean multi) throws JSQLParserException {
+        Object parsed = context.get(sql);
+        if (parsed == null || (!multi && !(parsed instanceof Statement) && size((Statements) parsed) != 1)) {
+            if (multi) {
+                Statements statements = JsqlParserGlobal.parseStatements(sql);
+                context.put(sql, statements, JsqlParserSupport::toSql);
+                parsed = statements;
+            } else {
+                Statement statement = JsqlParserGlobal.parse(sql);
+                context.put(sql, statement, Statement::toString);
+                parsed = statement;
+            }
+        }
+        if (parsed instanceof Statement) {
+            processStatement((Statement) parsed, 0, sql, obj);
+        } else {
+            int i = 0;
+            for (Statement statement : (Statements) parsed) {
+                processStatement(statement, i, sql, obj);
+                i++;
+            }
+        }
+        if (readOnly()) {
+            return sql;
+        }
+        if (context.isSharing()) {
+            context.modified();
+            return sql;
+        }
+        sql = context.render();
+        if (logger.isDebugEnabled()) {
+            logger.debug("parse the finished SQL: " + sql);
+        }
+        return sql;
+    }
+
+    /**
+     * 是否只读取解析结果而不修改 SQL
+     * <p>
+     * 只读时共享解析结果不会被标记为已修改, 可避免一次渲染
+     *
+     * @since 3.5.9
+     */
+    protected boolean readOnly() {
+        return false;
+    }
+
     /**
      * 执行 SQL 解析
      *
@@ -81,6 +150,21 @@ public abstract class JsqlParserSupport {
      * @return sql
      */
     protected String processParser(Statement statement, int index, String sql, Object obj) {
+        processStatement(statement, index, sql, obj);
+        sql = statement.toString();
+        if (logger.isDebugEnabled()) {
+            logger.debug("parse the finished SQL: " + sql);
+        }
+        return sql;
+    }
+
+    /**
+     * 按语句类型分发处理
+     *
+     * @param statement JsqlParser Statement
+     * @since 3.5.9
+     */
+    protected void processStatement(Statement statement, int index, String sql, Object obj) {
         if (logger.isDebugEnabled()) {
             logger.debug("SQL to parse, SQL: " + sql);
         }
@@ -93,11 +177,27 @@ public abstract class JsqlParserSupport {
         } else if (statement instanceof Delete) {
             this.processDelete((Delete) statement, index, sql, obj);
         }
-        sql = statement.toString();
-        if (logger.isDebugEnabled()) {
-            logger.debug("parse the finished SQL: " + sql);
+    }
+
+    private static int size(Statements statements) {
+        int size = 0;
+        for (Statement ignored : statements) {
+            size++;
         }
-        return sql;
+        return size;
+    }
+
+    private static String toSql(Statements statements) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        for (Statement statement : statements) {
+            if (i > 0) {
+                sb.append(StringPool.SEMICOLON);
+            }
+            sb.append(statement);
+            i++;
+        }
+        return sb.toString();
     }
 
     /**
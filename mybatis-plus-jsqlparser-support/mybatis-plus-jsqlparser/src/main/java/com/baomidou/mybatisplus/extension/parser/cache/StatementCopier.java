@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2011-2024, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * jsqlparser 解析对象的结构复制
+ * <p>
+ * 与序列化语义一致(忽略 static 与 transient 字段, 保留对象间的引用关系), 但直接在内存中逐字段复制,
+ * 不产生 byte[], 字符串等不可变对象直接共享引用, 数组与 jdk 集合按原类型复制.
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.9
+ */
+public class StatementCopier {
+    private static final StatementCopier COPIER = new StatementCopier();
+    private static final Field[] EMPTY_FIELDS = new Field[0];
+    private final Map<Class<?>, ClassMeta> metaCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<Constructor<?>>> jdkConstructorCache = new ConcurrentHashMap<>();
+
+    public static StatementCopier getDefaultCopier() {
+        return COPIER;
+    }
+
+    /**
+     * 深度复制
+     *
+     * @param obj 解析对象
+     * @return 复制对象
+     */
+    public <T> T copy(T obj) {
+        return copy(obj, new IdentityHashMap<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> T copy(T obj, IdentityHashMap<Object, Object> copied) {
+        if (obj == null || isImmutable(obj)) {
+            return obj;
+        }
+        Object exist = copied.get(obj);
+        if (exist != null) {
+            return (T) exist;
+        }
+        Class<?> clazz = obj.getClass();
+        if (clazz.isArray()) {
+            return (T) copyArray(obj, clazz, copied);
+        }
+        if (obj instanceof Date) {
+            Object date = ((Date) obj).clone();
+            copied.put(obj, date);
+            return (T) date;
+        }
+        if (isJdkClass(clazz)) {
+            return (T) copyJdkObject(obj, copied);
+        }
+        ClassMeta meta = metaCache.computeIfAbsent(clazz, ClassMeta::new);
+        Object target = meta.newInstance();
+        copied.put(obj, target);
+        try {
+            for (Field field : meta.fields) {
+                Object value = field.get(obj);
+                field.set(target, field.getType().isPrimitive() ? value : copy(value, copied));
+            }
+        } catch (IllegalAccessException e) {
+            throw ExceptionUtils.mpe(e);
+        }
+        if (obj instanceof Collection) {
+            // 例如 ExpressionList extends ArrayList
+            Collection<Object> collection = (Collection<Object>) target;
+            collection.clear();
+            for (Object item : (Collection<?>) obj) {
+                collection.add(copy(item, copied));
+            }
+        } else if (obj instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) target;
+            map.clear();
+            ((Map<?, ?>) obj).forEach((k, v) -> map.put(copy(k, copied), copy(v, copied)));
+        }
+        return (T) target;
+    }
+
+    protected boolean isImmutable(Object obj) {
+        return obj instanceof String || obj instanceof Enum || obj instanceof Boolean || obj instanceof Character
+            || obj instanceof Integer || obj instanceof Long || obj instanceof Short || obj instanceof Byte
+            || obj instanceof Double || obj instanceof Float || obj instanceof BigDecimal || obj instanceof BigInteger
+            || obj instanceof Class;
+    }
+
+    protected boolean isJdkClass(Class<?> clazz) {
+        String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("jdk.");
+    }
+
+    protected Object copyArray(Object array, Class<?> clazz, IdentityHashMap<Object, Object> copied) {
+        int length = Array.getLength(array);
+        Class<?> componentType = clazz.getComponentType();
+        Object target = Array.newInstance(componentType, length);
+        copied.put(array, target);
+        if (componentType.isPrimitive()) {
+            System.arraycopy(array, 0, target, 0, length);
+        } else {
+            Object[] src = (Object[]) array;
+            Object[] dest = (Object[]) target;
+            for (int i = 0; i < length; i++) {
+                dest[i] = copy(src[i], copied);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * jdk 内部类无法反射访问字段, 集合按类型重建 (保留排序器与不可修改性), 其余视为不可变对象
+     */
+    protected Object copyJdkObject(Object obj, IdentityHashMap<Object, Object> copied) {
+        if (obj instanceof Collection) {
+            return copyCollection((Collection<?>) obj, copied);
+        }
+        if (obj instanceof Map) {
+            return copyMap((Map<?, ?>) obj, copied);
+        }
+        if (obj instanceof StringBuilder) {
+            Object target = new StringBuilder((StringBuilder) obj);
+            copied.put(obj, target);
+            return target;
+        }
+        if (obj instanceof StringBuffer) {
+            Object target = new StringBuffer((StringBuffer) obj);
+            copied.put(obj, target);
+            return target;
+        }
+        return obj;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Object copyCollection(Collection<?> src, IdentityHashMap<Object, Object> copied) {
+        String name = src.getClass().getName();
+        if (name.equals("java.util.Arrays$ArrayList")) {
+            // Arrays.asList 固定长度
+            Object[] array = new Object[src.size()];
+            List<Object> target = Arrays.asList(array);
+            copied.put(src, target);
+            int i = 0;
+            for (Object item : src) {
+                array[i++] = copy(item, copied);
+            }
+            return target;
+        }
+        Collection<Object> target;
+        Collection<Object> result;
+        if (isUnmodifiable(name)) {
+            if (src instanceof SortedSet) {
+                target = new TreeSet<>(((SortedSet) src).comparator());
+                result = Collections.unmodifiableSortedSet((SortedSet<Object>) target);
+            } else if (src instanceof Set) {
+                target = new LinkedHashSet<>(capacity(src.size()));
+                result = Collections.unmodifiableSet((Set<Object>) target);
+            } else if (src instanceof List) {
+                target = new ArrayList<>(src.size());
+                result = Collections.unmodifiableList((List<Object>) target);
+            } else {
+                target = new ArrayList<>(src.size());
+                result = Collections.unmodifiableCollection(target);
+            }
+        } else {
+            if (src instanceof SortedSet) {
+                target = new TreeSet<>(((SortedSet) src).comparator());
+            } else if (src instanceof PriorityQueue) {
+                target = new PriorityQueue<>(Math.max(1, src.size()), ((PriorityQueue) src).comparator());
+            } else {
+                target = (Collection<Object>) newJdkInstance(src.getClass());
+                if (target == null) {
+                    if (src instanceof List) {
+                        target = new ArrayList<>(src.size());
+                    } else if (src instanceof Set) {
+                        target = new LinkedHashSet<>(capacity(src.size()));
+                    } else if (src instanceof Queue) {
+                        target = new LinkedList<>();
+                    } else {
+                        target = new ArrayList<>(src.size());
+                    }
+                }
+            }
+            result = target;
+        }
+        copied.put(src, result);
+        for (Object item : src) {
+            target.add(copy(item, copied));
+        }
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Object copyMap(Map<?, ?> src, IdentityHashMap<Object, Object> copied) {
+        Map<Object, Object> target;
+        Map<Object, Object> result;
+        if (src instanceof SortedMap) {
+            target = new TreeMap<>(((SortedMap) src).comparator());
+        } else if (src instanceof EnumMap) {
+            target = new EnumMap((EnumMap) src);
+            target.clear();
+        } else {
+            target = isUnmodifiable(src.getClass().getName()) ? null : (Map<Object, Object>) newJdkInstance(src.getClass());
+            if (target == null) {
+                target = new LinkedHashMap<>(capacity(src.size()));
+            }
+        }
+        if (isUnmodifiable(src.getClass().getName())) {
+            result = target instanceof SortedMap ? Collections.unmodifiableSortedMap((SortedMap<Object, Object>) target)
+                : Collections.unmodifiableMap(target);
+        } else {
+            result = target;
+        }
+        copied.put(src, result);
+        for (Map.Entry<?, ?> entry : src.entrySet()) {
+            target.put(copy(entry.getKey(), copied), copy(entry.getValue(), copied));
+        }
+        return result;
+    }
+
+    /**
+     * 不可修改的集合 (Collections.unmodifiableXxx/emptyXxx/singletonXxx, List.of 等)
+     */
+    protected boolean isUnmodifiable(String className) {
+        return className.startsWith("java.util.Collections$Unmodifiable") || className.startsWith("java.util.Collections$Empty")
+            || className.startsWith("java.util.Collections$Singleton") || className.startsWith("java.util.ImmutableCollections$");
+    }
+
+    /**
+     * 使用 public 无参构造实例化 jdk 集合, 不支持时返回 null
+     */
+    protected Object newJdkInstance(Class<?> clazz) {
+        Optional<Constructor<?>> constructor = jdkConstructorCache.computeIfAbsent(clazz, k -> {
+            if (!Modifier.isPublic(k.getModifiers())) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(k.getConstructor());
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        });
+        if (!constructor.isPresent()) {
+            return null;
+        }
+        try {
+            return constructor.get().newInstance();
+        } catch (Exception e) {
+            throw ExceptionUtils.mpe("can not instantiate class: %s", e, clazz.getName());
+        }
+    }
+
+    private static int capacity(int size) {
+        return Math.max(16, (int) (size / .75f) + 1);
+    }
+
+    /**
+     * 类的可复制字段与实例化方式
+     */
+    protected static class ClassMeta {
+        private static final Object UNSAFE;
+        private static final Method ALLOCATE_INSTANCE;
+
+        static {
+            Object unsafe = null;
+            Method allocateInstance = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                unsafe = field.get(null);
+                allocateInstance = unsafeClass.getMethod("allocateInstance", Class.class);
+            } catch (Exception ignored) {
+                // 仅支持有无参构造的类
+            }
+            UNSAFE = unsafe;
+            ALLOCATE_INSTANCE = allocateInstance;
+        }
+
+        private final Class<?> clazz;
+        private final Constructor<?> constructor;
+        private final Field[] fields;
+
+        ClassMeta(Class<?> clazz) {
+            this.clazz = clazz;
+            Constructor<?> ctor = null;
+            try {
+                ctor = clazz.getDeclaredConstructor();
+                ctor.setAccessible(true);
+            } catch (NoSuchMethodException ignored) {
+                // 使用 Unsafe 实例化
+            }
+            this.constructor = ctor;
+            List<Field> list = new ArrayList<>();
+            for (Class<?> c = clazz; c != null && c != Object.class && !c.getName().startsWith("java."); c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    list.add(field);
+                }
+            }
+            this.fields = list.toArray(EMPTY_FIELDS);
+        }
+
+        Object newInstance() {
+            try {
+                if (constructor != null) {
+                    return constructor.newInstance();
+                }
+                if (ALLOCATE_INSTANCE != null) {
+                    return ALLOCATE_INSTANCE.invoke(UNSAFE, clazz);
+                }
+            } catch (Exception e) {
+                throw ExceptionUtils.mpe("can not instantiate class: %s", e, clazz.getName());
+            }
+            throw ExceptionUtils.mpe("can not instantiate class: %s, no default constructor", clazz.getName());
+        }
+    }
+}
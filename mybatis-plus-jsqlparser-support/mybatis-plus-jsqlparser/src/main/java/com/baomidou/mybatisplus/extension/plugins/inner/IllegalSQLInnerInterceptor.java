@@ -97,6 +97,16 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
      */
     private static final Map<String, List<IndexInfo>> indexInfoMap = new ConcurrentHashMap<>();
 
+    @Override
+    public boolean supportSharedSql() {
+        return true;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+
     @Override
     public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
         PluginUtils.MPStatementHandler mpStatementHandler = PluginUtils.mpStatementHandler(sh);
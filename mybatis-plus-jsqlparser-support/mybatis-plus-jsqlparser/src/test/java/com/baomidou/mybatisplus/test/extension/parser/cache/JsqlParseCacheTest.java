@@ -0,0 +1,161 @@
+package com.baomidou.mybatisplus.test.extension.parser.cache;
+
+import com.baomidou.mybatisplus.extension.parser.cache.CopyCaffeineJsqlParseCache;
+import com.baomidou.mybatisplus.extension.parser.cache.FstSerialCaffeineJsqlParseCache;
+import com.baomidou.mybatisplus.extension.parser.cache.JdkSerialCaffeineJsqlParseCache;
+import com.baomidou.mybatisplus.extension.parser.cache.JsqlParseCache;
+import com.baomidou.mybatisplus.extension.parser.cache.StatementCopier;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnJre;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author agent
+ * @since 3.5.9
+ */
+class JsqlParseCacheTest {
+    private final static int len = 1000;
+    private final static String sql = "SELECT * FROM entity e " +
+        "LEFT JOIN entity1 e1 " +
+        "LEFT JOIN entity2 e2 ON e2.id = e1.id " +
+        "ON e1.id = e.id " +
+        "WHERE (e.id = ? OR e.NAME = ?) AND e.type IN (1, 2, 3) ORDER BY e.id DESC";
+
+    @Test
+    void copy() throws JSQLParserException {
+        Statement statement = CCJSqlParserUtil.parse(sql);
+        String target = statement.toString();
+        Statement copy = StatementCopier.getDefaultCopier().copy(statement);
+        assertThat(copy).isNotSameAs(statement);
+        assertThat(copy.toString()).isEqualTo(target);
+
+        // 修改副本不影响原对象
+        ((PlainSelect) copy).setOrderByElements(null);
+        ((PlainSelect) copy).getJoins().clear();
+        assertThat(statement.toString()).isEqualTo(target);
+    }
+
+    @Test
+    void copyJdkObject() {
+        StatementCopier copier = StatementCopier.getDefaultCopier();
+        StringBuilder item = new StringBuilder("a");
+        ArrayDeque<Object> deque = new ArrayDeque<>(Collections.singletonList(item));
+        ArrayDeque<Object> dequeCopy = copier.copy(deque);
+        assertThat(dequeCopy).isNotSameAs(deque).hasSize(1);
+        assertThat(dequeCopy.peek()).isNotSameAs(item).hasToString("a");
+
+        StringBuilder[] array = {item};
+        StringBuilder[] arrayCopy = copier.copy(array);
+        assertThat(arrayCopy).isNotSameAs(array);
+        assertThat(arrayCopy[0]).isNotSameAs(item);
+
+        List<Object> unmodifiable = Collections.unmodifiableList(new ArrayList<>(Collections.singletonList(item)));
+        List<Object> unmodifiableCopy = copier.copy(unmodifiable);
+        assertThat(unmodifiableCopy.get(0)).isNotSameAs(item);
+        assertThatThrownBy(() -> unmodifiableCopy.add("b")).isInstanceOf(UnsupportedOperationException.class);
+
+        TreeSet<String> sorted = new TreeSet<>(Comparator.reverseOrder());
+        sorted.addAll(Arrays.asList("a", "b"));
+        assertThat(copier.copy(sorted)).containsExactly("b", "a");
+    }
+
+    @Test
+    void copyCache() throws JSQLParserException {
+        CopyCaffeineJsqlParseCache cache = new CopyCaffeineJsqlParseCache(caffeine -> caffeine.maximumSize(16));
+        Statement statement = CCJSqlParserUtil.parse(sql);
+        String target = statement.toString();
+        cache.putStatement(sql, statement);
+        // 存入后调用方继续修改不影响缓存
+        ((PlainSelect) statement).setWhere(null);
+
+        Statement first = cache.getStatement(sql);
+        assertThat(first.toString()).isEqualTo(target);
+        ((PlainSelect) first).setOrderByElements(null);
+        Statement second = cache.getStatement(sql);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.toString()).isEqualTo(target);
+    }
+
+    @Test
+    void hit() throws JSQLParserException {
+        hit(new CopyCaffeineJsqlParseCache(caffeine -> caffeine.maximumSize(16)));
+        hit(new JdkSerialCaffeineJsqlParseCache(caffeine -> caffeine.maximumSize(16)));
+    }
+
+    /**
+     * fst 高版本 jdk 需要 --add-opens
+     */
+    @Test
+    @EnabledOnJre(JRE.JAVA_8)
+    void fstHit() throws JSQLParserException {
+        hit(new FstSerialCaffeineJsqlParseCache(caffeine -> caffeine.maximumSize(16)));
+    }
+
+    /**
+     * 命中耗时与单次命中内存分配对比
+     */
+    @Test
+    @Disabled("性能对比, 不需要参与全局test")
+    void hitBenchmark() throws JSQLParserException {
+        hitBenchmark(new CopyCaffeineJsqlParseCache(caffeine -> caffeine.maximumSize(16)));
+        hitBenchmark(new JdkSerialCaffeineJsqlParseCache(caffeine -> caffeine.maximumSize(16)));
+    }
+
+    void hit(JsqlParseCache cache) throws JSQLParserException {
+        Statement statement = CCJSqlParserUtil.parse(sql);
+        String target = statement.toString();
+        assertThat(cache.getStatement(sql)).isNull();
+        cache.putStatement(sql, statement);
+        Statement first = cache.getStatement(sql);
+        Statement second = cache.getStatement(sql);
+        assertThat(first).isNotNull().isNotSameAs(statement);
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.toString()).isEqualTo(target);
+        assertThat(second.toString()).isEqualTo(target);
+    }
+
+    void hitBenchmark(JsqlParseCache cache) throws JSQLParserException {
+        Statement statement = CCJSqlParserUtil.parse(sql);
+        String target = statement.toString();
+        cache.putStatement(sql, statement);
+        // 预热
+        for (int i = 0; i < len; i++) {
+            cache.getStatement(sql);
+        }
+        long startBytes = allocatedBytes();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < len; i++) {
+            statement = cache.getStatement(sql);
+        }
+        long et = System.nanoTime() - startTime;
+        long bytes = allocatedBytes() - startBytes;
+        assertThat(et).isPositive();
+        assertThat(bytes).isNotZero();
+        assertThat(statement.toString()).isEqualTo(target);
+    }
+
+    private long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
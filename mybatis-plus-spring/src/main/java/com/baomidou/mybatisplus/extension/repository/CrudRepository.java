@@ -15,6 +15,7 @@
  */
 package com.baomidou.mybatisplus.extension.repository;
 
+import com.baomidou.mybatisplus.core.batch.MybatisBatch;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
@@ -28,7 +29,10 @@ import org.apache.ibatis.binding.MapperMethod;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 /**
  * IService 实现类（ 泛型：M 是 mapper 对象，T 是实体 ）
@@ -79,14 +83,48 @@ public abstract class CrudRepository<M extends BaseMapper<T>, T> extends Abstrac
         Assert.notNull(tableInfo, "error: can not execute. because can not find cache of TableInfo for entity!");
         String keyProperty = tableInfo.getKeyProperty();
         Assert.notEmpty(keyProperty, "error: can not execute. because can not find column for id from entity!");
-        return SqlHelper.saveOrUpdateBatch(getSqlSessionFactory(), this.getMapperClass(), this.log, entityList, batchSize, (sqlSession, entity) -> {
-            Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
-            return StringUtils.checkValNull(idVal)
-                || CollectionUtils.isEmpty(sqlSession.selectList(getSqlStatement(SqlMethod.SELECT_BY_ID), entity));
-        }, (sqlSession, entity) -> {
-            MapperMethod.ParamMap<T> param = new MapperMethod.ParamMap<>();
-            param.put(Constants.ENTITY, entity);
-            sqlSession.update(getSqlStatement(SqlMethod.UPDATE_BY_ID), param);
+        Assert.isFalse(batchSize < 1, "batchSize must not be less than one");
+        if (CollectionUtils.isEmpty(entityList)) {
+            return false;
+        }
+        String updateStatement = getSqlStatement(SqlMethod.UPDATE_BY_ID);
+        String selectObjsStatement = getSqlStatement(SqlMethod.SELECT_OBJS);
+        if (!getSqlSessionFactory().getConfiguration().hasStatement(selectObjsStatement, false)) {
+            // 未注入 selectObjs 时逐条查询判断是否存在
+            return SqlHelper.saveOrUpdateBatch(getSqlSessionFactory(), this.getMapperClass(), this.log, entityList, batchSize, (sqlSession, entity) -> {
+                Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
+                return StringUtils.checkValNull(idVal)
+                    || CollectionUtils.isEmpty(sqlSession.selectList(getSqlStatement(SqlMethod.SELECT_BY_ID), entity));
+            }, (sqlSession, entity) -> {
+                MapperMethod.ParamMap<T> param = new MapperMethod.ParamMap<>();
+                param.put(Constants.ENTITY, entity);
+                sqlSession.update(updateStatement, param);
+            });
+        }
+        String insertStatement = getSqlStatement(SqlMethod.INSERT_ONE);
+        // 每批次一次主键 IN 查询判断是否存在, 先插入后更新
+        return SqlHelper.executeBatch(getSqlSessionFactory(), this.log, sqlSession -> {
+            for (List<T> chunk : CollectionUtils.split(entityList, batchSize)) {
+                Set<Object> existIds = MybatisBatch.selectExistIds(sqlSession, selectObjsStatement, tableInfo, chunk);
+                List<T> updateList = new ArrayList<>();
+                for (T entity : chunk) {
+                    Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
+                    if (StringUtils.checkValNull(idVal) || !existIds.contains(idVal)) {
+                        sqlSession.insert(insertStatement, entity);
+                        if (!StringUtils.checkValNull(idVal)) {
+                            existIds.add(idVal);
+                        }
+                    } else {
+                        updateList.add(entity);
+                    }
+                }
+                for (T entity : updateList) {
+                    MapperMethod.ParamMap<T> param = new MapperMethod.ParamMap<>();
+                    param.put(Constants.ENTITY, entity);
+                    sqlSession.update(updateStatement, param);
+                }
+                sqlSession.flushStatements();
+            }
         });
     }
 
@@ -10,6 +10,7 @@ import com.baomidou.mybatisplus.test.h2.entity.H2Student;
 import com.baomidou.mybatisplus.test.h2.enums.GenderEnum;
 import com.baomidou.mybatisplus.test.h2.enums.GradeEnum;
 import com.baomidou.mybatisplus.test.h2.mapper.H2StudentMapper;
+import org.apache.ibatis.executor.BatchResult;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -95,6 +96,23 @@ class H2StudentMapperTest extends BaseTest {
         Assertions.assertEquals(studentMapper.deleteById(h2Student), 1);
     }
 
+    @Test
+    void testInsertOrUpdateByUpsertBatch() {
+        List<H2Student> students = Arrays.asList(new H2Student(2L, "Jerry-upsert", null),
+            new H2Student(20001L, "upsert1", 18), new H2Student(20002L, "upsert2", 19), new H2Student(20001L, null, 20));
+        // 同一语句内主键重复时拆分为两条语句
+        List<BatchResult> batchResults = studentMapper.insertOrUpdate(students);
+        Assertions.assertEquals(2, batchResults.size());
+        H2Student jerry = studentMapper.selectById(2L);
+        Assertions.assertEquals("Jerry-upsert", jerry.getName());
+        // NOT_NULL 更新策略下 null 值保留原值
+        Assertions.assertNotNull(jerry.getAge());
+        H2Student student = studentMapper.selectById(20001L);
+        Assertions.assertEquals("upsert1", student.getName());
+        Assertions.assertEquals(20, student.getAge());
+        Assertions.assertEquals(19, studentMapper.selectById(20002L).getAge());
+    }
+
     @Test
     void testIn() {
         LambdaQueryWrapper<H2Student> wrapper = Wrappers.<H2Student>lambdaQuery().in(H2Student::getName, Arrays.asList("a", "b"));
@@ -1,10 +1,14 @@
 package com.baomidou.mybatisplus.test.h2;
 
+import com.baomidou.mybatisplus.core.batch.BatchSummary;
 import com.baomidou.mybatisplus.core.batch.MybatisBatch;
+import com.baomidou.mybatisplus.core.batch.ParallelMybatisBatch;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.core.toolkit.MybatisBatchUtils;
@@ -120,6 +124,97 @@ class H2UserMapperTest extends BaseTest {
         Assertions.assertTrue(SqlHelper.retBool(MybatisBatchUtils.execute(sqlSessionFactory, ids, method.insert(H2User::ofId))));
     }
 
+    @Test
+    void testInsertBatchStream() {
+        MybatisBatch.Method<H2User> method = new MybatisBatch.Method<>(H2UserMapper.class);
+        // 流式拉取数据, 每 1000 条执行一次
+        List<BatchResult> batchResults = MybatisBatchUtils.execute(sqlSessionFactory,
+            IntStream.range(0, 2500).mapToObj(i -> new H2User("stream" + i)), method.insert(), 1000);
+        Assertions.assertTrue(SqlHelper.retBool(batchResults));
+        Assertions.assertEquals(3, batchResults.size());
+        Assertions.assertEquals(500, batchResults.get(2).getUpdateCounts().length);
+
+        List<H2User> userList = IntStream.range(0, 10).mapToObj(i -> new H2User("iterator" + i)).collect(toList());
+        Assertions.assertTrue(SqlHelper.retBool(userMapper.insert(userList.iterator(), 3)));
+        userList.forEach(u -> Assertions.assertNotNull(userMapper.selectById(u.getTestId())));
+
+        // 流式数据源只能执行一次
+        MybatisBatch<H2User> mybatisBatch = new MybatisBatch<>(sqlSessionFactory,
+            IntStream.range(0, 10).mapToObj(i -> new H2User("once" + i)).iterator());
+        Assertions.assertTrue(SqlHelper.retBool(mybatisBatch.execute(method.insert())));
+        Assertions.assertThrows(MybatisPlusException.class, () -> mybatisBatch.execute(method.insert()));
+    }
+
+    @Test
+    void testInsertBatchSummary() {
+        MybatisBatch.Method<H2User> method = new MybatisBatch.Method<>(H2UserMapper.class);
+        BatchSummary summary = MybatisBatchUtils.executeSummary(sqlSessionFactory,
+            IntStream.range(0, 2500).mapToObj(i -> new H2User("summary" + i)).iterator(), method.insert(), 1000);
+        Assertions.assertTrue(summary.isSuccess());
+        Assertions.assertEquals(2500, summary.getRows());
+        Assertions.assertEquals(2500, summary.getUpdateCount(method.insert().getStatementId()));
+        Assertions.assertTrue(summary.getFailedIndexes().isEmpty());
+
+        // 记录失败行, 主键冲突的行不影响后续批次
+        List<H2User> userList = IntStream.range(0, 10).mapToObj(i -> new H2User(IdWorker.getId(), "summaryFailure" + i)).collect(toList());
+        userList.get(3).setTestId(userList.get(0).getTestId());
+        summary = new MybatisBatch<>(sqlSessionFactory, userList, 5).executeSummary(false, method.insert(), true);
+        Assertions.assertFalse(summary.isSuccess());
+        Assertions.assertEquals(10, summary.getRows());
+        Assertions.assertEquals(Arrays.asList(3L), summary.getFailedIndexes());
+        Assertions.assertEquals(9, summary.getUpdateCount());
+        Assertions.assertNotNull(userMapper.selectById(userList.get(9).getTestId()));
+    }
+
+    @Test
+    void testUpsertBatchWithFill() {
+        H2User exist = new H2User(IdWorker.getId(), "upsertFill");
+        exist.setTestType(5);
+        exist.setVersion(1);
+        Assertions.assertEquals(1, userMapper.insert(exist));
+        Assertions.assertNull(userMapper.selectById(exist.getTestId()).getLastUpdatedDt());
+
+        H2User update = new H2User(exist.getTestId(), "upsertFillUpdate");
+        update.setVersion(100);
+        H2User insert = new H2User(IdWorker.getId(), "upsertFillInsert");
+        List<BatchResult> batchResults = new MybatisBatch<>(sqlSessionFactory, Arrays.asList(update, insert))
+            .upsert(false, H2UserMapper.class.getName() + ".upsertBatchWithFill", TableInfoHelper.getTableInfo(H2User.class));
+        Assertions.assertEquals(1, batchResults.size());
+
+        H2User updated = userMapper.selectById(exist.getTestId());
+        Assertions.assertEquals("upsertFillUpdate", updated.getName());
+        // 只有插入填充的字段与乐观锁字段保留原值
+        Assertions.assertEquals(5, updated.getTestType());
+        Assertions.assertEquals(1, updated.getVersion());
+        Assertions.assertNotNull(updated.getLastUpdatedDt());
+
+        H2User inserted = userMapper.selectById(insert.getTestId());
+        Assertions.assertEquals("upsertFillInsert", inserted.getName());
+        Assertions.assertEquals(3, inserted.getTestType());
+        Assertions.assertNotNull(inserted.getLastUpdatedDt());
+    }
+
+    @Test
+    void testParallelInsertBatch() {
+        List<H2User> userList = IntStream.range(0, 3000).mapToObj(i -> new H2User(IdWorker.getId(), "parallel" + i)).collect(toList());
+        MybatisBatch.Method<H2User> method = new MybatisBatch.Method<>(H2UserMapper.class);
+        List<ParallelMybatisBatch.PartitionResult> results = new ParallelMybatisBatch<>(sqlSessionFactory, userList, 500, 4)
+            .partitionBy(H2User::getTestId).execute(method.insert());
+        Assertions.assertEquals(4, results.size());
+        Assertions.assertTrue(results.stream().allMatch(ParallelMybatisBatch.PartitionResult::isSuccess));
+        Assertions.assertEquals(3000, results.stream().mapToLong(r -> r.getSummary().getUpdateCount()).sum());
+        userList.forEach(u -> Assertions.assertNotNull(userMapper.selectById(u.getTestId())));
+
+        // 主键冲突只影响所在分区
+        List<H2User> conflictList = new ArrayList<>(userList.subList(0, 1));
+        conflictList.add(new H2User(IdWorker.getId(), "parallel"));
+        results = new ParallelMybatisBatch<>(sqlSessionFactory, conflictList, 500, 2).execute(method.insert());
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertNotNull(results.get(0).getFailure());
+        Assertions.assertEquals(Arrays.asList(0L), results.get(0).getSummary().getFailedIndexes());
+        Assertions.assertTrue(results.get(1).isSuccess());
+    }
+
     @Test
     void testInsertBatchByCustomMethod() {
         int batchSize = 1000;
@@ -234,12 +329,20 @@ class H2UserMapperTest extends BaseTest {
         }
         List<BatchResult> batchResults = userMapper.insertOrUpdate(h2UserList);
         Assertions.assertTrue(SqlHelper.retBool(batchResults));
-        Assertions.assertEquals(batchSize, batchResults.size());
-        // 使用共享的sqlSession,等于每次都是刷新了,批次总结果集就等于数据大小了
-        for (BatchResult batchResult : batchResults) {
-            Assertions.assertEquals(batchResult.getUpdateCounts().length, 1);
-            Assertions.assertEquals(1, batchResult.getUpdateCounts()[0]);
-        }
+        // 每批次一次主键 IN 查询, 不再逐条刷新, 插入合并为一个批次
+        Assertions.assertEquals(1, batchResults.size());
+        Assertions.assertEquals(batchSize, batchResults.getFirst().getUpdateCounts().length);
+        // 再次执行全部为更新, 同批次重复主键插入后按更新处理
+        h2UserList.forEach(u -> u.setName(u.getName() + "U"));
+        h2UserList.add(new H2User(150000L, "dup"));
+        h2UserList.add(new H2User(150000L, "dupU"));
+        batchResults = userMapper.insertOrUpdate(h2UserList);
+        Assertions.assertTrue(SqlHelper.retBool(batchResults));
+        Assertions.assertEquals(2, batchResults.size());
+        Assertions.assertEquals(1, batchResults.get(0).getUpdateCounts().length);
+        Assertions.assertEquals(batchSize + 1, batchResults.get(1).getUpdateCounts().length);
+        Assertions.assertEquals("test0U", userMapper.selectById(140000L).getName());
+        Assertions.assertEquals("dupU", userMapper.selectById(150000L).getName());
     }
 
     @Test